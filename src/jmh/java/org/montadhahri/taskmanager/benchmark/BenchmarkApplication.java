@@ -0,0 +1,86 @@
+package org.montadhahri.taskmanager.benchmark;
+
+import org.montadhahri.taskmanager.TaskManagerBackendApplication;
+import org.montadhahri.taskmanager.service.TaskCounters;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Starts the application, with or without the web layer, on a private in-memory H2 database
+ * seeded with a given amount of tasks.
+ */
+final class BenchmarkApplication {
+
+    private static final AtomicInteger DATABASE_SEQUENCE = new AtomicInteger();
+
+    static final int PAGE_SIZE = 50;
+
+    private BenchmarkApplication() {
+    }
+
+    /**
+     * Starts a context and seeds it, every fifth task is TODO/IN_PROGRESS/DONE in turn
+     * and one task out of twenty is soft deleted.
+     * @param taskCount number of seeded tasks
+     * @param properties additional application properties
+     * @return running application context
+     */
+    static ConfigurableApplicationContext start(int taskCount, String... properties) {
+        return start(WebApplicationType.NONE, taskCount, properties);
+    }
+
+    /**
+     * Same as {@link #start(int, String...)} with Tomcat listening on a random port,
+     * available as the {@code local.server.port} property.
+     */
+    static ConfigurableApplicationContext startServer(int taskCount, String... properties) {
+        String[] serverProperties = Arrays.copyOf(properties, properties.length + 1);
+        serverProperties[properties.length] = "server.port=0";
+        return start(WebApplicationType.SERVLET, taskCount, serverProperties);
+    }
+
+    private static ConfigurableApplicationContext start(WebApplicationType webApplicationType, int taskCount, String... properties) {
+        // devtools reads it before the arguments, it would restart a context started from a main thread
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        String databaseName = "bench" + DATABASE_SEQUENCE.incrementAndGet();
+        // command line arguments, so they win over application.properties (SQL and bind logging)
+        List<String> arguments = new ArrayList<>(List.of(
+                "--spring.datasource.url=jdbc:h2:mem:" + databaseName + ";DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+                "--spring.main.banner-mode=off",
+                "--spring.devtools.restart.enabled=false",
+                "--logging.level.root=WARN",
+                "--logging.level.org.montadhahri.taskmanager=WARN",
+                "--logging.level.org.hibernate.SQL=WARN",
+                "--logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN"));
+        for (String property : properties) {
+            arguments.add("--" + property);
+        }
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(TaskManagerBackendApplication.class)
+                .web(webApplicationType)
+                .run(arguments.toArray(new String[0]));
+        seed(context.getBean(JdbcTemplate.class), taskCount);
+        context.getBean(TaskCounters.class).reload();
+        return context;
+    }
+
+    private static void seed(JdbcTemplate jdbcTemplate, int taskCount) {
+        jdbcTemplate.update("""
+                INSERT INTO tasks (title, description, status, is_enabled, created_at, updated_at)
+                SELECT 'Benchmark task ' || X,
+                       'Description of benchmark task ' || X || ', long enough to look like a real one',
+                       CASE MOD(X, 3) WHEN 0 THEN 'TODO' WHEN 1 THEN 'IN_PROGRESS' ELSE 'DONE' END,
+                       MOD(X, 20) <> 0,
+                       DATEADD('SECOND', X, TIMESTAMP '2024-01-01 00:00:00'),
+                       DATEADD('SECOND', X, TIMESTAMP '2024-01-01 00:00:00')
+                FROM SYSTEM_RANGE(1, ?)
+                """, taskCount);
+        jdbcTemplate.execute("ANALYZE");
+    }
+}
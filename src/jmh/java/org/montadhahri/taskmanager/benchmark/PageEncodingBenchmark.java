@@ -0,0 +1,78 @@
+package org.montadhahri.taskmanager.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.montadhahri.taskmanager.dto.PageDto;
+import org.montadhahri.taskmanager.dto.response.TaskResponseDto;
+import org.montadhahri.taskmanager.service.TaskService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Encoding CPU of a 1k task page as JSON and CBOR, raw and gzipped like Tomcat's response compression.
+ * The bytes on the wire of each encoding are printed at setup.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PageEncodingBenchmark {
+
+    private static final int PAGE_SIZE = 1000;
+
+    private ConfigurableApplicationContext context;
+    private ObjectMapper jsonMapper;
+    private ObjectMapper cborMapper;
+    private PageDto<TaskResponseDto> page;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        context = BenchmarkApplication.start(10_000);
+        jsonMapper = context.getBean(ObjectMapper.class);
+        cborMapper = context.getBean(MappingJackson2CborHttpMessageConverter.class).getObjectMapper();
+        page = context.getBean(TaskService.class).getAllTasks(1, PAGE_SIZE, null);
+
+        System.out.printf("%nPage of %d tasks: JSON %d bytes, JSON gzip %d bytes, CBOR %d bytes, CBOR gzip %d bytes%n",
+                PAGE_SIZE, json().length, jsonGzip().length, cbor().length, cborGzip().length);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public byte[] json() throws IOException {
+        return jsonMapper.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public byte[] jsonGzip() throws IOException {
+        return gzip(jsonMapper);
+    }
+
+    @Benchmark
+    public byte[] cbor() throws IOException {
+        return cborMapper.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public byte[] cborGzip() throws IOException {
+        return gzip(cborMapper);
+    }
+
+    private byte[] gzip(ObjectMapper objectMapper) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (GZIPOutputStream outputStream = new GZIPOutputStream(bytes)) {
+            objectMapper.writeValue(outputStream, page);
+        }
+        return bytes.toByteArray();
+    }
+}
@@ -0,0 +1,65 @@
+package org.montadhahri.taskmanager.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.montadhahri.taskmanager.dto.PageDto;
+import org.montadhahri.taskmanager.dto.response.TaskResponseDto;
+import org.montadhahri.taskmanager.entity.Task;
+import org.montadhahri.taskmanager.mapper.TaskMapper;
+import org.montadhahri.taskmanager.repository.TaskRepository;
+import org.montadhahri.taskmanager.service.TaskService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mapping of a page of entities and Jackson serialization of the resulting
+ * {@code PageDto<TaskResponseDto>}, using the application ObjectMapper.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PageSerializationBenchmark {
+
+    @Param({"50", "1000"})
+    public int pageSize;
+
+    private ConfigurableApplicationContext context;
+    private ObjectMapper objectMapper;
+    private TaskMapper taskMapper;
+    private List<Task> tasks;
+    private PageDto<TaskResponseDto> page;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start(10_000);
+        objectMapper = context.getBean(ObjectMapper.class);
+        taskMapper = context.getBean(TaskMapper.class);
+        tasks = context.getBean(TaskRepository.class)
+                .findByIsEnabledTrue(PageRequest.of(0, pageSize, Sort.by("createdAt")))
+                .getContent();
+        page = context.getBean(TaskService.class).getAllTasks(1, pageSize, null);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<TaskResponseDto> mapPage() {
+        return tasks.stream().map(taskMapper::toResponseDto).toList();
+    }
+
+    @Benchmark
+    public byte[] serializePage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(page);
+    }
+}
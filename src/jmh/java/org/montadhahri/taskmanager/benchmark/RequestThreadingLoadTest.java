@@ -0,0 +1,135 @@
+package org.montadhahri.taskmanager.benchmark;
+
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Closed loop HTTP load test of the task API, run once per request threading mode:
+ * Tomcat platform threads, virtual threads with the connection limiter and virtual threads without it.
+ * Every client sends a request as soon as the previous one is answered, 80% task pages and 20% tasks by ID.
+ * Not a JMH benchmark: run it with
+ * {@code -Dbenchmark.main=org.montadhahri.taskmanager.benchmark.RequestThreadingLoadTest -Dbenchmark.args="1000 30 10 100000"}
+ * (clients, measured seconds, warmup seconds, seeded tasks), add {@code -Djdk.tracePinnedThreads=short} to the
+ * JVM to report virtual threads pinned while blocking.
+ */
+public final class RequestThreadingLoadTest {
+
+    private enum Mode {
+        PLATFORM("spring.threads.virtual.enabled=false"),
+        VIRTUAL("spring.threads.virtual.enabled=true"),
+        VIRTUAL_UNLIMITED("spring.threads.virtual.enabled=true", "application.datasource.limiter.enabled=false");
+
+        private final String[] properties;
+
+        Mode(String... properties) {
+            this.properties = properties;
+        }
+    }
+
+    private RequestThreadingLoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int clients = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+        int seconds = args.length > 1 ? Integer.parseInt(args[1]) : 30;
+        int warmupSeconds = args.length > 2 ? Integer.parseInt(args[2]) : 10;
+        int taskCount = args.length > 3 ? Integer.parseInt(args[3]) : 100_000;
+
+        System.out.printf("%d clients, %ds measured after %ds warmup, %d tasks%n", clients, seconds, warmupSeconds, taskCount);
+        System.out.printf("%-18s %10s %8s %10s %9s %9s %9s%n", "mode", "requests", "errors", "req/s", "p50 ms", "p99 ms", "max ms");
+        for (Mode mode : Mode.values()) {
+            try (ConfigurableApplicationContext context = BenchmarkApplication.startServer(taskCount, mode.properties)) {
+                String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port") + "/api";
+                run(baseUrl, clients, Duration.ofSeconds(warmupSeconds), taskCount);
+                Result result = run(baseUrl, clients, Duration.ofSeconds(seconds), taskCount);
+                System.out.printf("%-18s %10d %8d %10.0f %9.1f %9.1f %9.1f%n", mode, result.requests(), result.errors(),
+                        result.requests() / (double) seconds, result.percentile(0.50), result.percentile(0.99), result.percentile(1.0));
+            }
+        }
+    }
+
+    private static Result run(String baseUrl, int clients, Duration duration, int taskCount) throws InterruptedException {
+        AtomicLong errors = new AtomicLong();
+        // one slot per client, read once the executor has been closed
+        long[][] latencies = new long[clients][];
+        int[] sizes = new int[clients];
+        long deadline = System.nanoTime() + duration.toNanos();
+        int pages = Math.max(1, taskCount / BenchmarkApplication.PAGE_SIZE / 2);
+
+        try (ExecutorService httpExecutor = Executors.newVirtualThreadPerTaskExecutor();
+             HttpClient httpClient = HttpClient.newBuilder()
+                     .version(HttpClient.Version.HTTP_1_1)
+                     .connectTimeout(Duration.ofSeconds(10))
+                     .executor(httpExecutor)
+                     .build();
+             ExecutorService clientExecutor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < clients; i++) {
+                int client = i;
+                clientExecutor.submit(() -> {
+                    long[] samples = new long[1024];
+                    int count = 0;
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    while (System.nanoTime() < deadline) {
+                        String path = random.nextInt(5) == 0
+                                ? "/tasks/" + (1 + random.nextInt(taskCount))
+                                : "/tasks?count=none&offset=" + BenchmarkApplication.PAGE_SIZE + "&page=" + (1 + random.nextInt(pages));
+                        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(Duration.ofSeconds(60)).build();
+                        long start = System.nanoTime();
+                        try {
+                            int status = httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                            // soft deleted tasks answer 404, see BenchmarkApplication
+                            if (status >= 500) {
+                                errors.incrementAndGet();
+                            }
+                        } catch (Exception e) {
+                            errors.incrementAndGet();
+                        }
+                        if (count == samples.length) {
+                            samples = Arrays.copyOf(samples, count * 2);
+                        }
+                        samples[count++] = System.nanoTime() - start;
+                    }
+                    latencies[client] = samples;
+                    sizes[client] = count;
+                });
+            }
+        }
+        return Result.of(latencies, sizes, errors.get());
+    }
+
+    private record Result(long[] sortedLatencies, long errors) {
+
+        static Result of(long[][] latencies, int[] sizes, long errors) {
+            long[] all = new long[Arrays.stream(sizes).sum()];
+            int offset = 0;
+            for (int i = 0; i < latencies.length; i++) {
+                System.arraycopy(latencies[i], 0, all, offset, sizes[i]);
+                offset += sizes[i];
+            }
+            Arrays.sort(all);
+            return new Result(all, errors);
+        }
+
+        long requests() {
+            return sortedLatencies.length;
+        }
+
+        double percentile(double quantile) {
+            if (sortedLatencies.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.min(sortedLatencies.length - 1, Math.ceil(quantile * sortedLatencies.length) - 1);
+            return sortedLatencies[Math.max(0, index)] / 1_000_000.0;
+        }
+    }
+}
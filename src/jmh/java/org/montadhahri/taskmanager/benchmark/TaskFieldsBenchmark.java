@@ -0,0 +1,65 @@
+package org.montadhahri.taskmanager.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.montadhahri.taskmanager.enumeration.CountMode;
+import org.montadhahri.taskmanager.enumeration.TaskField;
+import org.montadhahri.taskmanager.service.TaskService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static org.montadhahri.taskmanager.benchmark.BenchmarkApplication.PAGE_SIZE;
+
+/**
+ * {@code GET /tasks} without the HTTP layer: a page read with {@link TaskService#getAllTasks} and serialized to JSON,
+ * with all fields or with the id,title,status sparse fieldset. Payload sizes are printed at setup.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TaskFieldsBenchmark {
+
+    private static final Set<TaskField> LIST_FIELDS = EnumSet.of(TaskField.ID, TaskField.TITLE, TaskField.STATUS);
+
+    @Param({"60", "4000"})
+    public int descriptionLength;
+
+    private ConfigurableApplicationContext context;
+    private TaskService taskService;
+    private ObjectMapper objectMapper;
+
+    @Setup(Level.Trial)
+    public void setUp() throws JsonProcessingException {
+        context = BenchmarkApplication.start(10_000);
+        context.getBean(JdbcTemplate.class).update("UPDATE tasks SET description = LEFT(REPEAT(description || ' ', ?), ?)",
+                descriptionLength / 40 + 1, descriptionLength);
+        taskService = context.getBean(TaskService.class);
+        objectMapper = context.getBean(ObjectMapper.class);
+
+        System.out.printf("%nPage of %d tasks with %d character descriptions: %d bytes with all fields, %d bytes with %s%n",
+                PAGE_SIZE, descriptionLength, allFields().length, listFields().length, LIST_FIELDS);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public byte[] allFields() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(taskService.getAllTasks(1, PAGE_SIZE, null, CountMode.NONE, null));
+    }
+
+    @Benchmark
+    public byte[] listFields() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(taskService.getAllTasks(1, PAGE_SIZE, null, CountMode.NONE, LIST_FIELDS));
+    }
+}
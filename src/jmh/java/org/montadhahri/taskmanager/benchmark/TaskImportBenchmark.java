@@ -0,0 +1,65 @@
+package org.montadhahri.taskmanager.benchmark;
+
+import org.montadhahri.taskmanager.dto.request.TaskRequestDto;
+import org.montadhahri.taskmanager.dto.response.TaskBatchResultDto;
+import org.montadhahri.taskmanager.service.TaskService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Import of a large set of tasks through {@link TaskService#createTasks(List)}
+ * compared with one {@link TaskService#createTask(TaskRequestDto)} call per task.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TaskImportBenchmark {
+
+    @Param({"50000"})
+    public int importSize;
+
+    private ConfigurableApplicationContext context;
+    private TaskService taskService;
+    private List<TaskRequestDto> requests;
+    private int importSequence;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start(10_000);
+        taskService = context.getBean(TaskService.class);
+    }
+
+    @Setup(Level.Iteration)
+    public void prepareImport() {
+        importSequence++;
+        requests = new ArrayList<>(importSize);
+        for (int i = 0; i < importSize; i++) {
+            requests.add(new TaskRequestDto("Imported task " + importSequence + "-" + i, "imported by benchmark"));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public TaskBatchResultDto createTasks_batch() {
+        return taskService.createTasks(requests);
+    }
+
+    @Benchmark
+    public int createTask_oneByOne() {
+        for (TaskRequestDto request : requests) {
+            taskService.createTask(request);
+        }
+        return requests.size();
+    }
+}
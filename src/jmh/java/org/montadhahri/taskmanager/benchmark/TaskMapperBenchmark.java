@@ -0,0 +1,73 @@
+package org.montadhahri.taskmanager.benchmark;
+
+import org.modelmapper.Conditions;
+import org.modelmapper.ModelMapper;
+import org.modelmapper.config.Configuration.AccessLevel;
+import org.modelmapper.convention.MatchingStrategies;
+import org.montadhahri.taskmanager.dto.request.TaskRequestDto;
+import org.montadhahri.taskmanager.dto.response.TaskResponseDto;
+import org.montadhahri.taskmanager.entity.Task;
+import org.montadhahri.taskmanager.enumeration.TaskStatus;
+import org.montadhahri.taskmanager.mapper.TaskMapper;
+import org.montadhahri.taskmanager.mapper.TaskMapperImpl;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares {@link TaskMapperImpl} with the reflective ModelMapper setup it replaced.
+ * Run with -prof gc to also compare allocation rates.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TaskMapperBenchmark {
+
+    private ModelMapper modelMapper;
+    private TaskMapper taskMapper;
+    private Task task;
+    private TaskRequestDto requestDto;
+
+    @Setup
+    public void setUp() {
+        // same configuration as the former ModelMapperConfig bean
+        modelMapper = new ModelMapper();
+        modelMapper.getConfiguration()
+                .setMatchingStrategy(MatchingStrategies.STRICT)
+                .setFieldAccessLevel(AccessLevel.PRIVATE)
+                .setFieldMatchingEnabled(true)
+                .setPropertyCondition(Conditions.isNotNull());
+        taskMapper = new TaskMapperImpl();
+
+        task = new Task();
+        task.setId(42L);
+        task.setTitle("Benchmark task");
+        task.setDescription("Some description long enough to look like a real one");
+        task.setStatus(TaskStatus.IN_PROGRESS);
+
+        requestDto = new TaskRequestDto("Benchmark task", "Some description");
+    }
+
+    @Benchmark
+    public TaskResponseDto toResponseDto_modelMapper() {
+        return modelMapper.map(task, TaskResponseDto.class);
+    }
+
+    @Benchmark
+    public TaskResponseDto toResponseDto_taskMapper() {
+        return taskMapper.toResponseDto(task);
+    }
+
+    @Benchmark
+    public Task toEntity_modelMapper() {
+        return modelMapper.map(requestDto, Task.class);
+    }
+
+    @Benchmark
+    public Task toEntity_taskMapper() {
+        return taskMapper.toEntity(requestDto);
+    }
+}
@@ -0,0 +1,80 @@
+package org.montadhahri.taskmanager.benchmark;
+
+import org.montadhahri.taskmanager.entity.Task;
+import org.montadhahri.taskmanager.enumeration.TaskStatus;
+import org.montadhahri.taskmanager.repository.TaskRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static org.montadhahri.taskmanager.benchmark.BenchmarkApplication.PAGE_SIZE;
+
+/**
+ * Repository list and lookup queries with and without the V1.0.2 indexes.
+ * The query plans of both variants are printed at setup.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TaskQueryPlanBenchmark {
+
+    @Param({"1000000"})
+    public int taskCount;
+
+    @Param({"true", "false"})
+    public boolean indexed;
+
+    private ConfigurableApplicationContext context;
+    private TaskRepository taskRepository;
+    private Pageable firstPage;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start(taskCount);
+        taskRepository = context.getBean(TaskRepository.class);
+        firstPage = PageRequest.of(0, PAGE_SIZE, Sort.by("createdAt").ascending());
+
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        if (!indexed) {
+            jdbcTemplate.execute("DROP INDEX idx_tasks_enabled_created");
+            jdbcTemplate.execute("DROP INDEX idx_tasks_status_enabled_created");
+            jdbcTemplate.execute("DROP INDEX idx_tasks_title_enabled");
+        }
+        for (String sql : new String[]{
+                "SELECT id FROM tasks WHERE is_enabled = TRUE ORDER BY created_at LIMIT 50",
+                "SELECT COUNT(id) FROM tasks WHERE status = 'TODO' AND is_enabled = TRUE",
+                "SELECT id FROM tasks WHERE title = 'Benchmark task 1' AND is_enabled = TRUE"}) {
+            System.out.println(jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Page<Task> findByIsEnabledTrue() {
+        return taskRepository.findByIsEnabledTrue(firstPage);
+    }
+
+    @Benchmark
+    public Page<Task> findByStatusAndIsEnabledTrue() {
+        return taskRepository.findByStatusAndIsEnabledTrue(TaskStatus.TODO, firstPage);
+    }
+
+    @Benchmark
+    public Optional<Task> findByTitleAndIsEnabledTrue() {
+        return taskRepository.findByTitleAndIsEnabledTrue("Benchmark task " + (taskCount / 2 + 1));
+    }
+}
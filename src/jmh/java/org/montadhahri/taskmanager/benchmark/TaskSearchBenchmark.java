@@ -0,0 +1,67 @@
+package org.montadhahri.taskmanager.benchmark;
+
+import org.montadhahri.taskmanager.dto.PageDto;
+import org.montadhahri.taskmanager.dto.response.TaskResponseDto;
+import org.montadhahri.taskmanager.service.TaskSearchIndex;
+import org.montadhahri.taskmanager.service.TaskService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link TaskSearchIndex} lookups on seeded tasks: a term held by one task, two terms intersected
+ * and a term held by every task, which ranks the whole posting list. Also the full
+ * {@link TaskService#searchTasks(String, Integer, Integer)} call that loads the page.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TaskSearchBenchmark {
+
+    @Param({"1000000"})
+    public int taskCount;
+
+    private ConfigurableApplicationContext context;
+    private TaskSearchIndex taskSearchIndex;
+    private TaskService taskService;
+    private String rareTerm;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start(taskCount);
+        taskSearchIndex = context.getBean(TaskSearchIndex.class);
+        taskService = context.getBean(TaskService.class);
+        // built at startup before the seed
+        taskSearchIndex.rebuild();
+        rareTerm = String.valueOf(taskCount / 2 + 1);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public TaskSearchIndex.Hits search_rareTerm() {
+        return taskSearchIndex.search(rareTerm, 0, 10);
+    }
+
+    @Benchmark
+    public TaskSearchIndex.Hits search_commonAndRareTerms() {
+        return taskSearchIndex.search("benchmark task " + rareTerm, 0, 10);
+    }
+
+    @Benchmark
+    public TaskSearchIndex.Hits search_termInEveryTask() {
+        return taskSearchIndex.search("benchmark", 0, 10);
+    }
+
+    @Benchmark
+    public PageDto<TaskResponseDto> searchTasks_rareTerm() {
+        return taskService.searchTasks(rareTerm, 1, 10);
+    }
+}
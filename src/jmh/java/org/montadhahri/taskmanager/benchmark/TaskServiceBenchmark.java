@@ -0,0 +1,90 @@
+package org.montadhahri.taskmanager.benchmark;
+
+import org.montadhahri.taskmanager.dto.CursorPageDto;
+import org.montadhahri.taskmanager.dto.PageDto;
+import org.montadhahri.taskmanager.dto.request.TaskRequestDto;
+import org.montadhahri.taskmanager.dto.response.TaskResponseDto;
+import org.montadhahri.taskmanager.enumeration.TaskStatus;
+import org.montadhahri.taskmanager.exception.DuplicateResourceException;
+import org.montadhahri.taskmanager.service.TaskService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.montadhahri.taskmanager.benchmark.BenchmarkApplication.PAGE_SIZE;
+
+/**
+ * {@link TaskService} hot paths against a seeded H2 database: page listing with mapping,
+ * keyset listing and task creation with its duplicate title check.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TaskServiceBenchmark {
+
+    @Param({"10000", "100000", "1000000"})
+    public int taskCount;
+
+    private ConfigurableApplicationContext context;
+    private TaskService taskService;
+    private int deepPageIndex;
+    private String middleCursor;
+    private TaskRequestDto duplicateRequest;
+    private int createSequence;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start(taskCount);
+        taskService = context.getBean(TaskService.class);
+        deepPageIndex = taskCount / PAGE_SIZE / 2;
+
+        // walk to the middle of the table once to get a cursor comparable to deepPageIndex
+        CursorPageDto<TaskResponseDto> page = taskService.getTasksAfter(taskCount / 2, null, null);
+        middleCursor = page.getNextCursor();
+
+        duplicateRequest = new TaskRequestDto("Benchmark task 1", "duplicate");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public PageDto<TaskResponseDto> getAllTasks_firstPage() {
+        return taskService.getAllTasks(1, PAGE_SIZE, null);
+    }
+
+    @Benchmark
+    public PageDto<TaskResponseDto> getAllTasks_deepPage() {
+        return taskService.getAllTasks(deepPageIndex, PAGE_SIZE, null);
+    }
+
+    @Benchmark
+    public PageDto<TaskResponseDto> getAllTasks_byStatus() {
+        return taskService.getAllTasks(1, PAGE_SIZE, TaskStatus.TODO);
+    }
+
+    @Benchmark
+    public CursorPageDto<TaskResponseDto> getTasksAfter_deepCursor() {
+        return taskService.getTasksAfter(PAGE_SIZE, middleCursor, null);
+    }
+
+    @Benchmark
+    public TaskResponseDto createTask() {
+        return taskService.createTask(new TaskRequestDto("Created task " + createSequence++, "created by benchmark"));
+    }
+
+    @Benchmark
+    public Object createTask_duplicateTitle() {
+        try {
+            return taskService.createTask(duplicateRequest);
+        } catch (DuplicateResourceException e) {
+            return e;
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package org.montadhahri.taskmanager.benchmark;
+
+import org.montadhahri.taskmanager.dto.response.TaskResponseDto;
+import org.montadhahri.taskmanager.enumeration.TaskStatus;
+import org.montadhahri.taskmanager.service.TaskService;
+import org.montadhahri.taskmanager.service.TaskStatusBatcher;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sustained status changes of random tasks by many concurrent callers, each change in its own
+ * transaction ({@link TaskService#updateTaskStatus(Long, TaskStatus)}) vs group committed
+ * by {@link TaskStatusBatcher}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(64)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TaskStatusGroupCommitBenchmark {
+
+    private static final TaskStatus[] STATUSES = TaskStatus.values();
+
+    @Param({"100000"})
+    public int taskCount;
+
+    @Param({"false", "true"})
+    public boolean groupCommit;
+
+    private ConfigurableApplicationContext context;
+    private TaskStatusBatcher taskStatusBatcher;
+    private long[] taskIds;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start(taskCount, "application.group-commit.enabled=" + groupCommit);
+        taskStatusBatcher = context.getBean(TaskStatusBatcher.class);
+        taskIds = context.getBean(JdbcTemplate.class)
+                .queryForList("SELECT id FROM tasks WHERE is_enabled = TRUE", Long.class).stream()
+                .mapToLong(Long::longValue)
+                .toArray();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public TaskResponseDto updateTaskStatus() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        // without group commit, the batcher hands the change to the service right away
+        return taskStatusBatcher.updateTaskStatus(taskIds[random.nextInt(taskIds.length)],
+                STATUSES[random.nextInt(STATUSES.length)]);
+    }
+}
@@ -0,0 +1,21 @@
+package org.montadhahri.taskmanager.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Cache settings configuration.
+ * The caching advice runs outside the transactional one, so a cache hit does not open a transaction.
+ * @author mdh
+ */
+@Configuration
+@EnableCaching(order = Ordered.LOWEST_PRECEDENCE - 1)
+public class CacheConfig {
+
+    /** task response DTOs by task ID */
+    public static final String TASKS_CACHE = "tasks";
+
+    /** cache resolver of the tasks cache, dropping the puts of a task older than its last committed change */
+    public static final String TASKS_CACHE_RESOLVER = "taskCacheInvalidator";
+}
@@ -0,0 +1,115 @@
+package org.montadhahri.taskmanager.config;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.flywaydb.core.Flyway;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * DataSource settings configuration.
+ * Wraps every Hikari pool in a {@link ConnectionLimitingDataSource} when the limiter is enabled,
+ * and routes read-only transactions to replica pools with a {@link ReadWriteRoutingDataSource} when routing is enabled,
+ * whose reads are then kept out of Hibernate's caches by a {@link ReplicaReadJpaDialect}.
+ * @author mdh
+ */
+@Configuration
+public class DataSourceConfig {
+
+    // static and bound from the environment: a post processor is created before the other beans
+    @Bean
+    static BeanPostProcessor dataSourcePostProcessor(Environment environment) {
+        Binder binder = Binder.get(environment);
+        return new DataSourcePostProcessor(
+                binder.bindOrCreate(DataSourceLimiterProperties.PREFIX, DataSourceLimiterProperties.class),
+                binder.bindOrCreate(DataSourceRoutingProperties.PREFIX, DataSourceRoutingProperties.class),
+                binder.bind("spring.flyway.locations", String[].class).orElse(new String[]{"classpath:db/migration"}));
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = DataSourceRoutingProperties.PREFIX, name = "enabled", havingValue = "true")
+    ReadYourWritesFilter readYourWritesFilter(Environment environment) {
+        return new ReadYourWritesFilter(Binder.get(environment)
+                .bindOrCreate(DataSourceRoutingProperties.PREFIX, DataSourceRoutingProperties.class));
+    }
+
+    private static class DataSourcePostProcessor implements BeanPostProcessor {
+
+        private final DataSourceLimiterProperties limiterProperties;
+
+        private final DataSourceRoutingProperties routingProperties;
+
+        private final String[] flywayLocations;
+
+        DataSourcePostProcessor(DataSourceLimiterProperties limiterProperties,
+                                DataSourceRoutingProperties routingProperties,
+                                String[] flywayLocations) {
+            this.limiterProperties = limiterProperties;
+            this.routingProperties = routingProperties;
+            this.flywayLocations = flywayLocations;
+        }
+
+        @Override
+        public Object postProcessBeforeInitialization(Object bean, String beanName) {
+            // before the factory is built, it hands its dialect to the transaction manager
+            if (bean instanceof LocalContainerEntityManagerFactoryBean entityManagerFactory && routingProperties.isEnabled()) {
+                entityManagerFactory.setJpaDialect(new ReplicaReadJpaDialect());
+            }
+            return bean;
+        }
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (!(bean instanceof HikariDataSource pool)) {
+                return bean;
+            }
+            DataSource primary = limited(pool);
+            if (!routingProperties.isEnabled()) {
+                return primary;
+            }
+            List<DataSource> replicas = new ArrayList<>();
+            for (DataSourceRoutingProperties.Replica replica : routingProperties.getReplicas()) {
+                replicas.add(limited(replicaPool(replicas.size(), replica)));
+            }
+            return new ReadWriteRoutingDataSource(primary,
+                    new ReplicaDataSource(primary, replicas, routingProperties.getPolicy()));
+        }
+
+        private DataSource limited(HikariDataSource pool) {
+            if (!limiterProperties.isEnabled()) {
+                return pool;
+            }
+            int maxConcurrentConnections = limiterProperties.getMaxConcurrentConnections() != null
+                    ? limiterProperties.getMaxConcurrentConnections()
+                    : pool.getMaximumPoolSize();
+            return new ConnectionLimitingDataSource(pool, maxConcurrentConnections, limiterProperties.getAcquireTimeout());
+        }
+
+        private HikariDataSource replicaPool(int index, DataSourceRoutingProperties.Replica replica) {
+            if (replica.isMigrate()) {
+                Flyway.configure()
+                        .dataSource(replica.getUrl(), replica.getUsername(), replica.getPassword())
+                        .locations(flywayLocations)
+                        .load()
+                        .migrate();
+            }
+            HikariConfig config = new HikariConfig();
+            config.setPoolName("replica-" + index);
+            config.setJdbcUrl(replica.getUrl());
+            config.setUsername(replica.getUsername());
+            config.setPassword(replica.getPassword());
+            config.setMaximumPoolSize(replica.getMaximumPoolSize());
+            config.setReadOnly(true);
+            return new HikariDataSource(config);
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package org.montadhahri.taskmanager.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Connection limiter settings, see {@link ConnectionLimitingDataSource}.
+ * @author mdh
+ */
+@ConfigurationProperties(prefix = DataSourceLimiterProperties.PREFIX)
+@Getter
+@Setter
+public class DataSourceLimiterProperties {
+
+    public static final String PREFIX = "application.datasource.limiter";
+
+    private boolean enabled;
+
+    /** connections handed out at once, defaults to the maximum pool size */
+    private Integer maxConcurrentConnections;
+
+    /** how long a caller waits for a connection before failing */
+    private Duration acquireTimeout = Duration.ofSeconds(30);
+}
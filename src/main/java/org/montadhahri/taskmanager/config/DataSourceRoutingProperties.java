@@ -0,0 +1,50 @@
+package org.montadhahri.taskmanager.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.montadhahri.taskmanager.enumeration.ReplicaPolicy;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Read/write routing settings, see {@link ReadWriteRoutingDataSource}.
+ * @author mdh
+ */
+@ConfigurationProperties(prefix = DataSourceRoutingProperties.PREFIX)
+@Getter
+@Setter
+public class DataSourceRoutingProperties {
+
+    public static final String PREFIX = "application.datasource.routing";
+
+    private boolean enabled;
+
+    private ReplicaPolicy policy = ReplicaPolicy.ROUND_ROBIN;
+
+    /** how long a client reads from the primary after a write, should exceed the replication lag */
+    private Duration readYourWritesWindow = Duration.ofSeconds(5);
+
+    /** cookie holding the time of the client's last write */
+    private String cookieName = "last-write";
+
+    private List<Replica> replicas = new ArrayList<>();
+
+    @Getter
+    @Setter
+    public static class Replica {
+
+        private String url;
+
+        private String username;
+
+        private String password;
+
+        private int maximumPoolSize = 10;
+
+        /** applies the Flyway migrations at startup, only for local stand-ins that do not replicate the primary */
+        private boolean migrate;
+    }
+}
@@ -1,23 +0,0 @@
-package org.montadhahri.taskmanager.config;
-
-import org.modelmapper.Conditions;
-import org.modelmapper.ModelMapper;
-import org.modelmapper.config.Configuration.AccessLevel;
-import org.modelmapper.convention.MatchingStrategies;
-import org.springframework.context.annotation.Bean;
-import org.springframework.context.annotation.Configuration;
-
-@Configuration
-public class ModelMapperConfig {
-
-    @Bean
-    public ModelMapper modelMapper() {
-        ModelMapper modelMapper = new ModelMapper();
-        modelMapper.getConfiguration()
-                .setMatchingStrategy(MatchingStrategies.STRICT)
-                .setFieldAccessLevel(AccessLevel.PRIVATE)
-                .setFieldMatchingEnabled(true)
-                .setPropertyCondition(Conditions.isNotNull());
-        return modelMapper;
-    }
-}
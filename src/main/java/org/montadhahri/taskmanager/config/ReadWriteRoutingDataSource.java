@@ -0,0 +1,74 @@
+package org.montadhahri.taskmanager.config;
+
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+/**
+ * Sends read-only transactions to the replicas and everything else to the primary.
+ * The physical connection is only fetched on the first statement, once the transaction has marked
+ * the connection read-only, and comes from the {@link ReplicaDataSource} when it has.
+ * Code running in a {@link #primaryScope()}, such as the requests of a client that just wrote,
+ * reads from the primary so that replication lag never hides its own writes.
+ * @author mdh
+ */
+public class ReadWriteRoutingDataSource extends LazyConnectionDataSourceProxy implements AutoCloseable {
+
+    private static final ThreadLocal<Boolean> PRIMARY_REQUIRED = new ThreadLocal<>();
+
+    private final ReplicaDataSource replicaDataSource;
+
+    public ReadWriteRoutingDataSource(DataSource primary, ReplicaDataSource replicaDataSource) {
+        super(primary);
+        this.replicaDataSource = replicaDataSource;
+        setReadOnlyDataSource(replicaDataSource);
+    }
+
+    public ReplicaDataSource getReplicaDataSource() {
+        return replicaDataSource;
+    }
+
+    /**
+     * @return whether reads of the current thread must go to the primary
+     */
+    public static boolean isPrimaryRequired() {
+        return Boolean.TRUE.equals(PRIMARY_REQUIRED.get());
+    }
+
+    /**
+     * Sends the reads of the current thread to the primary until the returned scope is closed.
+     */
+    public static PrimaryScope primaryScope() {
+        PrimaryScope scope = new PrimaryScope(PRIMARY_REQUIRED.get());
+        PRIMARY_REQUIRED.set(Boolean.TRUE);
+        return scope;
+    }
+
+    @Override
+    public void close() throws Exception {
+        replicaDataSource.close();
+        // the pool is wrapped, so its own destroy method is not called anymore
+        DataSource primary = obtainTargetDataSource();
+        if (primary.isWrapperFor(AutoCloseable.class)) {
+            primary.unwrap(AutoCloseable.class).close();
+        }
+    }
+
+    public static final class PrimaryScope implements AutoCloseable {
+
+        private final Boolean previous;
+
+        private PrimaryScope(Boolean previous) {
+            this.previous = previous;
+        }
+
+        @Override
+        public void close() {
+            if (previous == null) {
+                PRIMARY_REQUIRED.remove();
+            } else {
+                PRIMARY_REQUIRED.set(previous);
+            }
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package org.montadhahri.taskmanager.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseCookie;
+import org.springframework.util.StringUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.WebUtils;
+
+import java.io.IOException;
+import java.util.Set;
+
+/**
+ * Replication lag guard: a write request stamps the client with a cookie, and the requests of that client
+ * read from the primary until the read-your-writes window is over, the replicas having caught up by then.
+ * @author mdh
+ */
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    private static final Set<String> READ_METHODS = Set.of("GET", "HEAD", "OPTIONS");
+
+    private final DataSourceRoutingProperties properties;
+
+    public ReadYourWritesFilter(DataSourceRoutingProperties properties) {
+        this.properties = properties;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        boolean write = !READ_METHODS.contains(request.getMethod());
+        if (write) {
+            // set before the response is committed, a failed write only costs a few primary reads
+            response.addHeader(HttpHeaders.SET_COOKIE, lastWriteCookie(request).toString());
+        } else if (!wroteRecently(request)) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        try (ReadWriteRoutingDataSource.PrimaryScope ignored = ReadWriteRoutingDataSource.primaryScope()) {
+            filterChain.doFilter(request, response);
+        }
+    }
+
+    private ResponseCookie lastWriteCookie(HttpServletRequest request) {
+        return ResponseCookie.from(properties.getCookieName(), String.valueOf(System.currentTimeMillis()))
+                .path(StringUtils.hasLength(request.getContextPath()) ? request.getContextPath() : "/")
+                .maxAge(properties.getReadYourWritesWindow())
+                .httpOnly(true)
+                .sameSite("Lax")
+                .build();
+    }
+
+    private boolean wroteRecently(HttpServletRequest request) {
+        Cookie cookie = WebUtils.getCookie(request, properties.getCookieName());
+        if (cookie == null) {
+            return false;
+        }
+        try {
+            long lastWrite = Long.parseLong(cookie.getValue());
+            return System.currentTimeMillis() - lastWrite < properties.getReadYourWritesWindow().toMillis();
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package org.montadhahri.taskmanager.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.montadhahri.taskmanager.enumeration.ReplicaPolicy;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.jdbc.datasource.ConnectionProxy;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Hands out connections of a replica picked by the {@link ReplicaPolicy}, for read-only transactions.
+ * Falls back to the primary in a {@link ReadWriteRoutingDataSource#primaryScope() primary scope},
+ * when the picked replica cannot hand out a connection, and for connections asked with explicit credentials.
+ * @author mdh
+ */
+@Slf4j
+public class ReplicaDataSource extends AbstractDataSource implements AutoCloseable {
+
+    private final DataSource primary;
+
+    private final List<DataSource> replicas;
+
+    private final ReplicaPolicy policy;
+
+    private final AtomicInteger[] openConnections;
+
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReplicaDataSource(DataSource primary, List<DataSource> replicas, ReplicaPolicy policy) {
+        if (replicas.isEmpty()) {
+            throw new IllegalArgumentException("At least one replica is required");
+        }
+        this.primary = primary;
+        this.replicas = List.copyOf(replicas);
+        this.policy = policy;
+        this.openConnections = new AtomicInteger[replicas.size()];
+        for (int i = 0; i < openConnections.length; i++) {
+            openConnections[i] = new AtomicInteger();
+        }
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (ReadWriteRoutingDataSource.isPrimaryRequired()) {
+            return primary.getConnection();
+        }
+        int replica = select();
+        openConnections[replica].incrementAndGet();
+        try {
+            return counted(replica, replicas.get(replica).getConnection());
+        } catch (SQLException | RuntimeException e) {
+            openConnections[replica].decrementAndGet();
+            log.warn("Replica {} unavailable, reading from the primary: {}", replica, e.getMessage());
+            return primary.getConnection();
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        // the replicas only know their configured credentials
+        return primary.getConnection(username, password);
+    }
+
+    /**
+     * @return connections of this replica handed out and not closed yet
+     */
+    public int openConnections(int replica) {
+        return openConnections[replica].get();
+    }
+
+    @Override
+    public void close() throws Exception {
+        for (DataSource replica : replicas) {
+            if (replica.isWrapperFor(AutoCloseable.class)) {
+                replica.unwrap(AutoCloseable.class).close();
+            }
+        }
+    }
+
+    private int select() {
+        int start = Math.floorMod(next.getAndIncrement(), replicas.size());
+        if (policy == ReplicaPolicy.ROUND_ROBIN) {
+            return start;
+        }
+        // starting from the round-robin position spreads ties
+        int selected = start;
+        for (int i = 1; i < replicas.size(); i++) {
+            int candidate = (start + i) % replicas.size();
+            if (openConnections[candidate].get() < openConnections[selected].get()) {
+                selected = candidate;
+            }
+        }
+        return selected;
+    }
+
+    private Connection counted(int replica, Connection target) {
+        return (Connection) Proxy.newProxyInstance(ConnectionProxy.class.getClassLoader(),
+                new Class<?>[]{ConnectionProxy.class}, new CountingHandler(target, openConnections[replica]));
+    }
+
+    private static class CountingHandler implements InvocationHandler {
+
+        private final Connection target;
+
+        private final AtomicInteger openConnections;
+
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        CountingHandler(Connection target, AtomicInteger openConnections) {
+            this.target = target;
+            this.openConnections = openConnections;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "getTargetConnection":
+                    return target;
+                case "close":
+                    try {
+                        target.close();
+                    } finally {
+                        if (closed.compareAndSet(false, true)) {
+                            openConnections.decrementAndGet();
+                        }
+                    }
+                    return null;
+                default:
+                    try {
+                        return method.invoke(target, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getTargetException();
+                    }
+            }
+        }
+    }
+}
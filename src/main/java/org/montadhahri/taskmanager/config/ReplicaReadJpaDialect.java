@@ -0,0 +1,47 @@
+package org.montadhahri.taskmanager.config;
+
+import jakarta.persistence.EntityManager;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.orm.jpa.vendor.HibernateJpaDialect;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionException;
+
+import java.sql.SQLException;
+
+/**
+ * Keeps the reads of a replica out of Hibernate's second-level and query caches: a read-only transaction
+ * outside a {@link ReadWriteRoutingDataSource#primaryScope() primary scope} bypasses them, so an entity or query
+ * result behind the primary is never cached for everyone until its next change.
+ * {@link CacheMode#IGNORE}, not {@link CacheMode#GET}: on a query cache miss Hibernate stores the result even in GET.
+ * The cache mode of the session is restored afterwards, the session may outlive the transaction (open in view).
+ * @author mdh
+ */
+public class ReplicaReadJpaDialect extends HibernateJpaDialect {
+
+    @Override
+    public Object beginTransaction(EntityManager entityManager, TransactionDefinition definition)
+            throws SQLException, TransactionException {
+        Object transactionData = super.beginTransaction(entityManager, definition);
+        if (!definition.isReadOnly() || ReadWriteRoutingDataSource.isPrimaryRequired()) {
+            return transactionData;
+        }
+        Session session = entityManager.unwrap(Session.class);
+        CacheMode previousCacheMode = session.getCacheMode();
+        session.setCacheMode(CacheMode.IGNORE);
+        return new ReplicaTransactionData(transactionData, session, previousCacheMode);
+    }
+
+    @Override
+    public void cleanupTransaction(Object transactionData) {
+        if (transactionData instanceof ReplicaTransactionData replicaData) {
+            replicaData.session().setCacheMode(replicaData.previousCacheMode());
+            super.cleanupTransaction(replicaData.transactionData());
+        } else {
+            super.cleanupTransaction(transactionData);
+        }
+    }
+
+    private record ReplicaTransactionData(Object transactionData, Session session, CacheMode previousCacheMode) {
+    }
+}
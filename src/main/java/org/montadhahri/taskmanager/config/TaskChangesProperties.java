@@ -0,0 +1,25 @@
+package org.montadhahri.taskmanager.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Changes feed settings, see {@link org.montadhahri.taskmanager.service.TaskService#getTaskChanges}.
+ * @author mdh
+ */
+@Component
+@ConfigurationProperties(prefix = "application.changes")
+@Getter
+@Setter
+public class TaskChangesProperties {
+    /**
+     * changes more recent than this are not returned yet: a transaction stamps its rows before committing,
+     * so a cursor past them could skip rows still being committed with an older update date.
+     * Must stay above the longest write transaction.
+     */
+    private Duration safetyLag = Duration.ofSeconds(5);
+}
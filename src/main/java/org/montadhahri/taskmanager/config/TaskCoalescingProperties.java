@@ -0,0 +1,23 @@
+package org.montadhahri.taskmanager.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties(prefix = "application.coalescing")
+@Getter
+@Setter
+public class TaskCoalescingProperties {
+    /** identical concurrent task page requests share one computation */
+    private boolean enabled = true;
+
+    /** how long a computed page is served to identical requests, 0 to only share in-flight computations */
+    private Duration window = Duration.ofMillis(5);
+
+    /** distinct pages (page, size, status, count mode, fields) kept at once */
+    private long maximumSize = 1000;
+}
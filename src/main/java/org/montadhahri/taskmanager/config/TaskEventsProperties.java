@@ -0,0 +1,26 @@
+package org.montadhahri.taskmanager.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties(prefix = "application.events")
+@Getter
+@Setter
+public class TaskEventsProperties {
+    /** last events kept in memory to resume a stream from its Last-Event-ID */
+    private int bufferSize = 1024;
+
+    /** distinct tasks waiting to be sent to one subscriber before its pending events are dropped */
+    private int subscriberQueueSize = 256;
+
+    /** delay between two heartbeat comments, keeps idle connections open through proxies */
+    private Duration heartbeatInterval = Duration.ofSeconds(15);
+
+    /** lifetime of one stream, clients reconnect with their Last-Event-ID afterwards */
+    private Duration timeout = Duration.ofMinutes(30);
+}
@@ -0,0 +1,29 @@
+package org.montadhahri.taskmanager.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties(prefix = "application.group-commit")
+@Getter
+@Setter
+public class TaskGroupCommitProperties {
+    /** unconditional status changes are queued and committed together */
+    private boolean enabled;
+
+    /** longest time a queued change waits for others before its batch is committed */
+    private Duration maxDelay = Duration.ofMillis(5);
+
+    /** changes committed at once, a full batch is committed without waiting */
+    private int maxBatchSize = 500;
+
+    /** queued changes, callers wait for room beyond it */
+    private int queueCapacity = 10000;
+
+    /** longest wait for room in a full queue, the change is then committed on its own */
+    private Duration offerTimeout = Duration.ofMillis(50);
+}
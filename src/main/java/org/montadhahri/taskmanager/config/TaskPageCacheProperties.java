@@ -0,0 +1,28 @@
+package org.montadhahri.taskmanager.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+@Component
+@ConfigurationProperties(prefix = "application.page-cache")
+@Getter
+@Setter
+public class TaskPageCacheProperties {
+    /** keep the JSON bytes of the first task pages, written as is while no task changes */
+    private boolean enabled = true;
+
+    /** pages from 1 up to this index are cached, deeper pages are serialized on each request */
+    private int maxPageIndex = 3;
+
+    /** JSON and gzipped bytes kept at once, all parameter combinations included; page sizes are not bounded */
+    private DataSize maximumWeight = DataSize.ofMegabytes(32);
+
+    /** also keep a gzipped copy for clients accepting it */
+    private boolean gzip = true;
+
+    /** smaller pages are never gzipped */
+    private DataSize gzipMinResponseSize = DataSize.ofKilobytes(2);
+}
@@ -0,0 +1,20 @@
+package org.montadhahri.taskmanager.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties(prefix = "application.stats")
+@Getter
+@Setter
+public class TaskStatsProperties {
+    /** days covered by the created and completed per day histograms, today included */
+    private int histogramDays = 30;
+
+    /** delay between two reconciliations of the in-memory counters with the database */
+    private Duration reconcileInterval = Duration.ofMinutes(5);
+}
@@ -0,0 +1,50 @@
+package org.montadhahri.taskmanager.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.montadhahri.taskmanager.enumeration.TaskField;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.core.convert.converter.ConverterFactory;
+import org.springframework.format.FormatterRegistry;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.Locale;
+
+/**
+ * Spring MVC settings configuration
+ * @author mdh
+ */
+@Configuration
+public class WebMvcConfig implements WebMvcConfigurer {
+
+    /**
+     * application/cbor responses and request bodies, e.g. task pages with Accept: application/cbor.
+     * Binary JSON without the repeated quoting, using the same modules and settings as the JSON ObjectMapper.
+     */
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(ObjectMapper objectMapper) {
+        return new MappingJackson2CborHttpMessageConverter(objectMapper.copyWith(new CBORFactory()));
+    }
+
+    @Override
+    public void addFormatters(FormatterRegistry registry) {
+        // accept enum request parameters in any case, e.g. count=none or status=todo
+        registry.addConverterFactory(new CaseInsensitiveEnumConverterFactory());
+        // sparse fieldsets use the JSON property names, e.g. fields=id,title,updatedAt
+        registry.addConverter(String.class, TaskField.class, TaskField::fromPropertyName);
+    }
+
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private static class CaseInsensitiveEnumConverterFactory implements ConverterFactory<String, Enum> {
+
+        @Override
+        public <T extends Enum> Converter<String, T> getConverter(Class<T> targetType) {
+            return source -> source.isBlank()
+                    ? null
+                    : (T) Enum.valueOf(targetType, source.trim().toUpperCase(Locale.ROOT));
+        }
+    }
+}
@@ -1,22 +1,65 @@
 package org.montadhahri.taskmanager.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.annotation.Nullable;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
 import lombok.RequiredArgsConstructor;
+import org.montadhahri.taskmanager.dto.CursorPageDto;
 import org.montadhahri.taskmanager.dto.PageDto;
+import org.montadhahri.taskmanager.dto.request.TaskBulkStatusUpdateDto;
 import org.montadhahri.taskmanager.dto.request.TaskRequestDto;
 import org.montadhahri.taskmanager.dto.request.TaskStatusUpdateDto;
+import org.montadhahri.taskmanager.dto.response.TaskBatchResultDto;
+import org.montadhahri.taskmanager.dto.response.TaskBulkResultDto;
+import org.montadhahri.taskmanager.dto.response.TaskChangesDto;
 import org.montadhahri.taskmanager.dto.response.TaskResponseDto;
+import org.montadhahri.taskmanager.dto.response.TaskStatsDto;
+import org.montadhahri.taskmanager.enumeration.CountMode;
+import org.montadhahri.taskmanager.enumeration.ExportFormat;
+import org.montadhahri.taskmanager.enumeration.TaskField;
 import org.montadhahri.taskmanager.enumeration.TaskStatus;
+import org.montadhahri.taskmanager.exception.PreconditionFailedException;
+import org.montadhahri.taskmanager.exception.VersionConflictException;
+import org.montadhahri.taskmanager.repository.TaskStamp;
+import org.montadhahri.taskmanager.service.TaskEventBroadcaster;
+import org.montadhahri.taskmanager.service.TaskPageCache;
+import org.montadhahri.taskmanager.service.TaskPageCoalescer;
+import org.montadhahri.taskmanager.service.TaskPageReader;
 import org.montadhahri.taskmanager.service.TaskService;
+import org.montadhahri.taskmanager.service.TaskStatusBatcher;
+import org.montadhahri.taskmanager.util.TaskETags;
+import org.montadhahri.taskmanager.util.TaskExportWriter;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
 import org.springframework.validation.annotation.Validated;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
+import org.springframework.web.accept.HeaderContentNegotiationStrategy;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 
 @Tag(name = "tasks", description = "Task management APIs")
 @RestController
@@ -25,8 +68,23 @@ import org.springframework.web.bind.annotation.*;
 @Validated
 public class TaskController {
 
+    // the Accept header alone decides, like the default content negotiation, without needing the web context
+    private static final HeaderContentNegotiationStrategy ACCEPT_HEADER = new HeaderContentNegotiationStrategy();
+
     private final TaskService taskService;
 
+    private final TaskEventBroadcaster taskEventBroadcaster;
+
+    private final TaskPageCoalescer taskPageCoalescer;
+
+    private final TaskPageCache taskPageCache;
+
+    private final TaskStatusBatcher taskStatusBatcher;
+
+    private final ObjectMapper objectMapper;
+
+    private final MappingJackson2CborHttpMessageConverter cborHttpMessageConverter;
+
     @Operation(summary = "Create a new task")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "successful operation"),
@@ -40,24 +98,170 @@ public class TaskController {
         return ResponseEntity.status(HttpStatus.CREATED).body(created);
     }
 
-    @Operation(summary = "Get All paginated tasks")
+    @Operation(summary = "Create many tasks at once")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "successful operation, see the status of every item"),
+            @ApiResponse(responseCode = "400", description = "Bad Request"),
+            @ApiResponse(responseCode = "500", description = "Internal Server Error")
+    })
+    @PostMapping("/batch")
+    public ResponseEntity<TaskBatchResultDto> createTasks(@RequestBody @NotEmpty List<@Valid TaskRequestDto> dtos) {
+        TaskBatchResultDto result = taskService.createTasks(dtos);
+        return ResponseEntity.ok(result);
+    }
+
+    @Operation(summary = "Get All paginated tasks", description = "JSON, or CBOR with Accept: application/cbor")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "successful operation",
+                    content = @Content(schema = @Schema(implementation = PageDto.class))),
+            @ApiResponse(responseCode = "304", description = "Not Modified: no task changed since the If-None-Match ETag")
+    })
     @GetMapping
-    public ResponseEntity<PageDto<TaskResponseDto>> getAllTasks(
+    public ResponseEntity<?> getAllTasks(
             @Parameter(description = "Page index greater than 0") @RequestParam(name = "page") Integer page,
             @Parameter(description = "Page size") @RequestParam(name = "offset") Integer offset,
+            @Parameter(description = "Status", required = false) @RequestParam(required = false) TaskStatus status,
+            @Parameter(description = "Total count mode: exact, estimate or none") @RequestParam(name = "count", defaultValue = "exact") CountMode count,
+            @Parameter(description = "Returned fields, e.g. id,title,status; the description is only read when requested. All fields by default")
+            @RequestParam(name = "fields", required = false) Set<TaskField> fields,
+            @RequestHeader(name = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            NativeWebRequest request, HttpServletResponse servletResponse) throws HttpMediaTypeNotAcceptableException {
+        // JSON or CBOR, gzipped or not: caches must tell the representations apart, 304 included
+        servletResponse.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT + ", " + HttpHeaders.ACCEPT_ENCODING);
+        TaskStamp stamp = taskService.getTasksStamp();
+        if (request.checkNotModified(TaskETags.of(stamp), TaskETags.lastModified(stamp.getLastModified()))) {
+            return null;
+        }
+        // validators of the page actually sent: a shared or cached page may predate the stamp read above
+        if (taskPageCache.isCached(page) && prefersJson(request)) {
+            // first pages: cached JSON bytes, gzipped here rather than by the server when accepted
+            TaskPageCache.EncodedPage encoded = taskPageCache.get(page, offset, status, count, fields, stamp);
+            boolean gzip = encoded.gzip() != null && acceptEncoding != null && acceptEncoding.contains("gzip");
+            setValidators(servletResponse, encoded.stamp());
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                    .contentType(MediaType.APPLICATION_JSON);
+            if (gzip) {
+                response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+            }
+            return response.body(gzip ? encoded.gzip() : encoded.json());
+        }
+        TaskPageReader.StampedPage tasks = taskPageCoalescer.getAllTasks(page, offset, status, count, fields);
+        setValidators(servletResponse, tasks.stamp());
+        return ResponseEntity.ok(tasks.page());
+    }
+
+    // JSON unless the client ranks CBOR first
+    private boolean prefersJson(NativeWebRequest request) throws HttpMediaTypeNotAcceptableException {
+        for (MediaType mediaType : ACCEPT_HEADER.resolveMediaTypes(request)) {
+            if (mediaType.isCompatibleWith(MediaType.APPLICATION_JSON)) {
+                return true;
+            }
+            if (mediaType.isCompatibleWith(MediaType.APPLICATION_CBOR)) {
+                return false;
+            }
+        }
+        return false;
+    }
+
+    @Operation(summary = "Get active tasks per status and tasks created/completed per day")
+    @GetMapping("/stats")
+    public ResponseEntity<TaskStatsDto> getTaskStats() {
+        TaskStatsDto stats = taskService.getTaskStats();
+        return ResponseEntity.ok(stats);
+    }
+
+    @Operation(summary = "Stream task changes as server-sent events",
+            description = "Events are named after the change type (CREATED, UPDATED, STATUS_CHANGED, DELETED) and carry "
+                    + "the change as JSON. Reconnect with the Last-Event-ID header (or lastEventId parameter) to get the "
+                    + "missed events; a RESET event means they are lost and the tasks must be reloaded.")
+    @GetMapping(path = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamTaskEvents(
+            @RequestHeader(name = "Last-Event-ID", required = false) String lastEventIdHeader,
+            @RequestParam(name = "lastEventId", required = false) String lastEventId) {
+        return taskEventBroadcaster.subscribe(lastEventIdHeader != null ? lastEventIdHeader : lastEventId);
+    }
+
+    @Operation(summary = "Search tasks by words of their title and description, best match first")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "successful operation"),
+            @ApiResponse(responseCode = "400", description = "Bad Request: blank query or invalid page")
+    })
+    @GetMapping("/search")
+    public ResponseEntity<PageDto<TaskResponseDto>> searchTasks(
+            @Parameter(description = "Words that must all appear, case and accents are ignored") @RequestParam(name = "q") String q,
+            @Parameter(description = "Page index greater than 0") @RequestParam(name = "page", defaultValue = "1") Integer page,
+            @Parameter(description = "Page size") @RequestParam(name = "offset", defaultValue = "10") Integer offset) {
+        PageDto<TaskResponseDto> tasks = taskService.searchTasks(q, page, offset);
+        return ResponseEntity.ok(tasks);
+    }
+
+    @Operation(summary = "Get tasks with cursor (keyset) pagination")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "successful operation"),
+            @ApiResponse(responseCode = "400", description = "Bad Request: invalid limit or cursor")
+    })
+    @GetMapping("/cursor")
+    public ResponseEntity<CursorPageDto<TaskResponseDto>> getTasksByCursor(
+            @Parameter(description = "Page size") @RequestParam(name = "limit") Integer limit,
+            @Parameter(description = "Cursor returned as nextCursor by the previous page") @RequestParam(name = "after", required = false) String after,
             @Parameter(description = "Status", required = false) @RequestParam(required = false) TaskStatus status) {
-        PageDto<TaskResponseDto> tasks = taskService.getAllTasks(page, offset, status);
+        CursorPageDto<TaskResponseDto> tasks = taskService.getTasksAfter(limit, after, status);
         return ResponseEntity.ok(tasks);
     }
 
+    @Operation(summary = "Get the tasks created, updated or deleted since a date or a previous sync",
+            description = "Deleted tasks are returned as tombstones. Pass the returned cursor on the next call, "
+                    + "immediately while hasMore is true, later to get the next changes. "
+                    + "Changes show up once they are older than application.changes.safety-lag, "
+                    + "so that no commit still in progress is skipped by the cursor.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "successful operation"),
+            @ApiResponse(responseCode = "400", description = "Bad Request: invalid limit or cursor, or both since and cursor")
+    })
+    @GetMapping("/changes")
+    public ResponseEntity<TaskChangesDto> getTaskChanges(
+            @Parameter(description = "ISO date-time, changes at or after it") @RequestParam(name = "since", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime since,
+            @Parameter(description = "Cursor returned by the previous sync") @RequestParam(name = "cursor", required = false) String cursor,
+            @Parameter(description = "Page size") @RequestParam(name = "limit", defaultValue = "100") Integer limit) {
+        TaskChangesDto changes = taskService.getTaskChanges(since, cursor, limit);
+        return ResponseEntity.ok(changes);
+    }
+
+    @Operation(summary = "Export all tasks as NDJSON, CSV or a CBOR sequence, streamed without paging")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "successful operation"),
+            @ApiResponse(responseCode = "400", description = "Bad Request: invalid format or status")
+    })
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportTasks(
+            @Parameter(description = "Format: ndjson, csv or cbor") @RequestParam(name = "format", defaultValue = "ndjson") ExportFormat format,
+            @Parameter(description = "Status", required = false) @RequestParam(required = false) TaskStatus status) {
+        StreamingResponseBody body = outputStream -> {
+            TaskExportWriter writer = TaskExportWriter.of(format, outputStream, objectMapper,
+                    cborHttpMessageConverter.getObjectMapper());
+            taskService.exportTasks(status, writer);
+            writer.flush();
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(format.getMediaType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("tasks." + format.getFileExtension()).build().toString())
+                .body(body);
+    }
+
     @Operation(summary = "Find task by id")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "successful operation"),
+            @ApiResponse(responseCode = "304", description = "Not Modified: task unchanged since the If-None-Match ETag"),
             @ApiResponse(responseCode = "404", description = "Task not found")
     })
-    @GetMapping("/{id}")
-    public ResponseEntity<TaskResponseDto> getTaskById(@PathVariable Long id) {
+    @GetMapping(path = "/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<TaskResponseDto> getTaskById(@PathVariable Long id, WebRequest request) {
         TaskResponseDto dto = taskService.getTaskById(id);
+        if (request.checkNotModified(TaskETags.of(dto), TaskETags.lastModified(dto.getUpdatedAt()))) {
+            return null;
+        }
         return ResponseEntity.ok(dto);
     }
 
@@ -66,14 +270,22 @@ public class TaskController {
             @ApiResponse(responseCode = "200", description = "successful operation"),
             @ApiResponse(responseCode = "400", description = "Bad Request"),
             @ApiResponse(responseCode = "404", description = "Task not found"),
-            @ApiResponse(responseCode = "409", description = " Conflict: Task title already exists"),
+            @ApiResponse(responseCode = "409", description = " Conflict: Task title already exists, or task no longer has the version of the request"),
+            @ApiResponse(responseCode = "412", description = "Precondition Failed: task changed since the If-Match ETag"),
             @ApiResponse(responseCode = "500", description = "Internal Server Error")
     })
-    @PutMapping("/{id}")
+    @PutMapping(path = "/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
     public ResponseEntity<TaskResponseDto> updateTask(@PathVariable Long id,
-                                                      @Valid @RequestBody TaskRequestDto dto) {
-        TaskResponseDto updated = taskService.updateTask(id, dto);
-        return ResponseEntity.ok(updated);
+                                                      @Valid @RequestBody TaskRequestDto dto,
+                                                      @RequestHeader HttpHeaders headers) {
+        boolean preconditions = hasPreconditions(headers);
+        dto.setVersion(expectedVersion(id, headers, dto.getVersion()));
+        try {
+            TaskResponseDto updated = taskService.updateTask(id, dto);
+            return withValidators(updated);
+        } catch (VersionConflictException | OptimisticLockingFailureException e) {
+            throw preconditions ? changedSincePreconditions(id) : e;
+        }
     }
 
     @Operation(summary = "Update task status by id")
@@ -81,13 +293,38 @@ public class TaskController {
             @ApiResponse(responseCode = "200", description = "successful operation"),
             @ApiResponse(responseCode = "400", description = "Bad Request"),
             @ApiResponse(responseCode = "404", description = "Task not found"),
+            @ApiResponse(responseCode = "409", description = "Conflict: task no longer has the version or current status of the request"),
+            @ApiResponse(responseCode = "412", description = "Precondition Failed: task changed since the If-Match ETag"),
             @ApiResponse(responseCode = "500", description = "Internal Server Error")
     })
-    @PatchMapping("/{id}/status")
+    @PatchMapping(path = "/{id}/status", produces = MediaType.APPLICATION_JSON_VALUE)
     public ResponseEntity<TaskResponseDto> updateTaskStatus(@PathVariable Long id,
-                                                            @Valid @RequestBody TaskStatusUpdateDto dto) {
-        TaskResponseDto updated = taskService.updateTaskStatus(id, dto.getStatus());
-        return ResponseEntity.ok(updated);
+                                                            @Valid @RequestBody TaskStatusUpdateDto dto,
+                                                            @RequestHeader HttpHeaders headers) {
+        boolean preconditions = hasPreconditions(headers);
+        // only unconditional changes are group committed, the others need their compare-and-set
+        if (!preconditions && dto.getVersion() == null && dto.getCurrentStatus() == null) {
+            return withValidators(taskStatusBatcher.updateTaskStatus(id, dto.getStatus()));
+        }
+        Long expectedVersion = expectedVersion(id, headers, dto.getVersion());
+        try {
+            TaskResponseDto updated = taskService.updateTaskStatus(id, dto.getStatus(), expectedVersion, dto.getCurrentStatus());
+            return withValidators(updated);
+        } catch (VersionConflictException e) {
+            throw preconditions ? changedSincePreconditions(id) : e;
+        }
+    }
+
+    @Operation(summary = "Update the status of many tasks selected by ids and/or current status")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "successful operation"),
+            @ApiResponse(responseCode = "400", description = "Bad Request"),
+            @ApiResponse(responseCode = "500", description = "Internal Server Error")
+    })
+    @PatchMapping("/status")
+    public ResponseEntity<TaskBulkResultDto> updateTasksStatus(@Valid @RequestBody TaskBulkStatusUpdateDto dto) {
+        TaskBulkResultDto result = taskService.updateTasksStatus(dto.getIds(), dto.getCurrentStatus(), dto.getStatus());
+        return ResponseEntity.ok(result);
     }
 
     @Operation(summary = "Delete task by id")
@@ -101,4 +338,99 @@ public class TaskController {
         taskService.softDeleteTask(id);
         return ResponseEntity.noContent().build();
     }
+
+    @Operation(summary = "Delete many tasks selected by ids and/or status")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "successful operation"),
+            @ApiResponse(responseCode = "400", description = "Bad Request"),
+            @ApiResponse(responseCode = "500", description = "Internal Server Error")
+    })
+    @DeleteMapping
+    public ResponseEntity<TaskBulkResultDto> softDeleteTasks(
+            @Parameter(description = "Task ids") @RequestParam(name = "ids", required = false) List<Long> ids,
+            @Parameter(description = "Status", required = false) @RequestParam(required = false) TaskStatus status) {
+        TaskBulkResultDto result = taskService.softDeleteTasks(ids, status);
+        return ResponseEntity.ok(result);
+    }
+
+    private static PreconditionFailedException changedSincePreconditions(Long id) {
+        return new PreconditionFailedException("Task " + id + " changed since the If-Match ETag or If-Unmodified-Since date");
+    }
+
+    private static boolean hasPreconditions(HttpHeaders headers) {
+        return headers.containsKey(HttpHeaders.IF_MATCH) || headers.containsKey(HttpHeaders.IF_UNMODIFIED_SINCE);
+    }
+
+    /**
+     * Version the task must still have for a write, from the If-Match or If-Unmodified-Since headers and the request body.
+     * The write compares it atomically, so a change committed after this check still fails the request.
+     * Only an If-Unmodified-Since date, or an If-Match listing several versions, needs the current task.
+     * @exception PreconditionFailedException: the headers cannot match the task or the body version
+     */
+    @Nullable
+    private Long expectedVersion(Long id, HttpHeaders headers, @Nullable Long bodyVersion) {
+        if (!hasPreconditions(headers)) {
+            return bodyVersion;
+        }
+        Long version;
+        List<String> ifMatch;
+        try {
+            ifMatch = headers.getIfMatch();
+        } catch (IllegalArgumentException e) {
+            throw new PreconditionFailedException("Malformed If-Match header");
+        }
+        if (ifMatch.contains("*")) {
+            // any current task matches, the write answers 404 otherwise
+            version = null;
+        } else if (!ifMatch.isEmpty()) {
+            Set<Long> versions = new HashSet<>();
+            for (String eTag : ifMatch) {
+                Long eTagVersion = TaskETags.version(eTag, id);
+                if (eTagVersion != null) {
+                    versions.add(eTagVersion);
+                }
+            }
+            if (versions.size() > 1) {
+                Long current = taskService.getTaskById(id).getVersion();
+                versions.retainAll(Collections.singleton(current));
+            }
+            if (versions.isEmpty()) {
+                throw new PreconditionFailedException("Task " + id + " does not match the If-Match ETag");
+            }
+            version = versions.iterator().next();
+        } else if (headers.getIfUnmodifiedSince() >= 0) {
+            TaskResponseDto current = taskService.getTaskById(id);
+            // HTTP dates have a precision of one second
+            if (TaskETags.lastModified(current.getUpdatedAt()) / 1000 > headers.getIfUnmodifiedSince() / 1000) {
+                throw new PreconditionFailedException("Task " + id + " changed since the If-Unmodified-Since date");
+            }
+            version = current.getVersion();
+        } else {
+            // an invalid date is ignored
+            version = null;
+        }
+        if (version == null) {
+            return bodyVersion;
+        }
+        if (bodyVersion != null && !bodyVersion.equals(version)) {
+            throw new PreconditionFailedException("Task version " + bodyVersion + " does not match the If-Match ETag");
+        }
+        return version;
+    }
+
+    // replaces the validators checkNotModified wrote for the current stamp, the response entity would add to them
+    private static void setValidators(HttpServletResponse response, TaskStamp stamp) {
+        response.setHeader(HttpHeaders.ETAG, TaskETags.of(stamp));
+        if (stamp.getLastModified() != null) {
+            response.setDateHeader(HttpHeaders.LAST_MODIFIED, TaskETags.lastModified(stamp.getLastModified()));
+        }
+    }
+
+    private ResponseEntity<TaskResponseDto> withValidators(TaskResponseDto dto) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok().eTag(TaskETags.of(dto));
+        if (dto.getUpdatedAt() != null) {
+            response.lastModified(TaskETags.lastModified(dto.getUpdatedAt()));
+        }
+        return response.body(dto);
+    }
 }
@@ -0,0 +1,24 @@
+package org.montadhahri.taskmanager.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Keyset paginated result, the next page is fetched with {@code nextCursor}.
+ * @author mdh
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPageDto<T> {
+
+    @Schema(description = "The page content")
+    private List<T> items;
+
+    @Schema(description = "Cursor of the next page, null when there are no more elements")
+    private String nextCursor;
+}
@@ -1,5 +1,6 @@
 package org.montadhahri.taskmanager.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -15,6 +16,11 @@ public class PageDto<T> {
     @Schema(description = "The page content")
     private List<T> items;
 
-    @Schema(description = "Total amount of elements")
-    private long count;
-}
\ No newline at end of file
+    @Schema(description = "Total amount of elements, absent when count=none")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Long count;
+
+    @Schema(description = "Whether a next page exists, only present when count=none or count=estimate")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Boolean hasNext;
+}
@@ -0,0 +1,26 @@
+package org.montadhahri.taskmanager.dto.request;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.montadhahri.taskmanager.enumeration.TaskStatus;
+
+import java.util.List;
+
+/**
+ * Dto for changing the status of many tasks, selected by IDs and/or current status.
+ * @author mdh
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskBulkStatusUpdateDto {
+
+    private List<Long> ids;
+
+    private TaskStatus currentStatus;
+
+    @NotNull(message = "Status must not be null")
+    private TaskStatus status;
+}
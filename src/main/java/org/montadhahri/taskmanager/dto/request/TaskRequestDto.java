@@ -20,4 +20,12 @@ public class TaskRequestDto {
     private String title;
 
     private String description;
+
+    /** optional on updates, the change only applies if the task still has this version */
+    private Long version;
+
+    public TaskRequestDto(String title, String description) {
+        this.title = title;
+        this.description = description;
+    }
 }
@@ -17,4 +17,14 @@ public class TaskStatusUpdateDto {
 
     @NotNull(message = "Status must not be null")
     private TaskStatus status;
+
+    /** optional, the change only applies if the task still has this version */
+    private Long version;
+
+    /** optional, the change only applies if the task still has this status, e.g. TODO for TODO -> IN_PROGRESS */
+    private TaskStatus currentStatus;
+
+    public TaskStatusUpdateDto(TaskStatus status) {
+        this.status = status;
+    }
 }
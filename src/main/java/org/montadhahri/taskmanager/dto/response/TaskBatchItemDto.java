@@ -0,0 +1,26 @@
+package org.montadhahri.taskmanager.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.montadhahri.taskmanager.enumeration.BatchItemStatus;
+
+/**
+ * Dto for returning the outcome of one item of a batch creation
+ * @author mdh
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TaskBatchItemDto {
+
+    private int index;
+
+    private BatchItemStatus status;
+
+    private TaskResponseDto task;
+
+    private String message;
+}
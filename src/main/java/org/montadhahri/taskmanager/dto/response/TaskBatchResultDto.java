@@ -0,0 +1,23 @@
+package org.montadhahri.taskmanager.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Dto for returning the outcome of a batch creation, items keep the request order
+ * @author mdh
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskBatchResultDto {
+
+    private int created;
+
+    private int failed;
+
+    private List<TaskBatchItemDto> items;
+}
@@ -0,0 +1,17 @@
+package org.montadhahri.taskmanager.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Dto for returning the outcome of a bulk operation
+ * @author mdh
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskBulkResultDto {
+
+    private int affected;
+}
@@ -0,0 +1,26 @@
+package org.montadhahri.taskmanager.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Dto for returning one change of a delta sync: the task to upsert, or a tombstone when it was deleted
+ * @author mdh
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskChangeDto {
+
+    private Long id;
+
+    private LocalDateTime updatedAt;
+
+    private boolean deleted;
+
+    /** task state, null for a tombstone */
+    private TaskResponseDto task;
+}
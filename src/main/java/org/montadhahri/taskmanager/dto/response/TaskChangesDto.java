@@ -0,0 +1,27 @@
+package org.montadhahri.taskmanager.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Dto for returning a page of task changes, the next sync resumes from {@code cursor}.
+ * @author mdh
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskChangesDto {
+
+    @Schema(description = "Changes ordered by update date then ID")
+    private List<TaskChangeDto> changes;
+
+    @Schema(description = "Cursor to pass on the next sync, null when nothing changed yet")
+    private String cursor;
+
+    @Schema(description = "Whether more changes can be fetched right away with the cursor")
+    private boolean hasMore;
+}
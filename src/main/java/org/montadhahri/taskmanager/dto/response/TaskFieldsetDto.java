@@ -0,0 +1,25 @@
+package org.montadhahri.taskmanager.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+/**
+ * Dto for returning a sparse fieldset of task details
+ * Fields left out of the fieldset are null and not serialized, unlike in a full {@link TaskResponseDto}.
+ * @author mdh
+ */
+@EqualsAndHashCode(callSuper = true)
+@ToString(callSuper = true)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TaskFieldsetDto extends TaskResponseDto {
+
+    public TaskFieldsetDto(TaskResponseDto task) {
+        setId(task.getId());
+        setTitle(task.getTitle());
+        setDescription(task.getDescription());
+        setStatus(task.getStatus());
+        setUpdatedAt(task.getUpdatedAt());
+        setVersion(task.getVersion());
+    }
+}
@@ -3,6 +3,8 @@ package org.montadhahri.taskmanager.dto.response;
 import lombok.Data;
 import org.montadhahri.taskmanager.enumeration.TaskStatus;
 
+import java.time.LocalDateTime;
+
 /**
  * Dto for returning task details
  * @author mdh
@@ -17,4 +19,9 @@ public class TaskResponseDto {
     private String description;
 
     private TaskStatus status;
+
+    private LocalDateTime updatedAt;
+
+    /** incremented by every change, send it back to update the task only if nobody changed it meanwhile */
+    private Long version;
 }
@@ -0,0 +1,29 @@
+package org.montadhahri.taskmanager.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.montadhahri.taskmanager.enumeration.TaskStatus;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+/**
+ * Dto for returning the board summary: active tasks per status and daily activity
+ * @author mdh
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskStatsDto {
+
+    private Map<TaskStatus, Long> counts;
+
+    private long total;
+
+    /** tasks created per day, oldest day first, days without activity included */
+    private Map<LocalDate, Long> createdPerDay;
+
+    /** tasks moved to DONE per day, oldest day first, days without activity included */
+    private Map<LocalDate, Long> completedPerDay;
+}
@@ -2,6 +2,8 @@ package org.montadhahri.taskmanager.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.montadhahri.taskmanager.enumeration.TaskStatus;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
@@ -12,6 +14,8 @@ import java.time.LocalDateTime;
 @Entity
 @Table(name = "tasks")
 @EntityListeners(AuditingEntityListener.class)
+@Cacheable  // second-level cache, only used with the l2cache profile
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Task.CACHE_REGION)
 @Getter
 @Setter
 @NoArgsConstructor
@@ -19,12 +23,16 @@ import java.time.LocalDateTime;
 @Builder
 public class Task {
 
+    /** second-level cache region, sized in hibernate-jcache.conf */
+    public static final String CACHE_REGION = "task";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "tasks_seq")
+    @SequenceGenerator(name = "tasks_seq", sequenceName = "tasks_seq", allocationSize = 50)
     private Long id;
 
-    @Column(nullable = false, unique = true, length = 100)
-    private String title;
+    @Column(nullable = false, length = 100)
+    private String title;  // unique among enabled tasks, enforced by uk_tasks_enabled_title
 
     @Column(columnDefinition = "TEXT")
     private String description;
@@ -43,4 +51,10 @@ public class Task {
     @LastModifiedDate
     @Column(nullable = false)
     private LocalDateTime updatedAt;
+
+    private LocalDateTime completedAt;  // set while the task is DONE
+
+    @Version
+    @Column(nullable = false)
+    private Long version;
 }
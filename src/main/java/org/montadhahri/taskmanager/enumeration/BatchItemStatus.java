@@ -0,0 +1,6 @@
+package org.montadhahri.taskmanager.enumeration;
+
+public enum BatchItemStatus {
+    CREATED,
+    DUPLICATE
+}
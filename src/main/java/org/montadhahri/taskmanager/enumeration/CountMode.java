@@ -0,0 +1,13 @@
+package org.montadhahri.taskmanager.enumeration;
+
+/**
+ * How the total amount of elements of a page is computed.
+ */
+public enum CountMode {
+    /** count query with the same filter as the page */
+    EXACT,
+    /** in-memory per status counters, no count query */
+    ESTIMATE,
+    /** no total at all, only whether a next page exists */
+    NONE
+}
@@ -0,0 +1,29 @@
+package org.montadhahri.taskmanager.enumeration;
+
+/**
+ * Output format of the task export.
+ */
+public enum ExportFormat {
+    /** one JSON task per line */
+    NDJSON("application/x-ndjson", "ndjson"),
+    /** RFC 4180 CSV with a header line */
+    CSV("text/csv", "csv"),
+    /** RFC 8742 CBOR sequence: one CBOR task after the other, no separator */
+    CBOR("application/cbor-seq", "cbor");
+
+    private final String mediaType;
+    private final String fileExtension;
+
+    ExportFormat(String mediaType, String fileExtension) {
+        this.mediaType = mediaType;
+        this.fileExtension = fileExtension;
+    }
+
+    public String getMediaType() {
+        return mediaType;
+    }
+
+    public String getFileExtension() {
+        return fileExtension;
+    }
+}
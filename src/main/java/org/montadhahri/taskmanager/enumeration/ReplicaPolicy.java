@@ -0,0 +1,11 @@
+package org.montadhahri.taskmanager.enumeration;
+
+/**
+ * How a replica is picked for a read-only transaction.
+ */
+public enum ReplicaPolicy {
+    /** each replica in turn */
+    ROUND_ROBIN,
+    /** the replica with the fewest connections handed out by this instance */
+    LEAST_CONNECTIONS
+}
@@ -0,0 +1,8 @@
+package org.montadhahri.taskmanager.enumeration;
+
+public enum TaskEventType {
+    CREATED,
+    UPDATED,
+    STATUS_CHANGED,
+    DELETED
+}
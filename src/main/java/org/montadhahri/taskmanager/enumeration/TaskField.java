@@ -0,0 +1,54 @@
+package org.montadhahri.taskmanager.enumeration;
+
+import org.montadhahri.taskmanager.dto.response.TaskResponseDto;
+
+import java.util.Locale;
+import java.util.function.Consumer;
+
+/**
+ * Task response fields that can be requested with a sparse fieldset, e.g. fields=id,title,status.
+ */
+public enum TaskField {
+    /** always returned, whether requested or not */
+    ID("id", dto -> { }),
+    TITLE("title", dto -> dto.setTitle(null)),
+    /** the only unbounded column, list views without it never select it */
+    DESCRIPTION("description", dto -> dto.setDescription(null)),
+    STATUS("status", dto -> dto.setStatus(null)),
+    UPDATED_AT("updatedAt", dto -> dto.setUpdatedAt(null)),
+    VERSION("version", dto -> dto.setVersion(null));
+
+    private final String propertyName;
+    private final Consumer<TaskResponseDto> clear;
+
+    TaskField(String propertyName, Consumer<TaskResponseDto> clear) {
+        this.propertyName = propertyName;
+        this.clear = clear;
+    }
+
+    public String getPropertyName() {
+        return propertyName;
+    }
+
+    /**
+     * Nulls the field in a fieldset DTO, so that it is not serialized.
+     */
+    public void clear(TaskResponseDto dto) {
+        clear.accept(dto);
+    }
+
+    /**
+     * Finds a field by its JSON property name, ignoring case.
+     * @throws IllegalArgumentException if no field has this name
+     */
+    public static TaskField fromPropertyName(String name) {
+        String trimmed = name.trim();
+        for (TaskField field : values()) {
+            if (field.propertyName.equalsIgnoreCase(trimmed)
+                    || field.name().equals(trimmed.toUpperCase(Locale.ROOT))) {
+                return field;
+            }
+        }
+        throw new IllegalArgumentException("Unknown task field: " + name);
+    }
+}
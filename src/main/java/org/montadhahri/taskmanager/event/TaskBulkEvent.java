@@ -0,0 +1,14 @@
+package org.montadhahri.taskmanager.event;
+
+import org.montadhahri.taskmanager.enumeration.TaskEventType;
+
+/**
+ * Bulk task mutation published by the service layer, once for all the tasks it changed: they are not read,
+ * so listeners refresh wholesale instead of task by task.
+ * Listeners should use {@code @TransactionalEventListener} so they only observe committed changes.
+ * @param type mutation type, {@link TaskEventType#STATUS_CHANGED} or {@link TaskEventType#DELETED}
+ * @param affected amount of changed tasks, at least one
+ * @author mdh
+ */
+public record TaskBulkEvent(TaskEventType type, int affected) {
+}
@@ -0,0 +1,23 @@
+package org.montadhahri.taskmanager.event;
+
+import jakarta.annotation.Nullable;
+import org.montadhahri.taskmanager.dto.response.TaskResponseDto;
+import org.montadhahri.taskmanager.enumeration.TaskEventType;
+import org.montadhahri.taskmanager.enumeration.TaskStatus;
+
+/**
+ * Task mutation published by the service layer.
+ * Listeners should use {@code @TransactionalEventListener} so they only observe committed changes.
+ * @param type mutation type
+ * @param taskId task ID
+ * @param previousStatus status before the mutation, null for a created task
+ * @param status status after the mutation, null for a deleted task
+ * @param task task state after the mutation, null when not loaded
+ * @author mdh
+ */
+public record TaskEvent(TaskEventType type,
+                        Long taskId,
+                        @Nullable TaskStatus previousStatus,
+                        @Nullable TaskStatus status,
+                        @Nullable TaskResponseDto task) {
+}
@@ -0,0 +1,7 @@
+package org.montadhahri.taskmanager.exception;
+
+public class ConflictException extends RuntimeException {
+    public ConflictException(String message) {
+        super(message);
+    }
+}
@@ -1,7 +1,27 @@
 package org.montadhahri.taskmanager.exception;
 
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.util.Locale;
+
 public class DuplicateResourceException extends RuntimeException {
+
+    /** unique index on the titles of enabled tasks, see the V1.0.9 migration */
+    private static final String TITLE_CONSTRAINT = "uk_tasks_enabled_title";
+
     public DuplicateResourceException(String message) {
         super(message);
     }
-}
\ No newline at end of file
+
+    /**
+     * Tells whether a database error comes from the unique index on enabled task titles.
+     * @param ex database error
+     * @return true for a duplicate title
+     */
+    public static boolean isDuplicateTitle(DataIntegrityViolationException ex) {
+        return ex.getCause() instanceof ConstraintViolationException violation
+                && violation.getConstraintName() != null
+                && violation.getConstraintName().toLowerCase(Locale.ROOT).endsWith(TITLE_CONSTRAINT);
+    }
+}
@@ -1,11 +1,14 @@
 package org.montadhahri.taskmanager.exception;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.ConstraintViolationException;
+import lombok.RequiredArgsConstructor;
 import org.montadhahri.taskmanager.dto.ApiErrorDto;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.web.HttpRequestMethodNotSupportedException;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
@@ -14,6 +17,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 import org.springframework.web.bind.annotation.*;
 
 import java.time.LocalDateTime;
@@ -25,9 +29,19 @@ import java.util.stream.Collectors;
  * @author mdh
  */
 @RestControllerAdvice
+@RequiredArgsConstructor
 public class GlobalExceptionHandler {
     private static final Logger log = LoggerFactory.getLogger(GlobalExceptionHandler.class);
 
+    /** handled exceptions, tagged by handler and exception type */
+    public static final String ERRORS_METRIC = "task.api.errors";
+
+    private final MeterRegistry meterRegistry;
+
+    private void count(String handler, Exception ex) {
+        meterRegistry.counter(ERRORS_METRIC, "handler", handler, "exception", ex.getClass().getSimpleName()).increment();
+    }
+
     private ApiErrorDto createApiError(HttpServletRequest request, HttpStatus status, String message, Map<String, String> fieldErrors) {
         return new ApiErrorDto(
                 LocalDateTime.now(),
@@ -45,6 +59,7 @@ public class GlobalExceptionHandler {
      */
     @ExceptionHandler(ResourceNotFoundException.class)
     public ResponseEntity<ApiErrorDto> handleNotFound(ResourceNotFoundException ex, HttpServletRequest request) {
+        count("handleNotFound", ex);
         log.info("Resource not found at [{}]: {}", request.getRequestURI(), ex.getMessage());
         ApiErrorDto error = createApiError(request, HttpStatus.NOT_FOUND, ex.getMessage(), null);
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(error);
@@ -56,16 +71,52 @@ public class GlobalExceptionHandler {
      */
     @ExceptionHandler(DuplicateResourceException.class)
     public ResponseEntity<ApiErrorDto> handleDuplicate(DuplicateResourceException ex, HttpServletRequest request) {
+        count("handleDuplicate", ex);
+        ApiErrorDto error = createApiError(request, HttpStatus.CONFLICT, ex.getMessage(), null);
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(error);
+    }
+
+    /**
+     * Handles ConflictException, a change based on an outdated version or status of the task.
+     * Returns 409 Conflict
+     */
+    @ExceptionHandler(ConflictException.class)
+    public ResponseEntity<ApiErrorDto> handleConflict(ConflictException ex, HttpServletRequest request) {
+        count("handleConflict", ex);
         ApiErrorDto error = createApiError(request, HttpStatus.CONFLICT, ex.getMessage(), null);
         return ResponseEntity.status(HttpStatus.CONFLICT).body(error);
     }
 
+    /**
+     * Handles PreconditionFailedException, a conditional request on a task that changed since its ETag or date.
+     * Returns 412 Precondition Failed
+     */
+    @ExceptionHandler(PreconditionFailedException.class)
+    public ResponseEntity<ApiErrorDto> handlePreconditionFailed(PreconditionFailedException ex, HttpServletRequest request) {
+        count("handlePreconditionFailed", ex);
+        ApiErrorDto error = createApiError(request, HttpStatus.PRECONDITION_FAILED, ex.getMessage(), null);
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(error);
+    }
+
+    /**
+     * Handles optimistic locking failures: the task was changed by another transaction while being updated.
+     * Returns 409 Conflict
+     */
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ApiErrorDto> handleOptimisticLocking(OptimisticLockingFailureException ex, HttpServletRequest request) {
+        count("handleOptimisticLocking", ex);
+        log.info("Concurrent modification at [{}]: {}", request.getRequestURI(), ex.getMessage());
+        ApiErrorDto error = createApiError(request, HttpStatus.CONFLICT, "Conflict: the task was modified concurrently, reload it and retry.", null);
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(error);
+    }
+
     /**
      * Handles BadRequestException.
      * Returns 400 Conflict
      */
     @ExceptionHandler(BadRequestException.class)
     public ResponseEntity<ApiErrorDto> handleBadRequest(BadRequestException ex, HttpServletRequest request) {
+        count("handleBadRequest", ex);
         ApiErrorDto error = createApiError(request, HttpStatus.BAD_REQUEST, ex.getMessage(), null);
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
     }
@@ -76,6 +127,7 @@ public class GlobalExceptionHandler {
      */
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ApiErrorDto> handleValidation(MethodArgumentNotValidException ex, HttpServletRequest request) {
+        count("handleValidation", ex);
         Map<String, String> errors = ex.getBindingResult()
                 .getFieldErrors()
                 .stream()
@@ -95,6 +147,7 @@ public class GlobalExceptionHandler {
      */
     @ExceptionHandler(ConstraintViolationException.class)
     public ResponseEntity<ApiErrorDto> handleConstraintViolation(ConstraintViolationException ex, HttpServletRequest request) {
+        count("handleConstraintViolation", ex);
         Map<String, String> errors = ex.getConstraintViolations()
                 .stream()
                 .collect(Collectors.toMap(
@@ -106,12 +159,25 @@ public class GlobalExceptionHandler {
         return ResponseEntity.badRequest().body(error);
     }
 
+    /**
+     * Handles request parameters that cannot be converted, e.g. an unknown enum value.
+     * Returns 400 Bad Request
+     */
+    @ExceptionHandler(MethodArgumentTypeMismatchException.class)
+    public ResponseEntity<ApiErrorDto> handleTypeMismatch(MethodArgumentTypeMismatchException ex, HttpServletRequest request) {
+        count("handleTypeMismatch", ex);
+        String message = String.format("Invalid value '%s' for parameter %s", ex.getValue(), ex.getName());
+        ApiErrorDto error = createApiError(request, HttpStatus.BAD_REQUEST, message, null);
+        return ResponseEntity.badRequest().body(error);
+    }
+
     /**
      * Handles malformed JSON in request bodies.
      * Returns 400 Bad Request
      */
     @ExceptionHandler(HttpMessageNotReadableException.class)
     public ResponseEntity<ApiErrorDto> handleMalformedJson(HttpMessageNotReadableException ex, HttpServletRequest request) {
+        count("handleMalformedJson", ex);
         ApiErrorDto error = createApiError(request, HttpStatus.BAD_REQUEST, "Malformed JSON request body", null);
         return ResponseEntity.badRequest().body(error);
     }
@@ -122,6 +188,7 @@ public class GlobalExceptionHandler {
      */
     @ExceptionHandler(HttpRequestMethodNotSupportedException.class)
     public ResponseEntity<ApiErrorDto> handleMethodNotSupported(HttpRequestMethodNotSupportedException ex, HttpServletRequest request) {
+        count("handleMethodNotSupported", ex);
         String message = String.format("HTTP method %s not supported for this endpoint", ex.getMethod());
         ApiErrorDto error = createApiError(request, HttpStatus.METHOD_NOT_ALLOWED, message, null);
         return ResponseEntity.status(HttpStatus.METHOD_NOT_ALLOWED).body(error);
@@ -133,6 +200,11 @@ public class GlobalExceptionHandler {
      */
     @ExceptionHandler(DataIntegrityViolationException.class)
     public ResponseEntity<ApiErrorDto> handleDataIntegrityViolation(DataIntegrityViolationException ex, HttpServletRequest request) {
+        if (DuplicateResourceException.isDuplicateTitle(ex)) {
+            // e.g. a title taken by a concurrent batch, answered like the duplicates detected by the service
+            return handleDuplicate(new DuplicateResourceException("Task title already exists"), request);
+        }
+        count("handleDataIntegrityViolation", ex);
         // Log detailed internal error message server-side, not sent to client
         ApiErrorDto error = createApiError(request, HttpStatus.CONFLICT, "Conflict: Duplicate or invalid data.", null);
         return ResponseEntity.status(HttpStatus.CONFLICT).body(error);
@@ -144,6 +216,7 @@ public class GlobalExceptionHandler {
      */
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ApiErrorDto> handleAll(Exception ex, HttpServletRequest request) {
+        count("handleAll", ex);
         log.error("Unexpected error occurred at [{}]: {}", request.getRequestURI(), ex.getMessage(), ex);
         ApiErrorDto error = createApiError(request, HttpStatus.INTERNAL_SERVER_ERROR, "An unexpected error occurred. Please try again later.", null);
         return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(error);
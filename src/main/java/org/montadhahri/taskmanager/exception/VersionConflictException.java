@@ -0,0 +1,7 @@
+package org.montadhahri.taskmanager.exception;
+
+public class VersionConflictException extends ConflictException {
+    public VersionConflictException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,35 @@
+package org.montadhahri.taskmanager.mapper;
+
+import org.montadhahri.taskmanager.dto.request.TaskRequestDto;
+import org.montadhahri.taskmanager.dto.response.TaskResponseDto;
+import org.montadhahri.taskmanager.entity.Task;
+import org.montadhahri.taskmanager.repository.TaskSummaryView;
+
+/**
+ * Maps tasks between entities and DTOs.
+ * Null source properties are skipped and leave the target property untouched.
+ * @author mdh
+ */
+public interface TaskMapper {
+
+    /**
+     * Creates a new task entity from a request DTO.
+     * @param dto task request DTO
+     * @return new, not persisted, task entity
+     */
+    Task toEntity(TaskRequestDto dto);
+
+    /**
+     * Creates a response DTO from a task entity.
+     * @param task task entity
+     * @return task response DTO
+     */
+    TaskResponseDto toResponseDto(Task task);
+
+    /**
+     * Creates a response DTO without description from a task summary projection.
+     * @param task task summary projection
+     * @return task response DTO
+     */
+    TaskResponseDto toResponseDto(TaskSummaryView task);
+}
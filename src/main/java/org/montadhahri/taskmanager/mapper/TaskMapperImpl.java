@@ -0,0 +1,72 @@
+package org.montadhahri.taskmanager.mapper;
+
+import org.montadhahri.taskmanager.dto.request.TaskRequestDto;
+import org.montadhahri.taskmanager.dto.response.TaskResponseDto;
+import org.montadhahri.taskmanager.entity.Task;
+import org.montadhahri.taskmanager.repository.TaskSummaryView;
+import org.springframework.stereotype.Component;
+
+/**
+ * Plain accessor based {@link TaskMapper}, no reflection involved.
+ * @author mdh
+ */
+@Component
+public class TaskMapperImpl implements TaskMapper {
+
+    @Override
+    public Task toEntity(TaskRequestDto dto) {
+        Task task = new Task();
+        if (dto.getTitle() != null) {
+            task.setTitle(dto.getTitle());
+        }
+        if (dto.getDescription() != null) {
+            task.setDescription(dto.getDescription());
+        }
+        return task;
+    }
+
+    @Override
+    public TaskResponseDto toResponseDto(Task task) {
+        TaskResponseDto dto = new TaskResponseDto();
+        if (task.getId() != null) {
+            dto.setId(task.getId());
+        }
+        if (task.getTitle() != null) {
+            dto.setTitle(task.getTitle());
+        }
+        if (task.getDescription() != null) {
+            dto.setDescription(task.getDescription());
+        }
+        if (task.getStatus() != null) {
+            dto.setStatus(task.getStatus());
+        }
+        if (task.getUpdatedAt() != null) {
+            dto.setUpdatedAt(task.getUpdatedAt());
+        }
+        if (task.getVersion() != null) {
+            dto.setVersion(task.getVersion());
+        }
+        return dto;
+    }
+
+    @Override
+    public TaskResponseDto toResponseDto(TaskSummaryView task) {
+        TaskResponseDto dto = new TaskResponseDto();
+        if (task.id() != null) {
+            dto.setId(task.id());
+        }
+        if (task.title() != null) {
+            dto.setTitle(task.title());
+        }
+        if (task.status() != null) {
+            dto.setStatus(task.status());
+        }
+        if (task.updatedAt() != null) {
+            dto.setUpdatedAt(task.updatedAt());
+        }
+        if (task.version() != null) {
+            dto.setVersion(task.version());
+        }
+        return dto;
+    }
+}
@@ -0,0 +1,14 @@
+package org.montadhahri.taskmanager.repository;
+
+import java.time.LocalDate;
+
+/**
+ * Projection of an amount of tasks on a day.
+ * @author mdh
+ */
+public interface TaskDayCount {
+
+    LocalDate getDay();
+
+    long getTotal();
+}
@@ -4,19 +4,211 @@ import org.montadhahri.taskmanager.enumeration.TaskStatus;
 import org.montadhahri.taskmanager.entity.Task;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface TaskRepository extends JpaRepository<Task, Long> {
 
+    /*
+     * Cacheable queries are kept in the query cache (and their tasks in the second-level cache) with the
+     * l2cache profile, until any write to the tasks table; the hint is ignored otherwise.
+     */
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Page<Task> findByIsEnabledTrue(Pageable pageable);
 
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Page<Task> findByStatusAndIsEnabledTrue(TaskStatus status, Pageable pageable);
 
+    /*
+     * Slice variants fetch one extra row instead of running a count query.
+     */
+
+    Slice<Task> findSliceByIsEnabledTrue(Pageable pageable);
+
+    Slice<Task> findSliceByStatusAndIsEnabledTrue(TaskStatus status, Pageable pageable);
+
+    /*
+     * Summary variants for sparse fieldsets without description: the description column is
+     * neither selected nor hydrated, and no entity enters the persistence context.
+     */
+
+    Page<TaskSummaryView> findSummaryByIsEnabledTrue(Pageable pageable);
+
+    Page<TaskSummaryView> findSummaryByStatusAndIsEnabledTrue(TaskStatus status, Pageable pageable);
+
+    Slice<TaskSummaryView> findSummarySliceByIsEnabledTrue(Pageable pageable);
+
+    Slice<TaskSummaryView> findSummarySliceByStatusAndIsEnabledTrue(TaskStatus status, Pageable pageable);
+
+    long countByStatusAndIsEnabledTrue(TaskStatus status);
+
+    /*
+     * Per day histograms, soft deleted tasks included: deleting a task does not undo its creation or completion.
+     */
+
+    @Query("SELECT CAST(t.createdAt AS LocalDate) AS day, COUNT(t) AS total FROM Task t " +
+            "WHERE t.createdAt >= :since GROUP BY CAST(t.createdAt AS LocalDate)")
+    List<TaskDayCount> countCreatedPerDaySince(@Param("since") LocalDateTime since);
+
+    @Query("SELECT CAST(t.completedAt AS LocalDate) AS day, COUNT(t) AS total FROM Task t " +
+            "WHERE t.completedAt >= :since GROUP BY CAST(t.completedAt AS LocalDate)")
+    List<TaskDayCount> countCompletedPerDaySince(@Param("since") LocalDateTime since);
+
+    /*
+     * Forward-only streams for the export: the rows are fetched by batches of the fetch size
+     * and loaded read-only, so Hibernate keeps no snapshot of them. Must be consumed in a transaction.
+     */
+
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")})
+    Stream<Task> streamByIsEnabledTrueOrderByIdAsc();
+
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")})
+    Stream<Task> streamByStatusAndIsEnabledTrueOrderByIdAsc(TaskStatus status);
+
+    // source of the search index, projections are not managed so nothing piles up in the persistence context
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT t.id AS id, t.title AS title, t.description AS description FROM Task t WHERE t.isEnabled = true")
+    Stream<TaskTextView> streamTextByIsEnabledTrue();
+
+    // disabled rows are included on purpose: a soft delete changes the enabled pages
+    @Query("SELECT MAX(t.updatedAt) AS lastModified, COUNT(t) AS total, COALESCE(SUM(t.version), 0) AS versionSum " +
+            "FROM Task t")
+    TaskStamp findStamp();
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<Task> findByIdAndIsEnabledTrue(Long id);
 
     Optional<Task> findByTitleAndIsEnabledTrue(String title);
+
+    @Query("SELECT t.title FROM Task t WHERE t.isEnabled = true AND t.title IN :titles")
+    List<String> findEnabledTitlesIn(@Param("titles") Collection<String> titles);
+
+    /*
+     * Keyset pagination over (createdAt, id): only the page size is used from the pageable,
+     * so no OFFSET scan and no count query are issued. The redundant createdAt >= bound gives
+     * the database a range on idx_tasks_*_created instead of a filter on every enabled row.
+     */
+
+    List<Task> findByIsEnabledTrueOrderByCreatedAtAscIdAsc(Pageable pageable);
+
+    List<Task> findByStatusAndIsEnabledTrueOrderByCreatedAtAscIdAsc(TaskStatus status, Pageable pageable);
+
+    @Query("SELECT t FROM Task t WHERE t.isEnabled = true " +
+            "AND t.createdAt >= :createdAt AND (t.createdAt > :createdAt OR t.id > :id) " +
+            "ORDER BY t.createdAt ASC, t.id ASC")
+    List<Task> findEnabledAfter(@Param("createdAt") LocalDateTime createdAt,
+                                @Param("id") Long id,
+                                Pageable pageable);
+
+    @Query("SELECT t FROM Task t WHERE t.isEnabled = true AND t.status = :status " +
+            "AND t.createdAt >= :createdAt AND (t.createdAt > :createdAt OR t.id > :id) " +
+            "ORDER BY t.createdAt ASC, t.id ASC")
+    List<Task> findEnabledByStatusAfter(@Param("status") TaskStatus status,
+                                        @Param("createdAt") LocalDateTime createdAt,
+                                        @Param("id") Long id,
+                                        Pageable pageable);
+
+    /*
+     * Delta sync over (updatedAt, id). Disabled rows are included so that clients learn about deletions,
+     * and idx_tasks_updated_at_id turns a sync into a range scan over what changed since the cursor.
+     * Rows updated at or after :until are left for a later sync, they may not all be committed yet.
+     */
+
+    List<Task> findByUpdatedAtBeforeOrderByUpdatedAtAscIdAsc(LocalDateTime until, Pageable pageable);
+
+    @Query("SELECT t FROM Task t " +
+            "WHERE t.updatedAt >= :updatedAt AND (t.updatedAt > :updatedAt OR t.id > :id) AND t.updatedAt < :until " +
+            "ORDER BY t.updatedAt ASC, t.id ASC")
+    List<Task> findChangedAfter(@Param("updatedAt") LocalDateTime updatedAt,
+                                @Param("id") Long id,
+                                @Param("until") LocalDateTime until,
+                                Pageable pageable);
+
+    /*
+     * Compare-and-set status change: applies only if the task still has the version that was read,
+     * which also guarantees it still has the status that was read. 0 means another write came first.
+     */
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Task t SET t.status = :status, t.completedAt = :completedAt, t.updatedAt = :updatedAt, " +
+            "t.version = t.version + 1 WHERE t.id = :id AND t.version = :version AND t.isEnabled = true")
+    int updateStatusByIdAndVersion(@Param("id") Long id,
+                                   @Param("version") Long version,
+                                   @Param("status") TaskStatus status,
+                                   @Param("completedAt") LocalDateTime completedAt,
+                                   @Param("updatedAt") LocalDateTime updatedAt);
+
+    /*
+     * Bulk operations: a single UPDATE, or one per chunk of IDs, whose WHERE clause holds the whole filter, so the
+     * changed tasks are never read nor held in memory and a task changed meanwhile is simply not matched.
+     * Bulk updates bypass auditing and optimistic locking, so updatedAt is passed explicitly and the version
+     * is incremented by the statement. A null current status matches every status.
+     */
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Task t SET t.status = :status, t.updatedAt = :updatedAt, t.completedAt = :completedAt, " +
+            "t.version = t.version + 1 WHERE t.isEnabled = true AND t.status = :currentStatus AND t.status <> :status")
+    int updateEnabledStatusByStatus(@Param("currentStatus") TaskStatus currentStatus,
+                                    @Param("status") TaskStatus status,
+                                    @Param("updatedAt") LocalDateTime updatedAt,
+                                    @Param("completedAt") LocalDateTime completedAt);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Task t SET t.status = :status, t.updatedAt = :updatedAt, t.completedAt = :completedAt, " +
+            "t.version = t.version + 1 WHERE t.isEnabled = true AND t.id IN :ids " +
+            "AND (:currentStatus IS NULL OR t.status = :currentStatus) AND t.status <> :status")
+    int updateEnabledStatusByIdIn(@Param("ids") Collection<Long> ids,
+                                  @Param("currentStatus") TaskStatus currentStatus,
+                                  @Param("status") TaskStatus status,
+                                  @Param("updatedAt") LocalDateTime updatedAt,
+                                  @Param("completedAt") LocalDateTime completedAt);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Task t SET t.isEnabled = false, t.updatedAt = :updatedAt, t.version = t.version + 1 " +
+            "WHERE t.isEnabled = true AND t.status = :status")
+    int softDeleteEnabledByStatus(@Param("status") TaskStatus status,
+                                  @Param("updatedAt") LocalDateTime updatedAt);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Task t SET t.isEnabled = false, t.updatedAt = :updatedAt, t.version = t.version + 1 " +
+            "WHERE t.isEnabled = true AND t.id IN :ids AND (:status IS NULL OR t.status = :status)")
+    int softDeleteEnabledByIdIn(@Param("ids") Collection<Long> ids,
+                                @Param("status") TaskStatus status,
+                                @Param("updatedAt") LocalDateTime updatedAt);
+
+    /*
+     * Status changes of given tasks that answer every task: the rows are locked and read first,
+     * then changed with a single UPDATE per new status.
+     */
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT t FROM Task t WHERE t.isEnabled = true AND t.id IN :ids")
+    List<Task> lockEnabledTasksByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Task t SET t.status = :status, t.updatedAt = :updatedAt, t.completedAt = :completedAt, " +
+            "t.version = t.version + 1 WHERE t.id IN :ids")
+    int updateStatusByIdIn(@Param("ids") Collection<Long> ids,
+                           @Param("status") TaskStatus status,
+                           @Param("updatedAt") LocalDateTime updatedAt,
+                           @Param("completedAt") LocalDateTime completedAt);
 }
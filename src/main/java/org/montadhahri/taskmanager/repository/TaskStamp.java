@@ -0,0 +1,18 @@
+package org.montadhahri.taskmanager.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Projection of the last modification date, the row count and the sum of the versions of the tasks table.
+ * Every insert moves the count and every update or soft delete the version sum, in whatever order they commit:
+ * the last modification date alone stays put when a write stamped earlier commits after a later one.
+ * @author mdh
+ */
+public interface TaskStamp {
+
+    LocalDateTime getLastModified();
+
+    long getTotal();
+
+    long getVersionSum();
+}
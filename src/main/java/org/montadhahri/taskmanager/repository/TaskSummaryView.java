@@ -0,0 +1,13 @@
+package org.montadhahri.taskmanager.repository;
+
+import org.montadhahri.taskmanager.enumeration.TaskStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * Projection of a task without its description, for list views.
+ * A record instead of an interface: it is instantiated from the selected columns, no proxy in between.
+ * @author mdh
+ */
+public record TaskSummaryView(Long id, String title, TaskStatus status, LocalDateTime updatedAt, Long version) {
+}
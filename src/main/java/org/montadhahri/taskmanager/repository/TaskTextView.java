@@ -0,0 +1,14 @@
+package org.montadhahri.taskmanager.repository;
+
+/**
+ * Projection of the searchable text of a task.
+ * @author mdh
+ */
+public interface TaskTextView {
+
+    Long getId();
+
+    String getTitle();
+
+    String getDescription();
+}
@@ -0,0 +1,205 @@
+package org.montadhahri.taskmanager.service;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.montadhahri.taskmanager.config.CacheConfig;
+import org.montadhahri.taskmanager.config.ReadWriteRoutingDataSource;
+import org.montadhahri.taskmanager.dto.response.TaskResponseDto;
+import org.montadhahri.taskmanager.enumeration.TaskEventType;
+import org.montadhahri.taskmanager.event.TaskBulkEvent;
+import org.montadhahri.taskmanager.event.TaskEvent;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.interceptor.CacheOperationInvocationContext;
+import org.springframework.cache.interceptor.CacheResolver;
+import org.springframework.cache.support.NoOpCache;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Evicts cached tasks once a change to them is committed.
+ * Evicting instead of putting the new state keeps concurrent commits from leaving an older state cached.
+ * A read that loaded a task before the commit can still put it after the eviction, so every eviction also leaves
+ * a fence with the version the task has at least, and puts through {@link #resolveCaches resolved caches} older
+ * than the fence are dropped. Deletions, whose version is unknown, fence every version. Bulk changes, whose tasks
+ * are unknown, clear the cache and fence every task: a miss loaded before they committed is not kept.
+ * Misses are loaded from the primary: a task read on a lagging replica would be cached until its next change.
+ * @author mdh
+ */
+@Component(CacheConfig.TASKS_CACHE_RESOLVER)
+public class TaskCacheInvalidator implements CacheResolver {
+
+    /** how long a fence is kept, far longer than a read between its query and its cache put */
+    private static final Duration FENCE_RETENTION = Duration.ofMinutes(1);
+
+    private final CacheManager cacheManager;
+
+    // bounded by the tasks changed during the retention, a fence dropped early would let an older state in
+    private final com.github.benmanes.caffeine.cache.Cache<Long, Long> fences = Caffeine.newBuilder()
+            .expireAfterWrite(FENCE_RETENTION)
+            .build();
+
+    /** bulk changes committed, a load that sees it move was possibly made before one of them */
+    private final AtomicLong bulkFence = new AtomicLong();
+
+    private final Map<String, Cache> fencedCaches = new ConcurrentHashMap<>();
+
+    public TaskCacheInvalidator(CacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+
+    @TransactionalEventListener
+    public void onTaskEvent(TaskEvent event) {
+        if (event.type() == TaskEventType.CREATED) {
+            return;
+        }
+        long version = event.task() != null && event.task().getVersion() != null
+                ? event.task().getVersion()
+                : Long.MAX_VALUE;
+        // fence first: a put that misses it happens before the eviction below
+        fences.asMap().merge(event.taskId(), version, Math::max);
+        Cache cache = cacheManager.getCache(CacheConfig.TASKS_CACHE);
+        if (cache != null) {
+            cache.evict(event.taskId());
+        }
+    }
+
+    @TransactionalEventListener
+    public void onTaskBulkEvent(TaskBulkEvent event) {
+        bulkFence.incrementAndGet();
+        Cache cache = cacheManager.getCache(CacheConfig.TASKS_CACHE);
+        if (cache != null) {
+            cache.clear();
+        }
+    }
+
+    @Override
+    public Collection<? extends Cache> resolveCaches(CacheOperationInvocationContext<?> context) {
+        return context.getOperation().getCacheNames().stream()
+                .map(name -> fencedCaches.computeIfAbsent(name, this::fencedCache))
+                .toList();
+    }
+
+    private Cache fencedCache(String name) {
+        Cache cache = cacheManager.getCache(name);
+        if (cache == null) {
+            throw new IllegalArgumentException("Cannot find cache named '" + name + "'");
+        }
+        return new FencedCache(cache);
+    }
+
+    /**
+     * @return whether the task is older than the last committed change to it
+     */
+    private boolean isFenced(Object key, Object value) {
+        if (!(key instanceof Long id) || !(value instanceof TaskResponseDto task)) {
+            return false;
+        }
+        Long fence = fences.getIfPresent(id);
+        return fence != null && (task.getVersion() == null || task.getVersion() < fence);
+    }
+
+    private class FencedCache implements Cache {
+
+        private final Cache target;
+
+        FencedCache(Cache target) {
+            this.target = target;
+        }
+
+        @Override
+        public String getName() {
+            return target.getName();
+        }
+
+        @Override
+        public Object getNativeCache() {
+            return target.getNativeCache();
+        }
+
+        @Override
+        public ValueWrapper get(Object key) {
+            return target.get(key);
+        }
+
+        @Override
+        public <T> T get(Object key, Class<T> type) {
+            return target.get(key, type);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> T get(Object key, Callable<T> valueLoader) {
+            if (target instanceof NoOpCache) {
+                // nothing is kept, the replicas can serve the read
+                return target.get(key, valueLoader);
+            }
+            ValueWrapper cached = target.get(key);
+            if (cached != null) {
+                return (T) cached.get();
+            }
+            long loadedBulkFence = bulkFence.get();
+            T value;
+            try (ReadWriteRoutingDataSource.PrimaryScope ignored = ReadWriteRoutingDataSource.primaryScope()) {
+                value = valueLoader.call();
+            } catch (Exception e) {
+                throw new ValueRetrievalException(key, valueLoader, e);
+            }
+            put(key, value);
+            if (bulkFence.get() != loadedBulkFence) {
+                target.evict(key);
+            }
+            return value;
+        }
+
+        @Override
+        public CompletableFuture<?> retrieve(Object key) {
+            return target.retrieve(key);
+        }
+
+        @Override
+        public <T> CompletableFuture<T> retrieve(Object key, Supplier<CompletableFuture<T>> valueLoader) {
+            return target.retrieve(key, valueLoader);
+        }
+
+        @Override
+        public void put(Object key, Object value) {
+            if (isFenced(key, value)) {
+                return;
+            }
+            target.put(key, value);
+            // a fence set meanwhile may have been followed by its eviction already
+            if (isFenced(key, value)) {
+                target.evict(key);
+            }
+        }
+
+        @Override
+        public void evict(Object key) {
+            target.evict(key);
+        }
+
+        @Override
+        public boolean evictIfPresent(Object key) {
+            return target.evictIfPresent(key);
+        }
+
+        @Override
+        public void clear() {
+            target.clear();
+        }
+
+        @Override
+        public boolean invalidate() {
+            return target.invalidate();
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package org.montadhahri.taskmanager.service;
+
+import jakarta.annotation.Nullable;
+import lombok.RequiredArgsConstructor;
+import org.montadhahri.taskmanager.config.TaskStatsProperties;
+import org.montadhahri.taskmanager.dto.response.TaskStatsDto;
+import org.montadhahri.taskmanager.enumeration.TaskEventType;
+import org.montadhahri.taskmanager.enumeration.TaskStatus;
+import org.montadhahri.taskmanager.event.TaskBulkEvent;
+import org.montadhahri.taskmanager.event.TaskEvent;
+import org.montadhahri.taskmanager.repository.TaskDayCount;
+import org.montadhahri.taskmanager.repository.TaskRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-memory count of active tasks per status, and of tasks created and completed per day.
+ * Loaded from the database at startup, kept up to date by committed {@link TaskEvent}s, reloaded after
+ * a committed {@link TaskBulkEvent} and periodically reconciled with the database. Reads never touch the database.
+ * {@link LongAdder}s keep concurrent writers from contending on a single counter.
+ * @author mdh
+ */
+@Component
+@RequiredArgsConstructor
+public class TaskCounters {
+    private static final Logger log = LoggerFactory.getLogger(TaskCounters.class);
+
+    private final TaskRepository taskRepository;
+
+    private final TaskStatsProperties statsProperties;
+
+    private final Map<TaskStatus, LongAdder> counts = initCounts();
+
+    private final ConcurrentMap<LocalDate, LongAdder> createdPerDay = new ConcurrentHashMap<>();
+
+    private final ConcurrentMap<LocalDate, LongAdder> completedPerDay = new ConcurrentHashMap<>();
+
+    private static Map<TaskStatus, LongAdder> initCounts() {
+        Map<TaskStatus, LongAdder> counts = new EnumMap<>(TaskStatus.class);
+        for (TaskStatus status : TaskStatus.values()) {
+            counts.put(status, new LongAdder());
+        }
+        return counts;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void reload() {
+        Map<TaskStatus, Long> drift = new EnumMap<>(TaskStatus.class);
+        for (TaskStatus status : TaskStatus.values()) {
+            long count = taskRepository.countByStatusAndIsEnabledTrue(status);
+            LongAdder counter = counts.get(status);
+            long difference = count - counter.sumThenReset();
+            counter.add(count);
+            if (difference != 0) {
+                drift.put(status, difference);
+            }
+        }
+        LocalDate firstDay = firstDay();
+        reload(createdPerDay, taskRepository.countCreatedPerDaySince(firstDay.atStartOfDay()), firstDay);
+        reload(completedPerDay, taskRepository.countCompletedPerDaySince(firstDay.atStartOfDay()), firstDay);
+        log.info("Task counters loaded: {}, corrected by {}", counts, drift);
+    }
+
+    /**
+     * Corrects whatever the events missed, e.g. changes made by another instance or straight in the database.
+     * An event committed while reloading can be lost until the next reconciliation.
+     */
+    @Scheduled(initialDelayString = "${application.stats.reconcile-interval:PT5M}",
+            fixedDelayString = "${application.stats.reconcile-interval:PT5M}")
+    public void reconcile() {
+        reload();
+    }
+
+    private static void reload(ConcurrentMap<LocalDate, LongAdder> perDay, List<TaskDayCount> dayCounts, LocalDate firstDay) {
+        Map<LocalDate, Long> totals = new HashMap<>();
+        dayCounts.forEach(dayCount -> totals.put(dayCount.getDay(), dayCount.getTotal()));
+        perDay.keySet().removeIf(day -> day.isBefore(firstDay));
+        for (LocalDate day = firstDay; !day.isAfter(LocalDate.now()); day = day.plusDays(1)) {
+            LongAdder counter = perDay.computeIfAbsent(day, d -> new LongAdder());
+            counter.reset();
+            counter.add(totals.getOrDefault(day, 0L));
+        }
+    }
+
+    @TransactionalEventListener
+    public void onTaskEvent(TaskEvent event) {
+        if (event.type() == TaskEventType.CREATED) {
+            increment(createdPerDay);
+        }
+        if (event.status() == TaskStatus.DONE && event.previousStatus() != TaskStatus.DONE) {
+            increment(completedPerDay);
+        }
+        if (event.previousStatus() == event.status()) {
+            return;
+        }
+        if (event.previousStatus() != null) {
+            counts.get(event.previousStatus()).decrement();
+        }
+        if (event.status() != null) {
+            counts.get(event.status()).increment();
+        }
+    }
+
+    // the previous statuses of the tasks are unknown, the database has them
+    @TransactionalEventListener
+    public void onTaskBulkEvent(TaskBulkEvent event) {
+        reload();
+    }
+
+    private static void increment(ConcurrentMap<LocalDate, LongAdder> perDay) {
+        perDay.computeIfAbsent(LocalDate.now(), day -> new LongAdder()).increment();
+    }
+
+    /**
+     * get the amount of active tasks.
+     * @param status optional status filter, all statuses when null
+     * @return active tasks count
+     */
+    public long count(@Nullable TaskStatus status) {
+        if (status != null) {
+            return counts.get(status).sum();
+        }
+        return counts.values().stream().mapToLong(LongAdder::sum).sum();
+    }
+
+    /**
+     * get the board summary.
+     * @return counts per status and the per day histograms
+     */
+    public TaskStatsDto stats() {
+        Map<TaskStatus, Long> statusCounts = new LinkedHashMap<>();
+        long total = 0;
+        for (TaskStatus status : TaskStatus.values()) {
+            long count = counts.get(status).sum();
+            statusCounts.put(status, count);
+            total += count;
+        }
+        return new TaskStatsDto(statusCounts, total, histogram(createdPerDay), histogram(completedPerDay));
+    }
+
+    private Map<LocalDate, Long> histogram(ConcurrentMap<LocalDate, LongAdder> perDay) {
+        Map<LocalDate, Long> histogram = new LinkedHashMap<>();
+        for (LocalDate day = firstDay(); !day.isAfter(LocalDate.now()); day = day.plusDays(1)) {
+            LongAdder counter = perDay.get(day);
+            histogram.put(day, counter == null ? 0 : counter.sum());
+        }
+        return histogram;
+    }
+
+    private LocalDate firstDay() {
+        return LocalDate.now().minusDays(statsProperties.getHistogramDays() - 1L);
+    }
+}
@@ -0,0 +1,225 @@
+package org.montadhahri.taskmanager.service;
+
+import jakarta.annotation.Nullable;
+import jakarta.annotation.PreDestroy;
+import org.montadhahri.taskmanager.config.TaskEventsProperties;
+import org.montadhahri.taskmanager.event.TaskBulkEvent;
+import org.montadhahri.taskmanager.event.TaskEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Fans committed {@link TaskEvent}s out to server-sent event streams.
+ * The last events are kept in a ring buffer so that a client reconnecting with its {@code Last-Event-ID}
+ * gets what it missed instead of reloading. Publishing only queues events: every subscriber has its own
+ * bounded {@link TaskEventQueue}, drained on a virtual thread, so a slow client never holds up a commit
+ * nor the other clients. A bulk change is sent as a single reset, to every subscriber and to those replaying it.
+ * Event IDs are {@code <generation>-<sequence>}, the generation changes on restart so that IDs
+ * handed out by a previous run are not mistaken for current ones.
+ * @author mdh
+ */
+@Component
+public class TaskEventBroadcaster {
+    private static final Logger log = LoggerFactory.getLogger(TaskEventBroadcaster.class);
+
+    /** sent instead of dropped events, the client must reload its tasks */
+    public static final String RESET_EVENT = "RESET";
+
+    private record Subscriber(SseEmitter emitter, TaskEventQueue queue) {
+    }
+
+    private final TaskEventsProperties properties;
+
+    private final String generation = Long.toString(System.currentTimeMillis(), 36);
+
+    private final TaskEventQueue.Entry[] buffer;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+
+    private final ExecutorService drainers = Executors.newVirtualThreadPerTaskExecutor();
+
+    private long sequence;
+
+    public TaskEventBroadcaster(TaskEventsProperties properties) {
+        this.properties = properties;
+        this.buffer = new TaskEventQueue.Entry[properties.getBufferSize()];
+    }
+
+    /**
+     * open a stream of task events.
+     * @param lastEventId ID of the last event received on a previous stream, null for a new client
+     * @return the stream, which starts with the missed events or a reset when they are no longer buffered
+     */
+    public SseEmitter subscribe(@Nullable String lastEventId) {
+        SseEmitter emitter = new SseEmitter(properties.getTimeout().toMillis());
+        Subscriber subscriber = new Subscriber(emitter, new TaskEventQueue(properties.getSubscriberQueueSize()));
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(error -> subscribers.remove(subscriber));
+
+        boolean drain = false;
+        lock.lock();
+        try {
+            if (lastEventId != null) {
+                drain = replay(subscriber.queue(), parseSequence(lastEventId));
+            }
+            subscribers.add(subscriber);
+        } finally {
+            lock.unlock();
+        }
+        if (drain) {
+            startDrainer(subscriber);
+        }
+        return emitter;
+    }
+
+    private boolean replay(TaskEventQueue queue, long lastSequence) {
+        long oldest = Math.max(1, sequence - buffer.length + 1);
+        if (lastSequence < oldest - 1 || lastSequence > sequence) {
+            return queue.reset(sequence);
+        }
+        boolean drain = false;
+        for (long next = lastSequence + 1; next <= sequence; next++) {
+            TaskEventQueue.Entry entry = buffer[index(next)];
+            if (entry == null) {
+                // a bulk change
+                return queue.reset(sequence);
+            }
+            drain |= queue.offer(entry);
+        }
+        return drain;
+    }
+
+    private long parseSequence(String eventId) {
+        int separator = eventId.lastIndexOf('-');
+        if (separator < 0 || !eventId.substring(0, separator).equals(generation)) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(eventId.substring(separator + 1));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    @TransactionalEventListener
+    public void onTaskEvent(TaskEvent event) {
+        List<Subscriber> toDrain = new ArrayList<>();
+        lock.lock();
+        try {
+            TaskEventQueue.Entry entry = new TaskEventQueue.Entry(++sequence, event);
+            buffer[index(entry.sequence())] = entry;
+            for (Subscriber subscriber : subscribers) {
+                if (subscriber.queue().offer(entry)) {
+                    toDrain.add(subscriber);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+        toDrain.forEach(this::startDrainer);
+    }
+
+    @TransactionalEventListener
+    public void onTaskBulkEvent(TaskBulkEvent event) {
+        List<Subscriber> toDrain = new ArrayList<>();
+        lock.lock();
+        try {
+            buffer[index(++sequence)] = null;
+            for (Subscriber subscriber : subscribers) {
+                if (subscriber.queue().reset(sequence)) {
+                    toDrain.add(subscriber);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+        toDrain.forEach(this::startDrainer);
+    }
+
+    @Scheduled(fixedDelayString = "${application.events.heartbeat-interval:PT15S}")
+    public void heartbeat() {
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.queue().heartbeat()) {
+                startDrainer(subscriber);
+            }
+        }
+    }
+
+    private void startDrainer(Subscriber subscriber) {
+        try {
+            drainers.execute(() -> drain(subscriber));
+        } catch (RejectedExecutionException e) {
+            // shutting down, the stream is completed by close()
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        SseEmitter emitter = subscriber.emitter();
+        TaskEventQueue.Batch batch;
+        while ((batch = subscriber.queue().poll()) != null) {
+            try {
+                if (batch.resetSequence() >= 0) {
+                    emitter.send(SseEmitter.event()
+                            .id(eventId(batch.resetSequence()))
+                            .name(RESET_EVENT)
+                            .data("reload"));
+                }
+                for (TaskEventQueue.Entry entry : batch.entries()) {
+                    emitter.send(SseEmitter.event()
+                            .id(eventId(entry.sequence()))
+                            .name(entry.event().type().name())
+                            .data(entry.event(), MediaType.APPLICATION_JSON));
+                }
+                if (batch.heartbeat()) {
+                    emitter.send(SseEmitter.event().comment("heartbeat"));
+                }
+            } catch (IOException | IllegalStateException e) {
+                // client gone or stream already completed
+                log.debug("Dropping task event subscriber: {}", e.getMessage());
+                subscribers.remove(subscriber);
+                return;
+            }
+        }
+    }
+
+    private String eventId(long eventSequence) {
+        return generation + "-" + eventSequence;
+    }
+
+    private int index(long eventSequence) {
+        return (int) (eventSequence % buffer.length);
+    }
+
+    /**
+     * get the number of open streams.
+     * @return subscribers count
+     */
+    public int subscriberCount() {
+        return subscribers.size();
+    }
+
+    @PreDestroy
+    public void close() {
+        drainers.shutdownNow();
+        subscribers.forEach(subscriber -> subscriber.emitter().complete());
+        subscribers.clear();
+    }
+}
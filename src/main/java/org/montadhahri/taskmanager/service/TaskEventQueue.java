@@ -0,0 +1,158 @@
+package org.montadhahri.taskmanager.service;
+
+import org.montadhahri.taskmanager.dto.response.TaskResponseDto;
+import org.montadhahri.taskmanager.enumeration.TaskEventType;
+import org.montadhahri.taskmanager.event.TaskEvent;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bounded queue of the events waiting to be sent to one stream subscriber.
+ * A task has at most one pending event: a newer event for the same task is coalesced with the pending one.
+ * When more than {@code capacity} tasks are pending, every pending event is dropped and the subscriber
+ * gets a reset instead, telling it to reload.
+ * Offering never blocks on the subscriber, whose events are sent by a single drainer at a time.
+ * @author mdh
+ */
+final class TaskEventQueue {
+
+    /**
+     * Events to send, in sequence order.
+     * @param resetSequence sequence of the last dropped event, -1 when nothing was dropped
+     * @param entries pending events
+     * @param heartbeat whether a heartbeat is due
+     */
+    record Batch(long resetSequence, List<Entry> entries, boolean heartbeat) {
+    }
+
+    /**
+     * Event with its position in the stream.
+     */
+    record Entry(long sequence, TaskEvent event) {
+    }
+
+    private final int capacity;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final Map<Long, Entry> pending = new LinkedHashMap<>();
+
+    private long resetSequence = -1;
+
+    private boolean heartbeat;
+
+    private boolean draining;
+
+    TaskEventQueue(int capacity) {
+        this.capacity = capacity;
+    }
+
+    /**
+     * queue an event.
+     * @param entry event to send
+     * @return true when the caller must start a drainer
+     */
+    boolean offer(Entry entry) {
+        lock.lock();
+        try {
+            if (resetSequence >= 0) {
+                resetSequence = entry.sequence();
+                return startDraining();
+            }
+            Long taskId = entry.event().taskId();
+            // removed then put back so that entries stay in sequence order
+            Entry previous = pending.remove(taskId);
+            pending.put(taskId, previous == null ? entry : new Entry(entry.sequence(), merge(previous.event(), entry.event())));
+            if (pending.size() > capacity) {
+                pending.clear();
+                resetSequence = entry.sequence();
+            }
+            return startDraining();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * drop whatever is pending and send a reset instead.
+     * @param sequence sequence the subscriber resumes from after reloading
+     * @return true when the caller must start a drainer
+     */
+    boolean reset(long sequence) {
+        lock.lock();
+        try {
+            pending.clear();
+            resetSequence = sequence;
+            return startDraining();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * request a heartbeat.
+     * @return true when the caller must start a drainer
+     */
+    boolean heartbeat() {
+        lock.lock();
+        try {
+            heartbeat = true;
+            return startDraining();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * take everything pending, called by the drainer only.
+     * @return the events to send, null when there are none left and the drainer must stop
+     */
+    Batch poll() {
+        lock.lock();
+        try {
+            if (pending.isEmpty() && resetSequence < 0 && !heartbeat) {
+                draining = false;
+                return null;
+            }
+            Batch batch = new Batch(resetSequence, List.copyOf(pending.values()), heartbeat);
+            pending.clear();
+            resetSequence = -1;
+            heartbeat = false;
+            return batch;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private boolean startDraining() {
+        if (draining) {
+            return false;
+        }
+        draining = true;
+        return true;
+    }
+
+    /**
+     * coalesce two events of the same task: the latest state, but still a creation for a subscriber
+     * that never saw the task.
+     * Bulk status changes carry no task, the previous one is kept then with the new status, and without
+     * the version and update date it no longer knows.
+     */
+    static TaskEvent merge(TaskEvent previous, TaskEvent next) {
+        TaskEventType type = previous.type() == TaskEventType.CREATED && next.type() != TaskEventType.DELETED
+                ? TaskEventType.CREATED
+                : next.type();
+        TaskResponseDto task = next.task();
+        if (task == null && previous.task() != null && next.type() != TaskEventType.DELETED) {
+            task = new TaskResponseDto();
+            task.setId(previous.task().getId());
+            task.setTitle(previous.task().getTitle());
+            task.setDescription(previous.task().getDescription());
+            task.setStatus(next.status());
+        }
+        return new TaskEvent(type, next.taskId(), previous.previousStatus(), next.status(), task);
+    }
+}
@@ -0,0 +1,174 @@
+package org.montadhahri.taskmanager.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.Nullable;
+import org.montadhahri.taskmanager.config.ReadWriteRoutingDataSource;
+import org.montadhahri.taskmanager.config.TaskPageCacheProperties;
+import org.montadhahri.taskmanager.enumeration.CountMode;
+import org.montadhahri.taskmanager.enumeration.TaskField;
+import org.montadhahri.taskmanager.enumeration.TaskStatus;
+import org.montadhahri.taskmanager.event.TaskBulkEvent;
+import org.montadhahri.taskmanager.event.TaskEvent;
+import org.montadhahri.taskmanager.repository.TaskStamp;
+import org.montadhahri.taskmanager.service.TaskPageReader.StampedPage;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * JSON bytes of the first task pages, ready to be written: a hit involves no mapping and no Jackson, only the query
+ * of the current tasks stamp.
+ * Pages are keyed by a generation counter bumped once a task change is committed, globally and for the statuses
+ * it leaves and enters, so any change invalidates every page listing all tasks but only the pages of its statuses.
+ * Stale generations are never read again and age out of the cache, bounded by the bytes it holds.
+ * Changes this instance is not told about (committed by another instance, or in SQL) are caught by the stamp:
+ * a page whose stamp differs from the current one is reloaded.
+ * @author mdh
+ */
+@Component
+public class TaskPageCache {
+
+    /**
+     * Encoded page.
+     * @param stamp tasks stamp read before the page, its validator
+     * @param json JSON bytes
+     * @param gzip gzipped JSON bytes, null when gzip is disabled or the page is too small
+     */
+    public record EncodedPage(TaskStamp stamp, byte[] json, @Nullable byte[] gzip) {
+    }
+
+    private record PageKey(long generation, Integer pageIndex, Integer offset, @Nullable TaskStatus status,
+                           CountMode countMode, @Nullable Set<TaskField> fields) {
+    }
+
+    private final TaskPageReader taskPageReader;
+    private final ObjectMapper objectMapper;
+    private final TaskPageCacheProperties properties;
+    // failed loads are dropped, like in the coalescer
+    private final AsyncCache<PageKey, EncodedPage> pages;
+    private final AtomicLong generation = new AtomicLong();
+    private final Map<TaskStatus, AtomicLong> statusGenerations = new EnumMap<>(TaskStatus.class);
+
+    public TaskPageCache(TaskPageReader taskPageReader, ObjectMapper objectMapper, TaskPageCacheProperties properties) {
+        this.taskPageReader = taskPageReader;
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+        this.pages = Caffeine.newBuilder()
+                .maximumWeight(properties.getMaximumWeight().toBytes())
+                .weigher((PageKey key, EncodedPage page) ->
+                        page.json().length + (page.gzip() == null ? 0 : page.gzip().length))
+                // evicts on the loading thread, a heavy page does not linger until a background cleanup
+                .executor(Runnable::run)
+                .buildAsync();
+        for (TaskStatus status : TaskStatus.values()) {
+            statusGenerations.put(status, new AtomicLong());
+        }
+    }
+
+    /**
+     * Whether pages with this index are cached.
+     */
+    public boolean isCached(Integer pageIndex) {
+        return properties.isEnabled() && pageIndex != null && pageIndex >= 1 && pageIndex <= properties.getMaxPageIndex();
+    }
+
+    /**
+     * Returns the encoded page, loading and encoding it on a miss or when its stamp is not the current one;
+     * concurrent loads are shared.
+     * @param stamp current tasks stamp
+     */
+    public EncodedPage get(Integer pageIndex, Integer offset, @Nullable TaskStatus status, CountMode countMode,
+                           @Nullable Set<TaskField> fields, TaskStamp stamp) {
+        AtomicLong pageGeneration = status == null ? generation : statusGenerations.get(status);
+        // read before loading: a change committed meanwhile moves it, and the loaded page is not kept
+        long loadedGeneration = pageGeneration.get();
+        PageKey key = new PageKey(loadedGeneration, pageIndex, offset, status, countMode, fields);
+        for (boolean reloaded = false; ; reloaded = true) {
+            CompletableFuture<EncodedPage> flight = new CompletableFuture<>();
+            CompletableFuture<EncodedPage> shared = pages.get(key, (k, executor) -> flight);
+            if (shared != flight) {
+                EncodedPage cached = join(shared);
+                // a page loaded after the stale one was found is at least as recent as the stamp
+                if (reloaded || sameStamp(cached.stamp(), stamp)) {
+                    return cached;
+                }
+                if (!pages.asMap().replace(key, shared, flight)) {
+                    continue;
+                }
+            }
+            // loaded here rather than by the coalescer, whose page may predate the generation, and from the primary:
+            // a page read on a lagging replica would be served until the next change
+            try (ReadWriteRoutingDataSource.PrimaryScope ignored = ReadWriteRoutingDataSource.primaryScope()) {
+                flight.complete(encode(taskPageReader.getAllTasks(pageIndex, offset, status, countMode, fields)));
+            } catch (RuntimeException | Error e) {
+                flight.completeExceptionally(e);
+                throw e;
+            }
+            if (pageGeneration.get() != loadedGeneration) {
+                pages.asMap().remove(key, flight);
+            }
+            return flight.join();
+        }
+    }
+
+    private static EncodedPage join(CompletableFuture<EncodedPage> page) {
+        try {
+            return page.join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+    }
+
+    private static boolean sameStamp(TaskStamp stamp, TaskStamp other) {
+        return stamp.getTotal() == other.getTotal()
+                && stamp.getVersionSum() == other.getVersionSum()
+                && Objects.equals(stamp.getLastModified(), other.getLastModified());
+    }
+
+    @TransactionalEventListener
+    public void onTaskEvent(TaskEvent event) {
+        generation.incrementAndGet();
+        if (event.previousStatus() != null) {
+            statusGenerations.get(event.previousStatus()).incrementAndGet();
+        }
+        if (event.status() != null && event.status() != event.previousStatus()) {
+            statusGenerations.get(event.status()).incrementAndGet();
+        }
+    }
+
+    @TransactionalEventListener
+    public void onTaskBulkEvent(TaskBulkEvent event) {
+        // the statuses the tasks left are unknown
+        generation.incrementAndGet();
+        statusGenerations.values().forEach(AtomicLong::incrementAndGet);
+    }
+
+    private EncodedPage encode(StampedPage page) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(page.page());
+            if (!properties.isGzip() || json.length < properties.getGzipMinResponseSize().toBytes()) {
+                return new EncodedPage(page.stamp(), json, null);
+            }
+            ByteArrayOutputStream gzip = new ByteArrayOutputStream(json.length / 4);
+            try (GZIPOutputStream outputStream = new GZIPOutputStream(gzip)) {
+                outputStream.write(json);
+            }
+            return new EncodedPage(page.stamp(), json, gzip.toByteArray());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
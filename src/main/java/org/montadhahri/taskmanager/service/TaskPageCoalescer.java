@@ -0,0 +1,84 @@
+package org.montadhahri.taskmanager.service;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.Nullable;
+import org.montadhahri.taskmanager.config.ReadWriteRoutingDataSource;
+import org.montadhahri.taskmanager.config.TaskCoalescingProperties;
+import org.montadhahri.taskmanager.enumeration.CountMode;
+import org.montadhahri.taskmanager.enumeration.TaskField;
+import org.montadhahri.taskmanager.enumeration.TaskStatus;
+import org.montadhahri.taskmanager.service.TaskPageReader.StampedPage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Single-flight in front of {@link TaskPageReader#getAllTasks}: identical concurrent page requests,
+ * e.g. every client of a board refreshing at once, share one page query, count query and mapping.
+ * The stamp is shared with its page, so a caller that read a more recent stamp never sends it with an older page.
+ * The computed page is then reused for {@code application.coalescing.window}, failures are not.
+ * Runs outside the service transaction, so waiting callers hold no connection.
+ * Shared pages must not be modified.
+ * @author mdh
+ */
+@Component
+public class TaskPageCoalescer {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskPageCoalescer.class);
+
+    // the sort is part of the service contract (creation date), so it is not part of the key;
+    // callers reading from the primary never share a page read on a lagging replica
+    private record PageKey(Integer pageIndex, Integer offset, @Nullable TaskStatus status,
+                           CountMode countMode, @Nullable Set<TaskField> fields, boolean primary) {
+    }
+
+    private final TaskPageReader taskPageReader;
+    private final boolean enabled;
+    // in-flight futures never expire, the window starts when the page is computed
+    private final AsyncCache<PageKey, StampedPage> pages;
+
+    public TaskPageCoalescer(TaskPageReader taskPageReader, TaskCoalescingProperties properties) {
+        this.taskPageReader = taskPageReader;
+        this.enabled = properties.isEnabled();
+        this.pages = Caffeine.newBuilder()
+                .expireAfterWrite(properties.getWindow())
+                .maximumSize(properties.getMaximumSize())
+                .buildAsync();
+    }
+
+    /**
+     * Same as {@link TaskPageReader#getAllTasks(Integer, Integer, TaskStatus, CountMode, Set)},
+     * shared with identical concurrent or recent calls.
+     */
+    public StampedPage getAllTasks(Integer pageIndex, Integer offset, @Nullable TaskStatus status,
+                                   CountMode countMode, @Nullable Set<TaskField> fields) {
+        if (!enabled) {
+            return taskPageReader.getAllTasks(pageIndex, offset, status, countMode, fields);
+        }
+        PageKey key = new PageKey(pageIndex, offset, status, countMode, fields,
+                ReadWriteRoutingDataSource.isPrimaryRequired());
+        CompletableFuture<StampedPage> flight = new CompletableFuture<>();
+        CompletableFuture<StampedPage> shared = pages.get(key, (k, executor) -> flight);
+        if (shared == flight) {
+            // the first caller computes on its own thread, a failed future is dropped from the cache
+            try {
+                flight.complete(taskPageReader.getAllTasks(pageIndex, offset, status, countMode, fields));
+            } catch (RuntimeException | Error e) {
+                flight.completeExceptionally(e);
+                throw e;
+            }
+        } else {
+            log.debug("Sharing task page {}", key);
+        }
+        try {
+            return shared.join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+    }
+}
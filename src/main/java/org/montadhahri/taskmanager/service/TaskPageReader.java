@@ -0,0 +1,52 @@
+package org.montadhahri.taskmanager.service;
+
+import jakarta.annotation.Nullable;
+import org.montadhahri.taskmanager.dto.PageDto;
+import org.montadhahri.taskmanager.dto.response.TaskResponseDto;
+import org.montadhahri.taskmanager.enumeration.CountMode;
+import org.montadhahri.taskmanager.enumeration.TaskField;
+import org.montadhahri.taskmanager.enumeration.TaskStatus;
+import org.montadhahri.taskmanager.repository.TaskStamp;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Set;
+
+/**
+ * Reads a task page together with the stamp of the tasks table, the stamp first and both in one read-only
+ * transaction, so on one connection (one replica) and in that order: the page reflects at least every change
+ * the stamp does, and the stamp can be sent as its validator without ever labelling an older page as newer.
+ * @author mdh
+ */
+@Component
+public class TaskPageReader {
+
+    /**
+     * Page with the stamp read before it.
+     * @param stamp tasks stamp, not more recent than the page
+     * @param page tasks page, must not be modified once shared
+     */
+    public record StampedPage(TaskStamp stamp, PageDto<TaskResponseDto> page) {
+    }
+
+    private final TaskService taskService;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public TaskPageReader(TaskService taskService, PlatformTransactionManager transactionManager) {
+        this.taskService = taskService;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * Same as {@link TaskService#getAllTasks(Integer, Integer, TaskStatus, CountMode, Set)}, with the stamp.
+     */
+    public StampedPage getAllTasks(Integer pageIndex, Integer offset, @Nullable TaskStatus status,
+                                   CountMode countMode, @Nullable Set<TaskField> fields) {
+        return readOnlyTransaction.execute(transaction -> {
+            TaskStamp stamp = taskService.getTasksStamp();
+            return new StampedPage(stamp, taskService.getAllTasks(pageIndex, offset, status, countMode, fields));
+        });
+    }
+}
@@ -0,0 +1,419 @@
+package org.montadhahri.taskmanager.service;
+
+import jakarta.annotation.Nullable;
+import jakarta.annotation.PreDestroy;
+import org.montadhahri.taskmanager.config.ReadWriteRoutingDataSource;
+import org.montadhahri.taskmanager.dto.response.TaskResponseDto;
+import org.montadhahri.taskmanager.enumeration.TaskEventType;
+import org.montadhahri.taskmanager.event.TaskBulkEvent;
+import org.montadhahri.taskmanager.event.TaskEvent;
+import org.montadhahri.taskmanager.repository.TaskRepository;
+import org.montadhahri.taskmanager.repository.TaskTextView;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * In-memory inverted index of the title and description of active tasks.
+ * Every term maps to a posting list of task IDs kept sorted in primitive arrays, with the term
+ * frequency and the task length needed by BM25. A query matches tasks containing all its terms.
+ * Loaded from the database at startup, then kept up to date by committed {@link TaskEvent}s.
+ * A committed bulk deletion, whose tasks are unknown, reloads it from the primary in the background.
+ * A reload builds a new index without locking, searches keep using the current one meanwhile; the changes
+ * made during the reload are queued and replayed on the new index before it replaces the current one.
+ * @author mdh
+ */
+@Component
+public class TaskSearchIndex {
+    private static final Logger log = LoggerFactory.getLogger(TaskSearchIndex.class);
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    /** a title term counts as much as this many description terms */
+    private static final int TITLE_WEIGHT = 3;
+
+    /** BM25 term frequency saturation and length normalization */
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    private final TaskRepository taskRepository;
+    private final TransactionTemplate readOnlyTransaction;
+
+    private final ExecutorService rebuilder = Executors.newSingleThreadExecutor(
+            Thread.ofVirtual().name("task-search-rebuild").factory());
+
+    /** a rebuild is queued and not started yet, the bulk deletions committed meanwhile are covered by it */
+    private final AtomicBoolean rebuildQueued = new AtomicBoolean();
+
+    /** one rebuild at a time */
+    private final Lock rebuildLock = new ReentrantLock();
+
+    /** guards the index and the pending changes */
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private Index index = new Index();
+
+    /** changes made since the running rebuild started, to replay on its index; null when no rebuild is running */
+    @Nullable
+    private List<Consumer<Index>> pendingChanges;
+
+    /**
+     * Matching task IDs of a page, best first.
+     * @param total amount of matching tasks
+     * @param ids IDs of the requested page
+     */
+    public record Hits(long total, List<Long> ids) {
+    }
+
+    public TaskSearchIndex(TaskRepository taskRepository, PlatformTransactionManager transactionManager) {
+        this.taskRepository = taskRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        rebuildLock.lock();
+        try {
+            lock.writeLock().lock();
+            try {
+                pendingChanges = new ArrayList<>();
+            } finally {
+                lock.writeLock().unlock();
+            }
+            Index rebuilt = new Index();
+            boolean loaded = false;
+            try {
+                readOnlyTransaction.executeWithoutResult(transaction -> {
+                    try (Stream<TaskTextView> tasks = taskRepository.streamTextByIsEnabledTrue()) {
+                        tasks.forEach(task -> rebuilt.put(task.getId(), task.getTitle(), task.getDescription()));
+                    }
+                });
+                loaded = true;
+            } finally {
+                lock.writeLock().lock();
+                try {
+                    if (loaded) {
+                        pendingChanges.forEach(change -> change.accept(rebuilt));
+                        index = rebuilt;
+                    }
+                    pendingChanges = null;
+                } finally {
+                    lock.writeLock().unlock();
+                }
+            }
+            log.info("Task search index loaded: {} tasks, {} terms", rebuilt.documents.size(), rebuilt.postings.size());
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    @TransactionalEventListener
+    public void onTaskEvent(TaskEvent event) {
+        TaskResponseDto task = event.task();
+        switch (event.type()) {
+            case CREATED, UPDATED -> {
+                if (task != null) {
+                    index(task.getId(), task.getTitle(), task.getDescription());
+                }
+            }
+            case DELETED -> remove(event.taskId());
+            case STATUS_CHANGED -> {
+                // the status is not indexed
+            }
+        }
+    }
+
+    @TransactionalEventListener
+    public void onTaskBulkEvent(TaskBulkEvent event) {
+        // the status is not indexed
+        if (event.type() == TaskEventType.DELETED && rebuildQueued.compareAndSet(false, true)) {
+            rebuilder.execute(() -> {
+                rebuildQueued.set(false);
+                // a replica may not have the deletion yet
+                try (ReadWriteRoutingDataSource.PrimaryScope ignored = ReadWriteRoutingDataSource.primaryScope()) {
+                    rebuild();
+                } catch (RuntimeException e) {
+                    log.error("Task search index rebuild failed", e);
+                }
+            });
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        rebuilder.shutdownNow();
+    }
+
+    /**
+     * Adds or replaces a task.
+     */
+    public void index(Long id, @Nullable String title, @Nullable String description) {
+        apply(target -> target.put(id, title, description));
+    }
+
+    public void remove(Long id) {
+        apply(target -> target.delete(id));
+    }
+
+    // applied to the current index, and queued for the one being rebuilt
+    private void apply(Consumer<Index> change) {
+        lock.writeLock().lock();
+        try {
+            change.accept(index);
+            if (pendingChanges != null) {
+                pendingChanges.add(change);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Finds the active tasks containing every term of a query, ranked by BM25 then by ID.
+     * @param query words to look for, case and accents are ignored
+     * @param from amount of best hits to skip
+     * @param size maximum amount of returned IDs
+     * @return total amount of matches and the IDs of the requested page
+     */
+    public Hits search(String query, int from, int size) {
+        List<String> terms = tokenize(query).stream().distinct().toList();
+        if (terms.isEmpty() || size <= 0) {
+            return new Hits(0, List.of());
+        }
+        lock.readLock().lock();
+        try {
+            Map<String, PostingList> postings = index.postings;
+            int documentCount = index.documents.size();
+            PostingList[] lists = new PostingList[terms.size()];
+            for (int i = 0; i < lists.length; i++) {
+                lists[i] = postings.get(terms.get(i));
+                if (lists[i] == null) {
+                    return new Hits(0, List.of());
+                }
+            }
+            // walk the rarest list, look the other ones up
+            Arrays.sort(lists, Comparator.comparingInt(list -> list.size));
+            double averageLength = (double) index.totalLength / documentCount;
+            double[] idf = new double[lists.length];
+            for (int i = 0; i < lists.length; i++) {
+                idf[i] = Math.log(1 + (documentCount - lists[i].size + 0.5) / (lists[i].size + 0.5));
+            }
+
+            int limit = from + size;
+            PriorityQueue<Hit> best = new PriorityQueue<>(Math.min(limit, lists[0].size) + 1, Hit.WORST_FIRST);
+            int[] cursors = new int[lists.length];
+            long total = 0;
+            candidates:
+            for (int i = 0; i < lists[0].size; i++) {
+                long id = lists[0].ids[i];
+                double score = idf[0] * lists[0].score(i, averageLength);
+                for (int j = 1; j < lists.length; j++) {
+                    int position = lists[j].advance(id, cursors[j]);
+                    if (position < 0) {
+                        cursors[j] = -position - 1;
+                        continue candidates;
+                    }
+                    cursors[j] = position;
+                    score += idf[j] * lists[j].score(position, averageLength);
+                }
+                total++;
+                if (best.size() < limit) {
+                    best.add(new Hit(id, score));
+                } else if (best.peek().isWorseThan(id, score)) {
+                    best.poll();
+                    best.add(new Hit(id, score));
+                }
+            }
+
+            List<Hit> ranked = new ArrayList<>(best);
+            ranked.sort(Hit.WORST_FIRST.reversed());
+            List<Long> ids = ranked.stream().skip(from).map(Hit::id).toList();
+            return new Hits(total, ids);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return amount of indexed tasks
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return index.documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    static List<String> tokenize(@Nullable String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        String normalized = DIACRITICS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD))
+                .replaceAll("")
+                .toLowerCase(Locale.ROOT);
+        return NON_WORD.splitAsStream(normalized).filter(term -> !term.isEmpty()).toList();
+    }
+
+    /**
+     * Posting lists and documents of the indexed tasks.
+     */
+    private static final class Index {
+
+        private final Map<String, PostingList> postings = new HashMap<>();
+
+        /** posting lists of every indexed task, to remove it without its previous text */
+        private final Map<Long, Document> documents = new HashMap<>();
+
+        private long totalLength;
+
+        private void put(Long id, @Nullable String title, @Nullable String description) {
+            delete(id);
+            Map<String, Integer> frequencies = new LinkedHashMap<>();
+            List<String> titleTerms = tokenize(title);
+            List<String> descriptionTerms = tokenize(description);
+            titleTerms.forEach(term -> frequencies.merge(term, TITLE_WEIGHT, Integer::sum));
+            descriptionTerms.forEach(term -> frequencies.merge(term, 1, Integer::sum));
+            if (frequencies.isEmpty()) {
+                return;
+            }
+            int length = TITLE_WEIGHT * titleTerms.size() + descriptionTerms.size();
+            PostingList[] lists = new PostingList[frequencies.size()];
+            int i = 0;
+            for (Map.Entry<String, Integer> entry : frequencies.entrySet()) {
+                PostingList list = postings.computeIfAbsent(entry.getKey(), PostingList::new);
+                list.put(id, entry.getValue(), length);
+                lists[i++] = list;
+            }
+            documents.put(id, new Document(lists, length));
+            totalLength += length;
+        }
+
+        private void delete(Long id) {
+            Document document = documents.remove(id);
+            if (document == null) {
+                return;
+            }
+            for (PostingList list : document.lists()) {
+                list.remove(id);
+                if (list.size == 0) {
+                    postings.remove(list.term);
+                }
+            }
+            totalLength -= document.length();
+        }
+    }
+
+    private record Document(PostingList[] lists, int length) {
+    }
+
+    private record Hit(long id, double score) {
+        /** lower score first, then higher ID, so the heap head is the hit to evict */
+        static final Comparator<Hit> WORST_FIRST = Comparator.comparingDouble(Hit::score)
+                .thenComparing(Comparator.comparingLong(Hit::id).reversed());
+
+        // same order as WORST_FIRST, without allocating a hit for every candidate
+        boolean isWorseThan(long otherId, double otherScore) {
+            return score < otherScore || (score == otherScore && id > otherId);
+        }
+    }
+
+    /**
+     * Task IDs containing a term, sorted ascending. New IDs come from a sequence, so they are appended.
+     */
+    private static final class PostingList {
+
+        private final String term;
+        private long[] ids = new long[2];
+        private int[] frequencies = new int[2];
+        private int[] lengths = new int[2];
+        private int size;
+
+        private PostingList(String term) {
+            this.term = term;
+        }
+
+        private void put(long id, int frequency, int length) {
+            int position = size > 0 && ids[size - 1] < id ? -size - 1 : Arrays.binarySearch(ids, 0, size, id);
+            if (position >= 0) {
+                frequencies[position] = frequency;
+                lengths[position] = length;
+                return;
+            }
+            position = -position - 1;
+            if (size == ids.length) {
+                int capacity = size + (size >> 1) + 1;
+                ids = Arrays.copyOf(ids, capacity);
+                frequencies = Arrays.copyOf(frequencies, capacity);
+                lengths = Arrays.copyOf(lengths, capacity);
+            }
+            System.arraycopy(ids, position, ids, position + 1, size - position);
+            System.arraycopy(frequencies, position, frequencies, position + 1, size - position);
+            System.arraycopy(lengths, position, lengths, position + 1, size - position);
+            ids[position] = id;
+            frequencies[position] = frequency;
+            lengths[position] = length;
+            size++;
+        }
+
+        private void remove(long id) {
+            int position = Arrays.binarySearch(ids, 0, size, id);
+            if (position < 0) {
+                return;
+            }
+            System.arraycopy(ids, position + 1, ids, position, size - position - 1);
+            System.arraycopy(frequencies, position + 1, frequencies, position, size - position - 1);
+            System.arraycopy(lengths, position + 1, lengths, position, size - position - 1);
+            size--;
+        }
+
+        /**
+         * Galloping search of an ID at or after a position.
+         * @return position of the ID, or (-(insertion point) - 1) when absent
+         */
+        private int advance(long id, int from) {
+            if (from >= size) {
+                return -size - 1;
+            }
+            int bound = 1;
+            while (from + bound < size && ids[from + bound] < id) {
+                bound <<= 1;
+            }
+            return Arrays.binarySearch(ids, from + (bound >> 1), Math.min(from + bound + 1, size), id);
+        }
+
+        private double score(int position, double averageLength) {
+            double frequency = frequencies[position];
+            return frequency * (K1 + 1) / (frequency + K1 * (1 - B + B * lengths[position] / averageLength));
+        }
+    }
+}
@@ -1,11 +1,29 @@
 package org.montadhahri.taskmanager.service;
 
 import jakarta.annotation.Nullable;
+import org.montadhahri.taskmanager.dto.CursorPageDto;
 import org.montadhahri.taskmanager.dto.PageDto;
 import org.montadhahri.taskmanager.dto.request.TaskRequestDto;
+import org.montadhahri.taskmanager.dto.response.TaskBatchResultDto;
+import org.montadhahri.taskmanager.dto.response.TaskBulkResultDto;
+import org.montadhahri.taskmanager.dto.response.TaskChangesDto;
 import org.montadhahri.taskmanager.dto.response.TaskResponseDto;
+import org.montadhahri.taskmanager.dto.response.TaskStatsDto;
+import org.montadhahri.taskmanager.enumeration.CountMode;
+import org.montadhahri.taskmanager.enumeration.TaskField;
 import org.montadhahri.taskmanager.enumeration.TaskStatus;
+import org.montadhahri.taskmanager.exception.BadRequestException;
+import org.montadhahri.taskmanager.exception.ConflictException;
 import org.montadhahri.taskmanager.exception.DuplicateResourceException;
+import org.montadhahri.taskmanager.exception.VersionConflictException;
+import org.montadhahri.taskmanager.repository.TaskStamp;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
 
 /**
  * Handle Task business operations
@@ -13,11 +31,86 @@ import org.montadhahri.taskmanager.exception.DuplicateResourceException;
  */
 public interface TaskService {
 
+    /**
+     * get all active tasks with an exact total count.
+     * @return page of tasks
+     */
+    default PageDto<TaskResponseDto> getAllTasks(Integer pageIndex, Integer offset, @Nullable TaskStatus status) {
+        return getAllTasks(pageIndex, offset, status, CountMode.EXACT);
+    }
+
     /**
      * get all active tasks.
+     * @param pageIndex page index starting from 1
+     * @param offset page size
+     * @param status optional status filter
+     * @param countMode how the total count is computed
+     * @return page of tasks
+     */
+    default PageDto<TaskResponseDto> getAllTasks(Integer pageIndex, Integer offset, @Nullable TaskStatus status, CountMode countMode) {
+        return getAllTasks(pageIndex, offset, status, countMode, null);
+    }
+
+    /**
+     * get all active tasks with only some of their fields.
+     * Without description, only the other columns are selected from the database.
+     * @param pageIndex page index starting from 1
+     * @param offset page size
+     * @param status optional status filter
+     * @param countMode how the total count is computed
+     * @param fields returned fields, the ID is always returned; null for all fields
      * @return page of tasks
      */
-    PageDto<TaskResponseDto> getAllTasks(Integer pageIndex, Integer offset, @Nullable TaskStatus status);
+    PageDto<TaskResponseDto> getAllTasks(Integer pageIndex, Integer offset, @Nullable TaskStatus status,
+                                         CountMode countMode, @Nullable Set<TaskField> fields);
+
+    /**
+     * get active tasks with keyset pagination, ordered by creation date then ID.
+     * @param limit page size
+     * @param after cursor returned by the previous page, null for the first page
+     * @param status optional status filter
+     * @return page of tasks with the cursor of the next page
+     */
+    CursorPageDto<TaskResponseDto> getTasksAfter(Integer limit, @Nullable String after, @Nullable TaskStatus status);
+
+    /**
+     * get the tasks created, updated or deleted since a point in time, ordered by update date then ID.
+     * @param since changes at or after this date, null for every change
+     * @param cursor cursor returned by the previous sync, exclusive with {@code since}
+     * @param limit page size
+     * @return upserts and tombstones with the cursor of the next sync
+     */
+    TaskChangesDto getTaskChanges(@Nullable LocalDateTime since, @Nullable String cursor, Integer limit);
+
+    /**
+     * Get the board summary from the in-memory counters, without querying the database.
+     * @return active tasks per status and tasks created and completed per day
+     */
+    TaskStatsDto getTaskStats();
+
+    /**
+     * Full-text search of active tasks by words of their title and description.
+     * @param query words that must all appear, case and accents are ignored
+     * @param pageIndex page index starting from 1
+     * @param offset page size
+     * @return page of tasks, best match first, with the total amount of matches
+     * @exception BadRequestException: blank query or invalid page
+     */
+    PageDto<TaskResponseDto> searchTasks(String query, Integer pageIndex, Integer offset);
+
+    /**
+     * Streams every active task, ordered by ID, to a sink without holding them in memory.
+     * @param status optional status filter
+     * @param sink receives the tasks one at a time
+     * @return amount of exported tasks
+     */
+    long exportTasks(@Nullable TaskStatus status, Consumer<TaskResponseDto> sink);
+
+    /**
+     * Get the last modification date, row count and version sum of the tasks table, any write moves one of them.
+     * @return tasks stamp, used as validator of the task pages
+     */
+    TaskStamp getTasksStamp();
 
     /**
      * Get a task by ID.
@@ -34,11 +127,20 @@ public interface TaskService {
      */
     TaskResponseDto createTask(TaskRequestDto taskRequestDto);
 
+    /**
+     * Creates many tasks at once, titles already used by an active task or repeated in the request are rejected.
+     * @param taskRequestDtos task request DTOs
+     * @return per item outcome, in request order
+     */
+    TaskBatchResultDto createTasks(List<TaskRequestDto> taskRequestDtos);
+
     /**
      * Updates an exist task
      * @param id task ID
-     * @param taskRequestDto task request DTO
+     * @param taskRequestDto task request DTO, with the version the task must still have if set
      * @return updated task response DTO
+     * @exception VersionConflictException: the task no longer has the expected version
+     * @exception OptimisticLockingFailureException: the task was changed concurrently
      */
     TaskResponseDto updateTask(Long id, TaskRequestDto taskRequestDto);
 
@@ -48,11 +150,52 @@ public interface TaskService {
      * @param status new task status
      * @return updated task response DTO
      */
-    TaskResponseDto updateTaskStatus(Long id, TaskStatus status);
+    default TaskResponseDto updateTaskStatus(Long id, TaskStatus status) {
+        return updateTaskStatus(id, status, null, null);
+    }
+
+    /**
+     * Changes the status of task with a compare-and-set on its version, so concurrent changes are never lost.
+     * @param id task ID
+     * @param status new task status
+     * @param expectedVersion optional, version the task must still have
+     * @param expectedStatus optional, status the task must still have
+     * @return updated task response DTO
+     * @exception VersionConflictException: the task no longer has the expected version
+     * @exception ConflictException: the task no longer has the expected status, or kept changing concurrently
+     */
+    TaskResponseDto updateTaskStatus(Long id, TaskStatus status, @Nullable Long expectedVersion, @Nullable TaskStatus expectedStatus);
+
+    /**
+     * Changes the status of many active tasks with a single update.
+     * @param ids optional IDs of the tasks
+     * @param currentStatus optional current status of the tasks
+     * @param status new task status
+     * @return amount of tasks whose status changed
+     * @exception BadRequestException: neither ids nor currentStatus are provided
+     */
+    TaskBulkResultDto updateTasksStatus(@Nullable List<Long> ids, @Nullable TaskStatus currentStatus, TaskStatus status);
+
+    /**
+     * Changes the status of many active tasks in one transaction, with a single update per new status.
+     * Tasks that already have their new status are left untouched.
+     * @param statuses new status by task ID
+     * @return task response DTOs by ID, none for the tasks that are not found
+     */
+    Map<Long, TaskResponseDto> updateTaskStatuses(Map<Long, TaskStatus> statuses);
 
     /**
      * Soft deletes a task
      * @param id task ID
      */
     void softDeleteTask(Long id);
+
+    /**
+     * Soft deletes many active tasks with a single update.
+     * @param ids optional IDs of the tasks
+     * @param status optional status of the tasks
+     * @return amount of deleted tasks
+     * @exception BadRequestException: neither ids nor status are provided
+     */
+    TaskBulkResultDto softDeleteTasks(@Nullable List<Long> ids, @Nullable TaskStatus status);
 }
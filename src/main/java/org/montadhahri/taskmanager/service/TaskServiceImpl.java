@@ -1,33 +1,140 @@
 package org.montadhahri.taskmanager.service;
 
+import io.micrometer.core.annotation.Timed;
 import jakarta.annotation.Nullable;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
-import org.modelmapper.ModelMapper;
+import org.montadhahri.taskmanager.config.CacheConfig;
+import org.montadhahri.taskmanager.config.TaskChangesProperties;
+import org.montadhahri.taskmanager.dto.CursorPageDto;
 import org.montadhahri.taskmanager.dto.PageDto;
 import org.montadhahri.taskmanager.dto.request.TaskRequestDto;
+import org.montadhahri.taskmanager.dto.response.TaskBatchItemDto;
+import org.montadhahri.taskmanager.dto.response.TaskBatchResultDto;
+import org.montadhahri.taskmanager.dto.response.TaskBulkResultDto;
+import org.montadhahri.taskmanager.dto.response.TaskChangeDto;
+import org.montadhahri.taskmanager.dto.response.TaskChangesDto;
+import org.montadhahri.taskmanager.dto.response.TaskFieldsetDto;
 import org.montadhahri.taskmanager.dto.response.TaskResponseDto;
+import org.montadhahri.taskmanager.dto.response.TaskStatsDto;
+import org.montadhahri.taskmanager.enumeration.BatchItemStatus;
+import org.montadhahri.taskmanager.enumeration.CountMode;
+import org.montadhahri.taskmanager.enumeration.TaskField;
+import org.montadhahri.taskmanager.enumeration.TaskEventType;
 import org.montadhahri.taskmanager.enumeration.TaskStatus;
 import org.montadhahri.taskmanager.entity.Task;
+import org.montadhahri.taskmanager.event.TaskBulkEvent;
+import org.montadhahri.taskmanager.event.TaskEvent;
 import org.montadhahri.taskmanager.exception.BadRequestException;
+import org.montadhahri.taskmanager.exception.ConflictException;
 import org.montadhahri.taskmanager.exception.DuplicateResourceException;
 import org.montadhahri.taskmanager.exception.ResourceNotFoundException;
+import org.montadhahri.taskmanager.exception.VersionConflictException;
+import org.montadhahri.taskmanager.mapper.TaskMapper;
 import org.montadhahri.taskmanager.repository.TaskRepository;
+import org.montadhahri.taskmanager.repository.TaskStamp;
+import org.montadhahri.taskmanager.repository.TaskSummaryView;
+import org.montadhahri.taskmanager.util.TaskCursor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
 @Service
 @RequiredArgsConstructor
+@Timed(value = TaskServiceImpl.TIMER, description = "TaskService operations")
 public class TaskServiceImpl implements TaskService {
     private static final Logger log = LoggerFactory.getLogger(TaskServiceImpl.class);
 
+    /** timer of every public method, tagged by method and exception */
+    public static final String TIMER = "task.service";
+
+    /** values per IN list, larger inputs are split over several statements */
+    private static final int IN_CLAUSE_CHUNK_SIZE = 1000;
+
+    /** compare-and-set attempts of a status change before giving up on a contended task */
+    private static final int STATUS_CAS_ATTEMPTS = 3;
+
+    /** entities flushed and detached together, a multiple of hibernate.jdbc.batch_size */
+    private static final int INSERT_CHUNK_SIZE = 500;
+
+    /** exported entities detached together, bounds the persistence context during an export */
+    private static final int EXPORT_CLEAR_INTERVAL = 1000;
+
     private final TaskRepository taskRepository;
-    private final ModelMapper modelMapper;
+    private final TaskMapper taskMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TaskCounters taskCounters;
+    private final EntityManager entityManager;
+    private final TaskSearchIndex taskSearchIndex;
+    private final TaskChangesProperties taskChangesProperties;
+
+    private static <T> List<List<T>> partition(List<T> values, int size) {
+        List<List<T>> chunks = new ArrayList<>();
+        for (int from = 0; from < values.size(); from += size) {
+            chunks.add(values.subList(from, Math.min(from + size, values.size())));
+        }
+        return chunks;
+    }
+
+    /**
+     * Chunks of the distinct IDs of a bulk operation, none when it selects by status only.
+     */
+    private static List<List<Long>> bulkIdChunks(@Nullable List<Long> ids, @Nullable TaskStatus status) {
+        if (ids == null || ids.isEmpty()) {
+            if (status == null) {
+                throw new BadRequestException("ids or status must be provided");
+            }
+            return List.of();
+        }
+        return partition(ids.stream().distinct().toList(), IN_CLAUSE_CHUNK_SIZE);
+    }
+
+    /**
+     * Publishes a bulk operation once, however many tasks it changed.
+     */
+    private void publishBulkEvent(TaskEventType type, int affected) {
+        if (affected > 0) {
+            eventPublisher.publishEvent(new TaskBulkEvent(type, affected));
+        }
+    }
+
+    /**
+     * Writes a task with a single statement: the unique index on enabled titles rejects duplicates,
+     * so no lookup is needed beforehand and concurrent writes of the same title cannot both succeed.
+     */
+    private Task saveUniqueTitle(Task task) {
+        try {
+            return taskRepository.saveAndFlush(task);
+        } catch (DataIntegrityViolationException e) {
+            if (DuplicateResourceException.isDuplicateTitle(e)) {
+                throw new DuplicateResourceException("Task title already exists: " + task.getTitle());
+            }
+            throw e;
+        }
+    }
 
     private Task findTaskById(Long id) {
         log.info("Find task by ID: {}", id);
@@ -39,15 +146,72 @@ public class TaskServiceImpl implements TaskService {
     @Transactional
     public TaskResponseDto createTask(TaskRequestDto dto) {
         log.info("Create task with title: {}", dto.getTitle());
-        taskRepository.findByTitleAndIsEnabledTrue(dto.getTitle()).ifPresent(t -> {
-            throw new DuplicateResourceException("Task title already exists: " + dto.getTitle());
-        });
-
-        Task task = modelMapper.map(dto, Task.class);
+        Task task = taskMapper.toEntity(dto);
         task.setStatus(TaskStatus.TODO);
         task.setEnabled(true);
-        Task saved = taskRepository.save(task);
-        return modelMapper.map(saved, TaskResponseDto.class);
+        Task saved = saveUniqueTitle(task);
+        TaskResponseDto created = taskMapper.toResponseDto(saved);
+        eventPublisher.publishEvent(new TaskEvent(TaskEventType.CREATED, saved.getId(), null, saved.getStatus(), created));
+        return created;
+    }
+
+    @Override
+    @Transactional
+    public TaskBatchResultDto createTasks(List<TaskRequestDto> dtos) {
+        log.info("Create {} tasks", dtos.size());
+        List<String> titles = dtos.stream().map(TaskRequestDto::getTitle).distinct().toList();
+        Set<String> takenTitles = new HashSet<>();
+        for (List<String> chunk : partition(titles, IN_CLAUSE_CHUNK_SIZE)) {
+            takenTitles.addAll(taskRepository.findEnabledTitlesIn(chunk));
+        }
+
+        List<TaskBatchItemDto> items = new ArrayList<>(dtos.size());
+        List<Task> pending = new ArrayList<>(INSERT_CHUNK_SIZE);
+        List<TaskBatchItemDto> pendingItems = new ArrayList<>(INSERT_CHUNK_SIZE);
+        int failed = 0;
+        for (int index = 0; index < dtos.size(); index++) {
+            TaskRequestDto dto = dtos.get(index);
+            if (!takenTitles.add(dto.getTitle())) {
+                items.add(new TaskBatchItemDto(index, BatchItemStatus.DUPLICATE, null,
+                        "Task title already exists: " + dto.getTitle()));
+                failed++;
+                continue;
+            }
+            Task task = taskMapper.toEntity(dto);
+            task.setStatus(TaskStatus.TODO);
+            task.setEnabled(true);
+            pending.add(task);
+
+            TaskBatchItemDto item = new TaskBatchItemDto(index, BatchItemStatus.CREATED, null, null);
+            pendingItems.add(item);
+            items.add(item);
+            if (pending.size() == INSERT_CHUNK_SIZE) {
+                insertChunk(pending, pendingItems);
+            }
+        }
+        insertChunk(pending, pendingItems);
+
+        return new TaskBatchResultDto(dtos.size() - failed, failed, items);
+    }
+
+    /**
+     * Persists a chunk as JDBC batches then detaches it, so the persistence context stays small.
+     */
+    private void insertChunk(List<Task> tasks, List<TaskBatchItemDto> items) {
+        if (tasks.isEmpty()) {
+            return;
+        }
+        taskRepository.saveAll(tasks);
+        taskRepository.flush();
+        for (int i = 0; i < tasks.size(); i++) {
+            Task saved = tasks.get(i);
+            TaskResponseDto created = taskMapper.toResponseDto(saved);
+            items.get(i).setTask(created);
+            eventPublisher.publishEvent(new TaskEvent(TaskEventType.CREATED, saved.getId(), null, saved.getStatus(), created));
+        }
+        entityManager.clear();
+        tasks.clear();
+        items.clear();
     }
 
     @Override
@@ -55,29 +219,140 @@ public class TaskServiceImpl implements TaskService {
     public TaskResponseDto updateTask(Long id, TaskRequestDto dto) {
         log.info("Update task with ID: {}", id);
         Task task = findTaskById(id);
-
-        if (!task.getTitle().equals(dto.getTitle())) {
-            taskRepository.findByTitleAndIsEnabledTrue(dto.getTitle()).ifPresent(t -> {
-                throw new DuplicateResourceException("Task title already exists: " + dto.getTitle());
-            });
+        if (dto.getVersion() != null && !dto.getVersion().equals(task.getVersion())) {
+            throw new VersionConflictException("Task " + id + " was modified, current version: " + task.getVersion());
         }
 
         task.setTitle(dto.getTitle());
         task.setDescription(dto.getDescription());
 
-        Task updated = taskRepository.save(task);
-        return modelMapper.map(updated, TaskResponseDto.class);
+        // flush so the auditing listener sets updatedAt before mapping, the returned DTO carries the new ETag
+        Task updated = saveUniqueTitle(task);
+        TaskResponseDto updatedDto = taskMapper.toResponseDto(updated);
+        eventPublisher.publishEvent(new TaskEvent(TaskEventType.UPDATED, id, updated.getStatus(), updated.getStatus(), updatedDto));
+        return updatedDto;
     }
 
     @Override
     @Transactional
-    public TaskResponseDto updateTaskStatus(Long id, TaskStatus status) {
+    public TaskResponseDto updateTaskStatus(Long id, TaskStatus status, @Nullable Long expectedVersion, @Nullable TaskStatus expectedStatus) {
         log.info("Update status for task with ID: {}", id);
-        Task task = findTaskById(id);
+        for (int attempt = 1; ; attempt++) {
+            Task task = findTaskById(id);
+            if (expectedVersion != null && !expectedVersion.equals(task.getVersion())) {
+                throw new VersionConflictException("Task " + id + " was modified, current version: " + task.getVersion());
+            }
+            if (expectedStatus != null && expectedStatus != task.getStatus()) {
+                throw new ConflictException("Task " + id + " is not " + expectedStatus + " but " + task.getStatus());
+            }
+            TaskStatus previousStatus = task.getStatus();
+            LocalDateTime completedAt = status == previousStatus
+                    ? task.getCompletedAt()
+                    : (status == TaskStatus.DONE ? LocalDateTime.now() : null);
+            // the database keeps microseconds, the returned DTO must carry the stored date for its ETag
+            LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+
+            if (taskRepository.updateStatusByIdAndVersion(id, task.getVersion(), status, completedAt, now) == 1) {
+                task.setStatus(status);
+                task.setCompletedAt(completedAt);
+                task.setUpdatedAt(now);
+                task.setVersion(task.getVersion() + 1);
+                TaskResponseDto updatedDto = taskMapper.toResponseDto(task);
+                eventPublisher.publishEvent(new TaskEvent(TaskEventType.STATUS_CHANGED, id, previousStatus, status, updatedDto));
+                return updatedDto;
+            }
+            // changed since it was read: the preconditions are checked again against the new state
+            if (expectedVersion != null) {
+                throw new VersionConflictException("Task " + id + " was modified concurrently");
+            }
+            if (attempt == STATUS_CAS_ATTEMPTS) {
+                throw new ConflictException("Task " + id + " was modified concurrently, retry");
+            }
+        }
+    }
+
+    @Override
+    @Transactional
+    public TaskBulkResultDto updateTasksStatus(@Nullable List<Long> ids, @Nullable TaskStatus currentStatus, TaskStatus status) {
+        log.info("Update status to {} for tasks with IDs: {} and status: {}", status, ids, currentStatus);
+        List<List<Long>> chunks = bulkIdChunks(ids, currentStatus);
+
+        LocalDateTime now = LocalDateTime.now();
+        // tasks already in the new status are not matched, so every DONE task here is newly completed
+        LocalDateTime completedAt = status == TaskStatus.DONE ? now : null;
+        int affected = 0;
+        if (chunks.isEmpty()) {
+            affected = taskRepository.updateEnabledStatusByStatus(currentStatus, status, now, completedAt);
+        }
+        for (List<Long> chunk : chunks) {
+            affected += taskRepository.updateEnabledStatusByIdIn(chunk, currentStatus, status, now, completedAt);
+        }
+        publishBulkEvent(TaskEventType.STATUS_CHANGED, affected);
+        return new TaskBulkResultDto(affected);
+    }
+
+    @Override
+    @Transactional
+    public Map<Long, TaskResponseDto> updateTaskStatuses(Map<Long, TaskStatus> statuses) {
+        log.info("Update status of {} tasks", statuses.size());
+        List<Task> tasks = new ArrayList<>(statuses.size());
+        for (List<Long> chunk : partition(new ArrayList<>(statuses.keySet()), IN_CLAUSE_CHUNK_SIZE)) {
+            tasks.addAll(taskRepository.lockEnabledTasksByIdIn(chunk));
+        }
+
+        Map<TaskStatus, List<Long>> changedIds = new EnumMap<>(TaskStatus.class);
+        for (Task task : tasks) {
+            TaskStatus status = statuses.get(task.getId());
+            if (status != task.getStatus()) {
+                changedIds.computeIfAbsent(status, key -> new ArrayList<>()).add(task.getId());
+            }
+        }
+        // the database keeps microseconds, the returned DTOs must carry the stored date for their ETag
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        for (Map.Entry<TaskStatus, List<Long>> entry : changedIds.entrySet()) {
+            // tasks already in the new status are not part of it, so every DONE task here is newly completed
+            LocalDateTime completedAt = entry.getKey() == TaskStatus.DONE ? now : null;
+            for (List<Long> chunk : partition(entry.getValue(), IN_CLAUSE_CHUNK_SIZE)) {
+                taskRepository.updateStatusByIdIn(chunk, entry.getKey(), now, completedAt);
+            }
+        }
 
-        task.setStatus(status);
-        Task updated = taskRepository.save(task);
-        return modelMapper.map(updated, TaskResponseDto.class);
+        // the updates cleared the persistence context, the detached tasks are brought up to date for the response
+        Map<Long, TaskResponseDto> updated = new HashMap<>();
+        for (Task task : tasks) {
+            TaskStatus previousStatus = task.getStatus();
+            TaskStatus status = statuses.get(task.getId());
+            if (status == previousStatus) {
+                updated.put(task.getId(), taskMapper.toResponseDto(task));
+                continue;
+            }
+            task.setStatus(status);
+            task.setCompletedAt(status == TaskStatus.DONE ? now : null);
+            task.setUpdatedAt(now);
+            task.setVersion(task.getVersion() + 1);
+            TaskResponseDto updatedDto = taskMapper.toResponseDto(task);
+            updated.put(task.getId(), updatedDto);
+            eventPublisher.publishEvent(new TaskEvent(TaskEventType.STATUS_CHANGED, task.getId(), previousStatus, status, updatedDto));
+        }
+        return updated;
+    }
+
+    @Override
+    @Transactional
+    public TaskBulkResultDto softDeleteTasks(@Nullable List<Long> ids, @Nullable TaskStatus status) {
+        log.info("Delete tasks with IDs: {} and status: {}", ids, status);
+        List<List<Long>> chunks = bulkIdChunks(ids, status);
+
+        LocalDateTime now = LocalDateTime.now();
+        int affected = 0;
+        if (chunks.isEmpty()) {
+            affected = taskRepository.softDeleteEnabledByStatus(status, now);
+        }
+        for (List<Long> chunk : chunks) {
+            affected += taskRepository.softDeleteEnabledByIdIn(chunk, status, now);
+        }
+        publishBulkEvent(TaskEventType.DELETED, affected);
+        return new TaskBulkResultDto(affected);
     }
 
     @Override
@@ -88,12 +363,15 @@ public class TaskServiceImpl implements TaskService {
 
         task.setEnabled(false);
         taskRepository.save(task);
+        eventPublisher.publishEvent(new TaskEvent(TaskEventType.DELETED, id, task.getStatus(), null, null));
     }
 
     @Override
     @Transactional(readOnly = true)
-    public PageDto<TaskResponseDto> getAllTasks(Integer pageIndex, Integer offset, @Nullable TaskStatus status) {
-        log.info("Fetching tasks with status={} and pageIndex={}, offset={}", status, pageIndex, offset);
+    public PageDto<TaskResponseDto> getAllTasks(Integer pageIndex, Integer offset, @Nullable TaskStatus status,
+                                                CountMode countMode, @Nullable Set<TaskField> fields) {
+        log.info("Fetching tasks with status={} and pageIndex={}, offset={}, count={}, fields={}",
+                status, pageIndex, offset, countMode, fields);
         if (pageIndex == null || pageIndex <= 0) {
             throw new BadRequestException("pageIndex must be greater than or equal to 1");
         }
@@ -101,23 +379,220 @@ public class TaskServiceImpl implements TaskService {
             throw new BadRequestException("offset must be greater than 0");
         }
         Pageable pageable = PageRequest.of(pageIndex - 1, offset, Sort.by("createdAt").ascending());
-        Page<Task> tasksPage = (status != null)
-                ? taskRepository.findByStatusAndIsEnabledTrue(status, pageable)
-                : taskRepository.findByIsEnabledTrue(pageable);
+
+        // a page when counting exactly, a slice otherwise
+        Slice<TaskResponseDto> tasks = (fields == null || fields.contains(TaskField.DESCRIPTION))
+                ? findTasks(status, pageable, countMode).map(taskMapper::toResponseDto)
+                : findSummaries(status, pageable, countMode).map(taskMapper::toResponseDto);
 
         PageDto<TaskResponseDto> pageDto = new PageDto<>();
-        pageDto.setItems(tasksPage.getContent().stream()
-                .map(task -> modelMapper.map(task, TaskResponseDto.class))
+        pageDto.setItems(fields == null ? tasks.getContent() : retainFields(tasks.getContent(), fields));
+        if (tasks instanceof Page<TaskResponseDto> tasksPage) {
+            pageDto.setCount(tasksPage.getTotalElements());
+        } else {
+            pageDto.setHasNext(tasks.hasNext());
+            if (countMode == CountMode.ESTIMATE) {
+                pageDto.setCount(taskCounters.count(status));
+            }
+        }
+
+        return pageDto;
+    }
+
+    private Slice<Task> findTasks(@Nullable TaskStatus status, Pageable pageable, CountMode countMode) {
+        if (countMode == CountMode.EXACT) {
+            return (status != null)
+                    ? taskRepository.findByStatusAndIsEnabledTrue(status, pageable)
+                    : taskRepository.findByIsEnabledTrue(pageable);
+        }
+        return (status != null)
+                ? taskRepository.findSliceByStatusAndIsEnabledTrue(status, pageable)
+                : taskRepository.findSliceByIsEnabledTrue(pageable);
+    }
+
+    private Slice<TaskSummaryView> findSummaries(@Nullable TaskStatus status, Pageable pageable, CountMode countMode) {
+        if (countMode == CountMode.EXACT) {
+            return (status != null)
+                    ? taskRepository.findSummaryByStatusAndIsEnabledTrue(status, pageable)
+                    : taskRepository.findSummaryByIsEnabledTrue(pageable);
+        }
+        return (status != null)
+                ? taskRepository.findSummarySliceByStatusAndIsEnabledTrue(status, pageable)
+                : taskRepository.findSummarySliceByIsEnabledTrue(pageable);
+    }
+
+    // fields out of the sparse fieldset are nulled, and only fieldsets leave null fields out
+    private static List<TaskResponseDto> retainFields(List<TaskResponseDto> tasks, Set<TaskField> fields) {
+        List<TaskResponseDto> fieldsets = new ArrayList<>(tasks.size());
+        for (TaskResponseDto task : tasks) {
+            TaskFieldsetDto fieldset = new TaskFieldsetDto(task);
+            for (TaskField field : TaskField.values()) {
+                if (!fields.contains(field)) {
+                    field.clear(fieldset);
+                }
+            }
+            fieldsets.add(fieldset);
+        }
+        return fieldsets;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageDto<TaskResponseDto> getTasksAfter(Integer limit, @Nullable String after, @Nullable TaskStatus status) {
+        log.info("Fetching tasks with status={} after cursor={}, limit={}", status, after, limit);
+        if (limit == null || limit <= 0) {
+            throw new BadRequestException("limit must be greater than 0");
+        }
+        // one extra row tells whether a next page exists without a count query
+        Pageable pageable = PageRequest.ofSize(limit + 1);
+        List<Task> tasks;
+        if (after == null || after.isBlank()) {
+            tasks = (status != null)
+                    ? taskRepository.findByStatusAndIsEnabledTrueOrderByCreatedAtAscIdAsc(status, pageable)
+                    : taskRepository.findByIsEnabledTrueOrderByCreatedAtAscIdAsc(pageable);
+        } else {
+            TaskCursor cursor = TaskCursor.decode(after);
+            tasks = (status != null)
+                    ? taskRepository.findEnabledByStatusAfter(status, cursor.timestamp(), cursor.id(), pageable)
+                    : taskRepository.findEnabledAfter(cursor.timestamp(), cursor.id(), pageable);
+        }
+
+        boolean hasNext = tasks.size() > limit;
+        List<Task> pageContent = hasNext ? tasks.subList(0, limit) : tasks;
+
+        CursorPageDto<TaskResponseDto> pageDto = new CursorPageDto<>();
+        pageDto.setItems(pageContent.stream()
+                .map(taskMapper::toResponseDto)
                 .toList());
-        pageDto.setCount(tasksPage.getTotalElements());
+        if (hasNext) {
+            Task last = pageContent.getLast();
+            pageDto.setNextCursor(new TaskCursor(last.getCreatedAt(), last.getId()).encode());
+        }
 
         return pageDto;
     }
 
     @Override
     @Transactional(readOnly = true)
+    public TaskChangesDto getTaskChanges(@Nullable LocalDateTime since, @Nullable String cursor, Integer limit) {
+        log.info("Fetching task changes since={} after cursor={}, limit={}", since, cursor, limit);
+        if (limit == null || limit <= 0) {
+            throw new BadRequestException("limit must be greater than 0");
+        }
+        if (since != null && cursor != null && !cursor.isBlank()) {
+            throw new BadRequestException("since and cursor cannot be used together");
+        }
+        // one extra row tells whether more changes are waiting
+        Pageable pageable = PageRequest.ofSize(limit + 1);
+        // rows are stamped before their commit: the cursor must not pass recent ones another commit may still precede
+        LocalDateTime until = LocalDateTime.now().minus(taskChangesProperties.getSafetyLag());
+        List<Task> tasks;
+        if (cursor != null && !cursor.isBlank()) {
+            TaskCursor position = TaskCursor.decode(cursor);
+            tasks = taskRepository.findChangedAfter(position.timestamp(), position.id(), until, pageable);
+        } else if (since != null) {
+            // ids start at 1, so (since, 0) includes the changes made at since
+            tasks = taskRepository.findChangedAfter(since, 0L, until, pageable);
+        } else {
+            tasks = taskRepository.findByUpdatedAtBeforeOrderByUpdatedAtAscIdAsc(until, pageable);
+        }
+
+        boolean hasMore = tasks.size() > limit;
+        List<Task> changed = hasMore ? tasks.subList(0, limit) : tasks;
+
+        TaskChangesDto changesDto = new TaskChangesDto();
+        changesDto.setChanges(changed.stream()
+                .map(task -> task.isEnabled()
+                        ? new TaskChangeDto(task.getId(), task.getUpdatedAt(), false, taskMapper.toResponseDto(task))
+                        : new TaskChangeDto(task.getId(), task.getUpdatedAt(), true, null))
+                .toList());
+        changesDto.setHasMore(hasMore);
+        // an empty page keeps the client where it was
+        if (!changed.isEmpty()) {
+            Task last = changed.getLast();
+            changesDto.setCursor(new TaskCursor(last.getUpdatedAt(), last.getId()).encode());
+        } else if (cursor != null && !cursor.isBlank()) {
+            changesDto.setCursor(cursor);
+        } else if (since != null) {
+            changesDto.setCursor(new TaskCursor(since, 0L).encode());
+        }
+
+        return changesDto;
+    }
+
+    @Override
+    public TaskStatsDto getTaskStats() {
+        return taskCounters.stats();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PageDto<TaskResponseDto> searchTasks(String query, Integer pageIndex, Integer offset) {
+        log.info("Searching tasks with query={}, pageIndex={}, offset={}", query, pageIndex, offset);
+        if (query == null || query.isBlank()) {
+            throw new BadRequestException("q must not be blank");
+        }
+        if (pageIndex == null || pageIndex <= 0) {
+            throw new BadRequestException("pageIndex must be greater than or equal to 1");
+        }
+        if (offset == null || offset <= 0) {
+            throw new BadRequestException("offset must be greater than 0");
+        }
+        if ((long) pageIndex * offset > Integer.MAX_VALUE) {
+            throw new BadRequestException("pageIndex is out of range");
+        }
+        TaskSearchIndex.Hits hits = taskSearchIndex.search(query, (pageIndex - 1) * offset, offset);
+
+        // the index is updated after commit, skip tasks deleted in the meantime
+        Map<Long, Task> tasks = new HashMap<>();
+        for (Task task : taskRepository.findAllById(hits.ids())) {
+            if (task.isEnabled()) {
+                tasks.put(task.getId(), task);
+            }
+        }
+        PageDto<TaskResponseDto> pageDto = new PageDto<>();
+        pageDto.setItems(hits.ids().stream()
+                .map(tasks::get)
+                .filter(Objects::nonNull)
+                .map(taskMapper::toResponseDto)
+                .toList());
+        pageDto.setCount(hits.total());
+        return pageDto;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long exportTasks(@Nullable TaskStatus status, Consumer<TaskResponseDto> sink) {
+        log.info("Export tasks with status: {}", status);
+        long exported = 0;
+        try (Stream<Task> tasks = status == null
+                ? taskRepository.streamByIsEnabledTrueOrderByIdAsc()
+                : taskRepository.streamByStatusAndIsEnabledTrueOrderByIdAsc(status)) {
+            Iterator<Task> iterator = tasks.iterator();
+            while (iterator.hasNext()) {
+                sink.accept(taskMapper.toResponseDto(iterator.next()));
+                if (++exported % EXPORT_CLEAR_INTERVAL == 0) {
+                    entityManager.clear();
+                }
+            }
+        }
+        log.info("Exported {} tasks", exported);
+        return exported;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public TaskStamp getTasksStamp() {
+        return taskRepository.findStamp();
+    }
+
+    @Override
+    // sync: misses are loaded by the resolved cache, which reads them from the primary
+    @Cacheable(cacheNames = CacheConfig.TASKS_CACHE, cacheResolver = CacheConfig.TASKS_CACHE_RESOLVER, key = "#id",
+            sync = true)
+    @Transactional(readOnly = true)
     public TaskResponseDto getTaskById(Long id) {
         Task task = findTaskById(id);
-        return modelMapper.map(task, TaskResponseDto.class);
+        return taskMapper.toResponseDto(task);
     }
 }
@@ -0,0 +1,173 @@
+package org.montadhahri.taskmanager.service;
+
+import jakarta.annotation.PreDestroy;
+import org.montadhahri.taskmanager.config.TaskGroupCommitProperties;
+import org.montadhahri.taskmanager.dto.response.TaskResponseDto;
+import org.montadhahri.taskmanager.enumeration.TaskStatus;
+import org.montadhahri.taskmanager.exception.ResourceNotFoundException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Group commit of unconditional status changes: concurrent changes are queued and a single flusher
+ * commits them together with {@link TaskService#updateTaskStatuses(Map)}, once {@code max-batch-size}
+ * changes are queued or the oldest one waited {@code max-delay}. One transaction and one update per status
+ * replace a transaction per change, at the cost of up to {@code max-delay} more latency.
+ * Within a batch the last change of a task wins, and every caller gets the task as committed.
+ * A failed batch is retried one change at a time, so that a bad change only fails its own caller.
+ * A change that finds the queue full for {@code offer-timeout}, or the batcher closed, is committed on its own.
+ * @author mdh
+ */
+@Component
+public class TaskStatusBatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskStatusBatcher.class);
+
+    /** how often an idle flusher checks whether it must stop */
+    private static final Duration IDLE_POLL = Duration.ofMillis(100);
+
+    private record StatusChange(Long id, TaskStatus status, CompletableFuture<TaskResponseDto> result) {
+    }
+
+    private final TaskService taskService;
+    private final TaskGroupCommitProperties properties;
+    private final BlockingQueue<StatusChange> queue;
+    private final Thread flusher;
+    private volatile boolean running;
+
+    public TaskStatusBatcher(TaskService taskService, TaskGroupCommitProperties properties) {
+        this.taskService = taskService;
+        this.properties = properties;
+        this.queue = new ArrayBlockingQueue<>(properties.getQueueCapacity());
+        this.running = properties.isEnabled();
+        this.flusher = running ? Thread.ofVirtual().name("task-status-group-commit").start(this::flushLoop) : null;
+    }
+
+    /**
+     * Same as {@link TaskService#updateTaskStatus(Long, TaskStatus)}, committed with the other changes of its batch.
+     */
+    public TaskResponseDto updateTaskStatus(Long id, TaskStatus status) {
+        if (!running) {
+            return taskService.updateTaskStatus(id, status, null, null);
+        }
+        try {
+            return submit(id, status).join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+    }
+
+    /**
+     * Queues a status change, waiting up to {@code offer-timeout} for room when the queue is full.
+     * @return completed with the task once its batch is committed, or once committed on its own
+     */
+    public CompletableFuture<TaskResponseDto> submit(Long id, TaskStatus status) {
+        StatusChange change = new StatusChange(id, status, new CompletableFuture<>());
+        boolean queued = false;
+        if (running) {
+            try {
+                queued = queue.offer(change, properties.getOfferTimeout().toNanos(), TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                change.result().completeExceptionally(new IllegalStateException("Interrupted while queuing a status change", e));
+                return change.result();
+            }
+            // closed meanwhile: the flusher may be gone, unless the change was already taken
+            if (queued && !running && queue.remove(change)) {
+                queued = false;
+            }
+        }
+        if (!queued) {
+            commitOneByOne(List.of(change));
+        }
+        return change.result();
+    }
+
+    @PreDestroy
+    public void close() throws InterruptedException {
+        running = false;
+        if (flusher != null) {
+            // queued changes are still committed before the flusher ends
+            flusher.join();
+        }
+        // queued after the flusher ended
+        List<StatusChange> leftovers = new ArrayList<>();
+        queue.drainTo(leftovers);
+        commitOneByOne(leftovers);
+    }
+
+    private void flushLoop() {
+        List<StatusChange> batch = new ArrayList<>(properties.getMaxBatchSize());
+        while (running || !queue.isEmpty()) {
+            try {
+                StatusChange first = queue.poll(IDLE_POLL.toNanos(), TimeUnit.NANOSECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + properties.getMaxDelay().toNanos();
+                while (batch.size() < properties.getMaxBatchSize()) {
+                    if (queue.drainTo(batch, properties.getMaxBatchSize() - batch.size()) > 0) {
+                        continue;
+                    }
+                    StatusChange next = queue.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+            } catch (InterruptedException e) {
+                running = false;
+            }
+            if (!batch.isEmpty()) {
+                commit(batch);
+                batch.clear();
+            }
+        }
+    }
+
+    private void commit(List<StatusChange> batch) {
+        // queue order: the last change of a task wins
+        Map<Long, TaskStatus> statuses = new LinkedHashMap<>();
+        batch.forEach(change -> statuses.put(change.id(), change.status()));
+        Map<Long, TaskResponseDto> updated;
+        try {
+            updated = taskService.updateTaskStatuses(statuses);
+        } catch (RuntimeException e) {
+            log.warn("Group commit of {} status changes failed, committing them one by one: {}", batch.size(), e.getMessage());
+            commitOneByOne(batch);
+            return;
+        }
+        log.debug("Committed {} status changes of {} tasks", batch.size(), statuses.size());
+        for (StatusChange change : batch) {
+            TaskResponseDto task = updated.get(change.id());
+            if (task != null) {
+                change.result().complete(task);
+            } else {
+                change.result().completeExceptionally(new ResourceNotFoundException("Task not found: " + change.id()));
+            }
+        }
+    }
+
+    private void commitOneByOne(List<StatusChange> batch) {
+        for (StatusChange change : batch) {
+            try {
+                change.result().complete(taskService.updateTaskStatus(change.id(), change.status(), null, null));
+            } catch (RuntimeException e) {
+                change.result().completeExceptionally(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package org.montadhahri.taskmanager.util;
+
+import jakarta.annotation.Nullable;
+import org.montadhahri.taskmanager.dto.response.TaskResponseDto;
+import org.montadhahri.taskmanager.repository.TaskStamp;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+/**
+ * ETag and Last-Modified values of tasks and task pages.
+ * ETags are scoped to the request URL, so a page ETag does not need to repeat the query parameters.
+ * Tasks are only served as JSON, so their ETag is strong and If-Match can rely on it. Pages are served as JSON
+ * or CBOR, gzipped or not, so their ETag is weak: it names the content, not the bytes of one representation.
+ * @author mdh
+ */
+public final class TaskETags {
+
+    private TaskETags() {
+    }
+
+    /**
+     * ETag of a single task, built from its ID and version, which every change increments.
+     */
+    public static String of(TaskResponseDto task) {
+        return "\"" + task.getId() + "-" + task.getVersion() + "\"";
+    }
+
+    /**
+     * Version of a task ETag, e.g. of an If-Match header, for a write conditioned on it.
+     * @return the version, null when the ETag is weak, malformed or of another task
+     */
+    @Nullable
+    public static Long version(String eTag, Long taskId) {
+        String prefix = "\"" + taskId + "-";
+        if (!eTag.startsWith(prefix) || !eTag.endsWith("\"") || eTag.length() <= prefix.length()) {
+            return null;
+        }
+        try {
+            return Long.valueOf(eTag.substring(prefix.length(), eTag.length() - 1));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Weak ETag of any task page, built from the row count, the version sum and the last modification date
+     * of the tasks table.
+     */
+    public static String of(TaskStamp stamp) {
+        return "W/\"" + Long.toHexString(stamp.getTotal()) + "-" + Long.toHexString(stamp.getVersionSum())
+                + "-" + Long.toHexString(micros(stamp.getLastModified())) + "\"";
+    }
+
+    /**
+     * Last-Modified timestamp in milliseconds, -1 when unknown.
+     */
+    public static long lastModified(@Nullable LocalDateTime updatedAt) {
+        return updatedAt == null ? -1 : updatedAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    // the database keeps microseconds, truncate so a freshly saved task and a reloaded one share the same ETag
+    private static long micros(@Nullable LocalDateTime updatedAt) {
+        return updatedAt == null ? 0 : updatedAt.toEpochSecond(ZoneOffset.UTC) * 1_000_000 + updatedAt.getNano() / 1_000;
+    }
+}
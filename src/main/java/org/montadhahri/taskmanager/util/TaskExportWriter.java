@@ -0,0 +1,137 @@
+package org.montadhahri.taskmanager.util;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.montadhahri.taskmanager.dto.response.TaskResponseDto;
+import org.montadhahri.taskmanager.enumeration.ExportFormat;
+
+import java.io.BufferedWriter;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
+
+/**
+ * Writes exported tasks one at a time to an output stream, nothing is kept once written.
+ * The stream is flushed but not closed.
+ * @author mdh
+ */
+public abstract class TaskExportWriter implements Consumer<TaskResponseDto>, Flushable {
+
+    /**
+     * @param objectMapper JSON mapper, used by NDJSON
+     * @param cborMapper mapper with a CBOR factory, used by CBOR
+     */
+    public static TaskExportWriter of(ExportFormat format, OutputStream outputStream,
+                                      ObjectMapper objectMapper, ObjectMapper cborMapper) throws IOException {
+        return switch (format) {
+            case NDJSON -> new NdjsonWriter(outputStream, objectMapper);
+            case CSV -> new CsvWriter(outputStream);
+            case CBOR -> new CborWriter(outputStream, cborMapper);
+        };
+    }
+
+    @Override
+    public void accept(TaskResponseDto task) {
+        try {
+            write(task);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    protected abstract void write(TaskResponseDto task) throws IOException;
+
+    private static final class NdjsonWriter extends TaskExportWriter {
+
+        private final JsonGenerator generator;
+        private final ObjectWriter objectWriter;
+
+        private NdjsonWriter(OutputStream outputStream, ObjectMapper objectMapper) throws IOException {
+            this.generator = objectMapper.getFactory().createGenerator(outputStream)
+                    .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            this.objectWriter = objectMapper.writerFor(TaskResponseDto.class);
+        }
+
+        @Override
+        protected void write(TaskResponseDto task) throws IOException {
+            objectWriter.writeValue(generator, task);
+            generator.writeRaw('\n');
+        }
+
+        @Override
+        public void flush() throws IOException {
+            generator.flush();
+        }
+    }
+
+    private static final class CborWriter extends TaskExportWriter {
+
+        private final JsonGenerator generator;
+        private final ObjectWriter objectWriter;
+
+        private CborWriter(OutputStream outputStream, ObjectMapper cborMapper) throws IOException {
+            this.generator = cborMapper.getFactory().createGenerator(outputStream)
+                    .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            this.objectWriter = cborMapper.writerFor(TaskResponseDto.class);
+        }
+
+        @Override
+        protected void write(TaskResponseDto task) throws IOException {
+            objectWriter.writeValue(generator, task);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            generator.flush();
+        }
+    }
+
+    private static final class CsvWriter extends TaskExportWriter {
+
+        private final Writer writer;
+
+        private CsvWriter(OutputStream outputStream) throws IOException {
+            this.writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+            writer.write("id,title,description,status,updatedAt\r\n");
+        }
+
+        @Override
+        protected void write(TaskResponseDto task) throws IOException {
+            writer.write(String.valueOf(task.getId()));
+            writer.write(',');
+            writeField(task.getTitle());
+            writer.write(',');
+            writeField(task.getDescription());
+            writer.write(',');
+            writeField(task.getStatus() == null ? null : task.getStatus().name());
+            writer.write(',');
+            writeField(task.getUpdatedAt() == null ? null : task.getUpdatedAt().toString());
+            writer.write("\r\n");
+        }
+
+        // quoted only when needed, quotes doubled
+        private void writeField(String value) throws IOException {
+            if (value == null) {
+                return;
+            }
+            if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+                writer.write(value);
+                return;
+            }
+            writer.write('"');
+            writer.write(value.replace("\"", "\"\""));
+            writer.write('"');
+        }
+
+        @Override
+        public void flush() throws IOException {
+            writer.flush();
+        }
+    }
+}
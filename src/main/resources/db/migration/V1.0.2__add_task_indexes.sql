@@ -0,0 +1,15 @@
+--
+-- Index de la table `tasks`
+--
+-- Each index matches a TaskRepository query: the equality columns come first,
+-- then the created_at, id keyset used for sorting and cursor pagination.
+--
+
+-- findByIsEnabledTrue, findEnabledAfter and the enabled count query
+CREATE INDEX IF NOT EXISTS idx_tasks_enabled_created ON tasks (is_enabled, created_at, id);
+
+-- findByStatusAndIsEnabledTrue, findEnabledByStatusAfter and the per status count query
+CREATE INDEX IF NOT EXISTS idx_tasks_status_enabled_created ON tasks (status, is_enabled, created_at, id);
+
+-- findByTitleAndIsEnabledTrue (duplicate title check)
+CREATE INDEX IF NOT EXISTS idx_tasks_title_enabled ON tasks (title, is_enabled);
@@ -0,0 +1,14 @@
+--
+-- Sequence de la table `tasks`
+--
+-- Task IDs come from a pooled sequence (Hibernate allocates 50 IDs per call) instead of
+-- an identity column, so inserts can be sent as JDBC batches.
+-- The sequence restarts past the highest pooled block so allocated IDs never hit existing rows.
+--
+CREATE SEQUENCE IF NOT EXISTS tasks_seq START WITH 50 INCREMENT BY 50;
+
+ALTER SEQUENCE tasks_seq RESTART WITH (SELECT COALESCE(MAX(id), 0) + 50 FROM tasks);
+
+ALTER TABLE tasks ALTER COLUMN id DROP IDENTITY;
+
+ALTER TABLE tasks ALTER COLUMN id SET DEFAULT NEXT VALUE FOR tasks_seq;
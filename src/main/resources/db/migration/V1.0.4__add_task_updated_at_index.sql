@@ -0,0 +1,9 @@
+--
+-- Index de la table `tasks`
+--
+-- MAX(updated_at) is the last modification of the whole table (soft deletes
+-- update the row too), it backs the collection ETag and Last-Modified headers.
+--
+
+-- findStamp
+CREATE INDEX IF NOT EXISTS idx_tasks_updated_at ON tasks (updated_at);
@@ -0,0 +1,19 @@
+--
+-- Structure de la table `tasks`
+--
+-- completed_at is set when a task moves to DONE and cleared when it leaves it,
+-- it is the source of the completed per day histogram of GET /tasks/stats.
+--
+ALTER TABLE tasks ADD COLUMN IF NOT EXISTS completed_at TIMESTAMP NULL;
+
+-- best known completion date of the tasks already done
+UPDATE tasks SET completed_at = updated_at WHERE status = 'DONE';
+
+--
+-- Index de la table `tasks`
+--
+
+-- countCreatedPerDaySince and countCompletedPerDaySince (stats reconciliation)
+CREATE INDEX IF NOT EXISTS idx_tasks_created_at ON tasks (created_at);
+
+CREATE INDEX IF NOT EXISTS idx_tasks_completed_at ON tasks (completed_at);
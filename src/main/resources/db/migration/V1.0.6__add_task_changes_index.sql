@@ -0,0 +1,12 @@
+--
+-- Index de la table `tasks`
+--
+-- GET /tasks/changes pages through every row, soft deleted ones included, by
+-- (updated_at, id). The composite index replaces idx_tasks_updated_at, whose
+-- MAX(updated_at) lookup it still serves.
+--
+
+-- findChangedAfter, findByOrderByUpdatedAtAscIdAsc, findStamp
+CREATE INDEX IF NOT EXISTS idx_tasks_updated_at_id ON tasks (updated_at, id);
+
+DROP INDEX IF EXISTS idx_tasks_updated_at;
@@ -0,0 +1,7 @@
+--
+-- Structure de la table `tasks`
+--
+-- version is incremented by every write (optimistic locking): a write that
+-- finds another version than the one it read does not apply.
+--
+ALTER TABLE tasks ADD COLUMN IF NOT EXISTS version BIGINT DEFAULT 0 NOT NULL;
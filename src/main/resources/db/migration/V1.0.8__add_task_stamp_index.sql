@@ -0,0 +1,11 @@
+--
+-- Index de la table `tasks`
+--
+-- The collection stamp adds SUM(version) to MAX(updated_at) and COUNT: a write
+-- stamped before another one but committed after it moves neither MAX nor
+-- COUNT, but always the version sum. Covering both columns keeps the stamp an
+-- index scan instead of a table scan.
+--
+
+-- findStamp
+CREATE INDEX IF NOT EXISTS idx_tasks_updated_at_version ON tasks (updated_at, version);
@@ -0,0 +1,14 @@
+--
+-- Index de la table `tasks`
+--
+-- Titles are unique among enabled tasks only: a soft deleted task frees its
+-- title. H2 has no partial index, so the unique index covers a generated column
+-- holding the title of enabled tasks and NULL (never a duplicate) for the
+-- others. On PostgreSQL this would be:
+--   CREATE UNIQUE INDEX uk_tasks_enabled_title ON tasks (title) WHERE is_enabled;
+--
+ALTER TABLE tasks ADD COLUMN IF NOT EXISTS enabled_title VARCHAR(100)
+    GENERATED ALWAYS AS (CASE WHEN is_enabled THEN title END);
+
+-- createTask and updateTask duplicate title check
+CREATE UNIQUE INDEX IF NOT EXISTS uk_tasks_enabled_title ON tasks (enabled_title);
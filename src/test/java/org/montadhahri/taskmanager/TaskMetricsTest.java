@@ -0,0 +1,40 @@
+package org.montadhahri.taskmanager;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+/**
+ * Checks that service, repository, connection pool and error metrics reach the Prometheus endpoint.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+class TaskMetricsTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void prometheus_exposesLatencyPercentilesAndErrors() throws Exception {
+        mockMvc.perform(get("/tasks/1")).andExpect(status().isOk());
+        mockMvc.perform(get("/tasks/999999")).andExpect(status().isNotFound());
+
+        String metrics = mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        assertTrue(metrics.contains("task_service_seconds_bucket{application=\"task-manager-backend\",class=\"org.montadhahri.taskmanager.service.TaskServiceImpl\",exception=\"none\",method=\"getTaskById\",le=\"+Inf\"}"), metrics);
+        assertTrue(metrics.contains("spring_data_repository_invocations_seconds_bucket{application=\"task-manager-backend\",exception=\"None\",method=\"findByIdAndIsEnabledTrue\",repository=\"TaskRepository\",state=\"SUCCESS\",le=\"+Inf\"}"), metrics);
+        assertTrue(metrics.contains("hikaricp_connections_acquire_seconds_bucket{application=\"task-manager-backend\",pool=\"HikariPool-1\",le=\"+Inf\"}"), metrics);
+        assertTrue(metrics.contains("task_api_errors_total{application=\"task-manager-backend\",exception=\"ResourceNotFoundException\",handler=\"handleNotFound\"}"), metrics);
+        assertTrue(metrics.contains("cache_gets_total{application=\"task-manager-backend\",cache=\"tasks\""), metrics);
+    }
+}
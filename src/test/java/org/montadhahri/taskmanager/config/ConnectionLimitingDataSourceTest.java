@@ -0,0 +1,79 @@
+package org.montadhahri.taskmanager.config;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.datasource.ConnectionProxy;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+
+@ExtendWith(MockitoExtension.class)
+class ConnectionLimitingDataSourceTest {
+
+    @Mock
+    private DataSource targetDataSource;
+
+    @Mock
+    private Connection targetConnection;
+
+    private ConnectionLimitingDataSource dataSource;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new ConnectionLimitingDataSource(targetDataSource, 1, Duration.ofMillis(50));
+    }
+
+    @Test
+    void getConnection_overLimit_failsAfterTimeout() throws SQLException {
+        when(targetDataSource.getConnection()).thenReturn(targetConnection);
+
+        Connection connection = dataSource.getConnection();
+
+        assertThrows(SQLTransientConnectionException.class, () -> dataSource.getConnection());
+        verify(targetDataSource, times(1)).getConnection();
+        assertSame(targetConnection, ((ConnectionProxy) connection).getTargetConnection());
+    }
+
+    @Test
+    void close_releasesPermitOnce() throws SQLException {
+        when(targetDataSource.getConnection()).thenReturn(targetConnection);
+
+        Connection connection = dataSource.getConnection();
+        connection.close();
+        connection.close();
+
+        assertEquals(1, dataSource.availableConnections());
+        verify(targetConnection, times(2)).close();
+        assertNotNull(dataSource.getConnection());
+    }
+
+    @Test
+    void getConnection_targetFailure_releasesPermit() throws SQLException {
+        when(targetDataSource.getConnection()).thenThrow(new SQLException("pool closed"));
+
+        assertThrows(SQLException.class, () -> dataSource.getConnection());
+
+        assertEquals(1, dataSource.availableConnections());
+    }
+
+    @Test
+    void close_closesTargetPool() throws Exception {
+        HikariDataSource pool = mock(HikariDataSource.class);
+        when(pool.isWrapperFor(AutoCloseable.class)).thenReturn(true);
+        when(pool.unwrap(AutoCloseable.class)).thenReturn(pool);
+
+        new ConnectionLimitingDataSource(pool, 1, Duration.ofMillis(50)).close();
+
+        verify(pool).close();
+    }
+}
@@ -0,0 +1,29 @@
+package org.montadhahri.taskmanager.config;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+import org.montadhahri.taskmanager.service.TaskService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import javax.sql.DataSource;
+
+@SpringBootTest(properties = "spring.threads.virtual.enabled=true")
+class DataSourceConfigTest {
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Test
+    void virtualThreads_limitConnectionsToPoolSize() {
+        ConnectionLimitingDataSource limited = assertInstanceOf(ConnectionLimitingDataSource.class, dataSource);
+
+        assertEquals(10, limited.availableConnections());
+        assertNotNull(taskService.getTaskById(1L));
+        assertEquals(10, limited.availableConnections());
+    }
+}
@@ -0,0 +1,109 @@
+package org.montadhahri.taskmanager.config;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.montadhahri.taskmanager.dto.request.TaskRequestDto;
+import org.montadhahri.taskmanager.exception.ResourceNotFoundException;
+import org.montadhahri.taskmanager.service.TaskService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import javax.sql.DataSource;
+
+/**
+ * Routing between two H2 databases standing in for a primary and its replica. Nothing is replicated,
+ * so a task inserted on the replica only tells which database served a read.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=" + ReadWriteRoutingDataSourceTest.PRIMARY_URL,
+        "spring.cache.type=none",
+        "application.page-cache.enabled=false",
+        "application.coalescing.window=0"})
+@ActiveProfiles("replica")
+@AutoConfigureMockMvc
+class ReadWriteRoutingDataSourceTest {
+
+    static final String PRIMARY_URL = "jdbc:h2:mem:routing-primary;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE";
+
+    // the replica of application-replica.properties
+    private static final String REPLICA_URL = "jdbc:h2:mem:taskdb-replica;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE";
+
+    private static final long REPLICA_ONLY_ID = 1000L;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final JdbcTemplate primary = new JdbcTemplate(new DriverManagerDataSource(PRIMARY_URL, "sa", ""));
+
+    private final JdbcTemplate replica = new JdbcTemplate(new DriverManagerDataSource(REPLICA_URL, "sa", ""));
+
+    @BeforeEach
+    void setUp() {
+        replica.update("MERGE INTO tasks (id, title, description, status, is_enabled) KEY (id) " +
+                "VALUES (?, 'Replica only', 'Not on the primary', 'TODO', TRUE)", REPLICA_ONLY_ID);
+    }
+
+    @Test
+    void readOnlyTransactions_readFromReplica() {
+        assertInstanceOf(ReadWriteRoutingDataSource.class, dataSource);
+
+        assertEquals("Replica only", taskService.getTaskById(REPLICA_ONLY_ID).getTitle());
+        try (ReadWriteRoutingDataSource.PrimaryScope ignored = ReadWriteRoutingDataSource.primaryScope()) {
+            assertThrows(ResourceNotFoundException.class, () -> taskService.getTaskById(REPLICA_ONLY_ID));
+        }
+    }
+
+    @Test
+    void writes_goToPrimary() {
+        taskService.createTask(new TaskRequestDto("Routed write", "Only on the primary", null));
+
+        String countSql = "SELECT COUNT(*) FROM tasks WHERE title = 'Routed write'";
+        assertEquals(1, primary.queryForObject(countSql, Integer.class));
+        assertEquals(0, replica.queryForObject(countSql, Integer.class));
+    }
+
+    @Test
+    void clientReadsFromPrimary_afterItsWrite() throws Exception {
+        mockMvc.perform(get("/tasks/{id}", REPLICA_ONLY_ID))
+                .andExpect(status().isOk());
+
+        TaskRequestDto request = new TaskRequestDto("Own write", "Read back by its author", null);
+        Cookie lastWrite = mockMvc.perform(post("/tasks")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated())
+                .andExpect(cookie().httpOnly("last-write", true))
+                .andReturn().getResponse().getCookie("last-write");
+        assertNotNull(lastWrite);
+
+        mockMvc.perform(get("/tasks").param("page", "1").param("offset", "100").cookie(lastWrite))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[?(@.title == 'Own write')]").exists());
+        mockMvc.perform(get("/tasks/{id}", REPLICA_ONLY_ID).cookie(lastWrite))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/tasks/{id}", REPLICA_ONLY_ID))
+                .andExpect(status().isOk());
+    }
+}
@@ -0,0 +1,115 @@
+package org.montadhahri.taskmanager.config;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.montadhahri.taskmanager.enumeration.ReplicaPolicy;
+import org.springframework.jdbc.datasource.ConnectionProxy;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+
+@ExtendWith(MockitoExtension.class)
+class ReplicaDataSourceTest {
+
+    @Mock
+    private DataSource primary;
+
+    @Mock
+    private DataSource firstReplica;
+
+    @Mock
+    private DataSource secondReplica;
+
+    @Mock
+    private Connection primaryConnection;
+
+    @Mock
+    private Connection firstConnection;
+
+    @Mock
+    private Connection secondConnection;
+
+    @Test
+    void roundRobin_alternatesReplicas() throws SQLException {
+        when(firstReplica.getConnection()).thenReturn(firstConnection);
+        when(secondReplica.getConnection()).thenReturn(secondConnection);
+        ReplicaDataSource dataSource = new ReplicaDataSource(primary, List.of(firstReplica, secondReplica), ReplicaPolicy.ROUND_ROBIN);
+
+        assertSame(firstConnection, target(dataSource.getConnection()));
+        assertSame(secondConnection, target(dataSource.getConnection()));
+        assertSame(firstConnection, target(dataSource.getConnection()));
+        verifyNoInteractions(primary);
+    }
+
+    @Test
+    void leastConnections_picksReplicaWithFewestOpenConnections() throws SQLException {
+        when(firstReplica.getConnection()).thenReturn(firstConnection);
+        when(secondReplica.getConnection()).thenReturn(secondConnection);
+        ReplicaDataSource dataSource = new ReplicaDataSource(primary, List.of(firstReplica, secondReplica), ReplicaPolicy.LEAST_CONNECTIONS);
+
+        Connection first = dataSource.getConnection();
+        Connection second = dataSource.getConnection();
+        second.close();
+
+        assertSame(firstConnection, target(first));
+        assertSame(secondConnection, target(dataSource.getConnection()));
+        assertSame(secondConnection, target(dataSource.getConnection()));
+        assertEquals(1, dataSource.openConnections(0));
+        assertEquals(2, dataSource.openConnections(1));
+    }
+
+    @Test
+    void close_countsConnectionOnce() throws SQLException {
+        when(firstReplica.getConnection()).thenReturn(firstConnection);
+        ReplicaDataSource dataSource = new ReplicaDataSource(primary, List.of(firstReplica), ReplicaPolicy.LEAST_CONNECTIONS);
+
+        Connection connection = dataSource.getConnection();
+        connection.close();
+        connection.close();
+
+        assertEquals(0, dataSource.openConnections(0));
+    }
+
+    @Test
+    void primaryScope_readsFromPrimary() throws SQLException {
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        ReplicaDataSource dataSource = new ReplicaDataSource(primary, List.of(firstReplica), ReplicaPolicy.ROUND_ROBIN);
+
+        try (ReadWriteRoutingDataSource.PrimaryScope ignored = ReadWriteRoutingDataSource.primaryScope()) {
+            assertSame(primaryConnection, dataSource.getConnection());
+        }
+
+        assertFalse(ReadWriteRoutingDataSource.isPrimaryRequired());
+        verifyNoInteractions(firstReplica);
+    }
+
+    @Test
+    void unavailableReplica_fallsBackToPrimary() throws SQLException {
+        when(firstReplica.getConnection()).thenThrow(new SQLException("replica down"));
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        ReplicaDataSource dataSource = new ReplicaDataSource(primary, List.of(firstReplica), ReplicaPolicy.ROUND_ROBIN);
+
+        assertSame(primaryConnection, dataSource.getConnection());
+        assertEquals(0, dataSource.openConnections(0));
+    }
+
+    @Test
+    void explicitCredentials_readFromPrimary() throws SQLException {
+        when(primary.getConnection("reporting", "secret")).thenReturn(primaryConnection);
+        ReplicaDataSource dataSource = new ReplicaDataSource(primary, List.of(firstReplica), ReplicaPolicy.ROUND_ROBIN);
+
+        assertSame(primaryConnection, dataSource.getConnection("reporting", "secret"));
+        verifyNoInteractions(firstReplica);
+    }
+
+    private static Connection target(Connection connection) {
+        return ((ConnectionProxy) connection).getTargetConnection();
+    }
+}
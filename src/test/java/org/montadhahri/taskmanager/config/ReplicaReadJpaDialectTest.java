@@ -0,0 +1,65 @@
+package org.montadhahri.taskmanager.config;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.montadhahri.taskmanager.exception.ResourceNotFoundException;
+import org.montadhahri.taskmanager.repository.TaskRepository;
+import org.montadhahri.taskmanager.service.TaskService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Caches filled with routing on, both Hibernate's (l2cache profile) and the task cache: a row only the replica
+ * has must never be cached, or the primary's readers would get it too.
+ */
+@SpringBootTest(properties = "spring.datasource.url=" + ReplicaReadJpaDialectTest.PRIMARY_URL)
+@ActiveProfiles({"replica", "l2cache"})
+class ReplicaReadJpaDialectTest {
+
+    static final String PRIMARY_URL = "jdbc:h2:mem:replica-cache-primary;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE";
+
+    // the replica of application-replica.properties
+    private static final String REPLICA_URL = "jdbc:h2:mem:taskdb-replica;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE";
+
+    private static final long REPLICA_ONLY_ID = 1001L;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final JdbcTemplate replica = new JdbcTemplate(new DriverManagerDataSource(REPLICA_URL, "sa", ""));
+
+    @BeforeEach
+    void setUp() {
+        replica.update("MERGE INTO tasks (id, title, description, status, is_enabled) KEY (id) " +
+                "VALUES (?, 'Cached replica only', 'Not on the primary', 'TODO', TRUE)", REPLICA_ONLY_ID);
+    }
+
+    @Test
+    void replicaReads_areNotCachedByHibernate() {
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        assertTrue(readOnly.execute(status -> taskRepository.findByIdAndIsEnabledTrue(REPLICA_ONLY_ID)).isPresent());
+        try (ReadWriteRoutingDataSource.PrimaryScope ignored = ReadWriteRoutingDataSource.primaryScope()) {
+            assertTrue(readOnly.execute(status -> taskRepository.findByIdAndIsEnabledTrue(REPLICA_ONLY_ID)).isEmpty());
+        }
+    }
+
+    @Test
+    void cachedTask_isLoadedFromPrimary() {
+        assertThrows(ResourceNotFoundException.class, () -> taskService.getTaskById(REPLICA_ONLY_ID));
+    }
+}
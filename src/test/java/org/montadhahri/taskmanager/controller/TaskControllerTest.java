@@ -1,28 +1,63 @@
 package org.montadhahri.taskmanager.controller;
 
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.startsWith;
+import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.MappingIterator;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.montadhahri.taskmanager.dto.CursorPageDto;
 import org.montadhahri.taskmanager.dto.PageDto;
+import org.montadhahri.taskmanager.dto.request.TaskBulkStatusUpdateDto;
 import org.montadhahri.taskmanager.dto.request.TaskRequestDto;
 import org.montadhahri.taskmanager.dto.request.TaskStatusUpdateDto;
+import org.montadhahri.taskmanager.dto.response.TaskBatchItemDto;
+import org.montadhahri.taskmanager.dto.response.TaskBatchResultDto;
+import org.montadhahri.taskmanager.dto.response.TaskBulkResultDto;
+import org.montadhahri.taskmanager.dto.response.TaskChangeDto;
+import org.montadhahri.taskmanager.dto.response.TaskChangesDto;
+import org.montadhahri.taskmanager.dto.response.TaskFieldsetDto;
 import org.montadhahri.taskmanager.dto.response.TaskResponseDto;
+import org.montadhahri.taskmanager.dto.response.TaskStatsDto;
+import org.montadhahri.taskmanager.enumeration.BatchItemStatus;
+import org.montadhahri.taskmanager.enumeration.CountMode;
+import org.montadhahri.taskmanager.enumeration.TaskField;
 import org.montadhahri.taskmanager.enumeration.TaskStatus;
+import org.montadhahri.taskmanager.exception.ConflictException;
+import org.montadhahri.taskmanager.exception.VersionConflictException;
+import org.montadhahri.taskmanager.repository.TaskStamp;
+import org.montadhahri.taskmanager.service.TaskEventBroadcaster;
 import org.montadhahri.taskmanager.service.TaskService;
+import org.montadhahri.taskmanager.util.TaskETags;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 
-@SpringBootTest
+@SpringBootTest(properties = {"application.coalescing.window=0", "application.page-cache.enabled=false"})
 @AutoConfigureMockMvc
 class TaskControllerTest {
 
@@ -32,9 +67,14 @@ class TaskControllerTest {
     @MockBean
     private TaskService taskService;
 
+    @MockBean
+    private TaskEventBroadcaster taskEventBroadcaster;
+
     @Autowired
     private ObjectMapper objectMapper;
 
+    private static final LocalDateTime UPDATED_AT = LocalDateTime.of(2025, 1, 1, 10, 0, 0, 123_456_000);
+
     private TaskResponseDto responseDto;
 
     @BeforeEach
@@ -44,6 +84,29 @@ class TaskControllerTest {
         responseDto.setTitle("Test Task");
         responseDto.setDescription("Description");
         responseDto.setStatus(TaskStatus.TODO);
+        responseDto.setUpdatedAt(UPDATED_AT);
+        responseDto.setVersion(3L);
+
+        when(taskService.getTasksStamp()).thenReturn(stamp(UPDATED_AT, 20));
+    }
+
+    private static TaskStamp stamp(LocalDateTime lastModified, long total) {
+        return new TaskStamp() {
+            @Override
+            public LocalDateTime getLastModified() {
+                return lastModified;
+            }
+
+            @Override
+            public long getTotal() {
+                return total;
+            }
+
+            @Override
+            public long getVersionSum() {
+                return 0;
+            }
+        };
     }
 
     @Test
@@ -61,6 +124,41 @@ class TaskControllerTest {
         verify(taskService).createTask(any(TaskRequestDto.class));
     }
 
+    @Test
+    void createTasks_concurrentDuplicateTitle_returnsConflict() throws Exception {
+        List<TaskRequestDto> requests = List.of(new TaskRequestDto("Test Task", "Description"));
+
+        when(taskService.createTasks(requests)).thenThrow(new DataIntegrityViolationException("could not execute batch",
+                new ConstraintViolationException("Unique index or primary key violation", null, "PUBLIC.UK_TASKS_ENABLED_TITLE")));
+
+        mockMvc.perform(post("/tasks/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(requests)))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.message").value("Task title already exists"));
+    }
+
+    @Test
+    void createTasks_returnsPerItemResults() throws Exception {
+        List<TaskRequestDto> requests = List.of(new TaskRequestDto("Test Task", "Description"),
+                new TaskRequestDto("Test Task", null));
+        TaskBatchResultDto result = new TaskBatchResultDto(1, 1, List.of(
+                new TaskBatchItemDto(0, BatchItemStatus.CREATED, responseDto, null),
+                new TaskBatchItemDto(1, BatchItemStatus.DUPLICATE, null, "Task title already exists: Test Task")));
+
+        when(taskService.createTasks(anyList())).thenReturn(result);
+
+        mockMvc.perform(post("/tasks/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(requests)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created").value(1))
+                .andExpect(jsonPath("$.items[0].task.id").value(1))
+                .andExpect(jsonPath("$.items[1].status").value("DUPLICATE"));
+
+        verify(taskService).createTasks(anyList());
+    }
+
     @Test
     void getTaskById_returnsTask() throws Exception {
         when(taskService.getTaskById(1L)).thenReturn(responseDto);
@@ -72,6 +170,161 @@ class TaskControllerTest {
         verify(taskService).getTaskById(1L);
     }
 
+    @Test
+    void getTaskById_nullFields_areSerialized() throws Exception {
+        responseDto.setDescription(null);
+        when(taskService.getTaskById(1L)).thenReturn(responseDto);
+
+        mockMvc.perform(get("/tasks/1"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("\"description\":null")));
+    }
+
+    @Test
+    void getTaskById_returnsETag() throws Exception {
+        when(taskService.getTaskById(1L)).thenReturn(responseDto);
+
+        mockMvc.perform(get("/tasks/1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, TaskETags.of(responseDto)))
+                .andExpect(header().exists(HttpHeaders.LAST_MODIFIED));
+    }
+
+    @Test
+    void getTaskById_matchingIfNoneMatch_returnsNotModified() throws Exception {
+        when(taskService.getTaskById(1L)).thenReturn(responseDto);
+
+        mockMvc.perform(get("/tasks/1").header(HttpHeaders.IF_NONE_MATCH, TaskETags.of(responseDto)))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void getTaskById_staleIfNoneMatch_returnsTask() throws Exception {
+        String staleETag = TaskETags.of(responseDto);
+        responseDto.setUpdatedAt(UPDATED_AT.plusSeconds(1));
+        responseDto.setVersion(4L);
+        when(taskService.getTaskById(1L)).thenReturn(responseDto);
+
+        mockMvc.perform(get("/tasks/1").header(HttpHeaders.IF_NONE_MATCH, staleETag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(1L));
+    }
+
+    @Test
+    void getTaskStats_returnsCountsAndHistograms() throws Exception {
+        Map<TaskStatus, Long> counts = new LinkedHashMap<>();
+        counts.put(TaskStatus.TODO, 3L);
+        counts.put(TaskStatus.IN_PROGRESS, 2L);
+        counts.put(TaskStatus.DONE, 1L);
+        TaskStatsDto stats = new TaskStatsDto(counts, 6L,
+                Map.of(LocalDate.of(2025, 7, 1), 4L), Map.of(LocalDate.of(2025, 7, 1), 1L));
+
+        when(taskService.getTaskStats()).thenReturn(stats);
+
+        mockMvc.perform(get("/tasks/stats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.counts.TODO").value(3))
+                .andExpect(jsonPath("$.total").value(6))
+                .andExpect(jsonPath("$.createdPerDay['2025-07-01']").value(4))
+                .andExpect(jsonPath("$.completedPerDay['2025-07-01']").value(1));
+    }
+
+    @Test
+    void streamTaskEvents_subscribesFromLastEventId() throws Exception {
+        when(taskEventBroadcaster.subscribe("abc-12")).thenReturn(new SseEmitter());
+
+        mockMvc.perform(get("/tasks/events").header("Last-Event-ID", "abc-12"))
+                .andExpect(request().asyncStarted());
+
+        verify(taskEventBroadcaster).subscribe("abc-12");
+    }
+
+    @Test
+    void searchTasks_returnsRankedPage() throws Exception {
+        PageDto<TaskResponseDto> pageDto = new PageDto<>(List.of(responseDto), 1L, null);
+
+        when(taskService.searchTasks("test task", 1, 10)).thenReturn(pageDto);
+
+        mockMvc.perform(get("/tasks/search").param("q", "test task"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].id").value(1L))
+                .andExpect(jsonPath("$.count").value(1));
+
+        verify(taskService).searchTasks("test task", 1, 10);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void exportTasks_streamsNdjson() throws Exception {
+        doAnswer(invocation -> {
+            Consumer<TaskResponseDto> sink = invocation.getArgument(1);
+            sink.accept(responseDto);
+            sink.accept(responseDto);
+            return 2L;
+        }).when(taskService).exportTasks(eq(TaskStatus.TODO), any(Consumer.class));
+
+        MvcResult result = mockMvc.perform(get("/tasks/export").param("status", "TODO"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_TYPE, "application/x-ndjson"))
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"tasks.ndjson\""))
+                .andReturn().getResponse().getContentAsString();
+
+        String[] lines = body.split("\n");
+        assertEquals(2, lines.length);
+        assertEquals(responseDto, objectMapper.readValue(lines[0], TaskResponseDto.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void exportTasks_streamsCsv() throws Exception {
+        responseDto.setDescription("Buy milk, \"fresh\"");
+        doAnswer(invocation -> {
+            Consumer<TaskResponseDto> sink = invocation.getArgument(1);
+            sink.accept(responseDto);
+            return 1L;
+        }).when(taskService).exportTasks(isNull(), any(Consumer.class));
+
+        MvcResult result = mockMvc.perform(get("/tasks/export").param("format", "csv"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_TYPE, "text/csv"))
+                .andExpect(content().string("id,title,description,status,updatedAt\r\n"
+                        + "1,Test Task,\"Buy milk, \"\"fresh\"\"\",TODO," + UPDATED_AT + "\r\n"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void exportTasks_streamsCborSequence() throws Exception {
+        doAnswer(invocation -> {
+            Consumer<TaskResponseDto> sink = invocation.getArgument(1);
+            sink.accept(responseDto);
+            sink.accept(responseDto);
+            return 2L;
+        }).when(taskService).exportTasks(isNull(), any(Consumer.class));
+
+        MvcResult result = mockMvc.perform(get("/tasks/export").param("format", "cbor"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        byte[] body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_TYPE, "application/cbor-seq"))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        try (MappingIterator<TaskResponseDto> tasks = objectMapper.copyWith(new CBORFactory())
+                .readerFor(TaskResponseDto.class).readValues(body)) {
+            assertEquals(List.of(responseDto, responseDto), tasks.readAll());
+        }
+    }
+
     @Test
     void updateTask_returnsUpdatedTask() throws Exception {
         TaskRequestDto updateRequest = new TaskRequestDto("Updated Task", "Updated Description");
@@ -90,6 +343,41 @@ class TaskControllerTest {
         verify(taskService).updateTask(eq(1L), any(TaskRequestDto.class));
     }
 
+    @Test
+    void updateTask_staleIfMatch_returnsPreconditionFailed() throws Exception {
+        TaskRequestDto updateRequest = new TaskRequestDto("Updated Task", "Updated Description");
+
+        // the version of the If-Match ETag is checked by the update itself
+        when(taskService.updateTask(eq(1L), argThat(dto -> Long.valueOf(3L).equals(dto.getVersion()))))
+                .thenThrow(new VersionConflictException("Task 1 was modified, current version: 4"));
+
+        mockMvc.perform(put("/tasks/1")
+                        .header(HttpHeaders.IF_MATCH, TaskETags.of(responseDto))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(updateRequest)))
+                .andExpect(status().isPreconditionFailed());
+
+        verify(taskService, never()).getTaskById(anyLong());
+    }
+
+    @Test
+    void updateTask_ifUnmodifiedSince_expectsCurrentVersion() throws Exception {
+        TaskRequestDto updateRequest = new TaskRequestDto("Updated Task", "Updated Description");
+        HttpHeaders headers = new HttpHeaders();
+        headers.setIfUnmodifiedSince(TaskETags.lastModified(UPDATED_AT.plusSeconds(1)));
+
+        when(taskService.getTaskById(1L)).thenReturn(responseDto);
+        when(taskService.updateTask(eq(1L), any(TaskRequestDto.class))).thenReturn(responseDto);
+
+        mockMvc.perform(put("/tasks/1")
+                        .headers(headers)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(updateRequest)))
+                .andExpect(status().isOk());
+
+        verify(taskService).updateTask(eq(1L), argThat(dto -> Long.valueOf(3L).equals(dto.getVersion())));
+    }
+
     @Test
     void updateTaskStatus_returnsUpdatedTask() throws Exception {
         TaskStatusUpdateDto statusDto = new TaskStatusUpdateDto();
@@ -97,7 +385,7 @@ class TaskControllerTest {
 
         responseDto.setStatus(TaskStatus.DONE);
 
-        when(taskService.updateTaskStatus(1L, TaskStatus.DONE)).thenReturn(responseDto);
+        when(taskService.updateTaskStatus(1L, TaskStatus.DONE, null, null)).thenReturn(responseDto);
 
         mockMvc.perform(patch("/tasks/1/status")
                         .contentType(MediaType.APPLICATION_JSON)
@@ -105,7 +393,70 @@ class TaskControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.status").value("DONE"));
 
-        verify(taskService).updateTaskStatus(1L, TaskStatus.DONE);
+        verify(taskService).updateTaskStatus(1L, TaskStatus.DONE, null, null);
+    }
+
+    @Test
+    void updateTaskStatus_matchingIfMatch_returnsNewETag() throws Exception {
+        TaskStatusUpdateDto statusDto = new TaskStatusUpdateDto();
+        statusDto.setStatus(TaskStatus.DONE);
+        TaskResponseDto updated = new TaskResponseDto();
+        updated.setId(1L);
+        updated.setStatus(TaskStatus.DONE);
+        updated.setUpdatedAt(UPDATED_AT.plusSeconds(1));
+        updated.setVersion(4L);
+
+        when(taskService.updateTaskStatus(1L, TaskStatus.DONE, 3L, null)).thenReturn(updated);
+
+        mockMvc.perform(patch("/tasks/1/status")
+                        .header(HttpHeaders.IF_MATCH, TaskETags.of(responseDto))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(statusDto)))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, TaskETags.of(updated)));
+
+        verify(taskService).updateTaskStatus(1L, TaskStatus.DONE, 3L, null);
+        verify(taskService, never()).getTaskById(anyLong());
+    }
+
+    @Test
+    void updateTaskStatus_outdatedCurrentStatus_returnsConflict() throws Exception {
+        TaskStatusUpdateDto statusDto = new TaskStatusUpdateDto(TaskStatus.IN_PROGRESS, 3L, TaskStatus.TODO);
+
+        when(taskService.updateTaskStatus(1L, TaskStatus.IN_PROGRESS, 3L, TaskStatus.TODO))
+                .thenThrow(new ConflictException("Task 1 is not TODO but DONE"));
+
+        mockMvc.perform(patch("/tasks/1/status")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(statusDto)))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.message").value("Task 1 is not TODO but DONE"));
+    }
+
+    @Test
+    void updateTasksStatus_returnsAffectedCount() throws Exception {
+        TaskBulkStatusUpdateDto bulkDto = new TaskBulkStatusUpdateDto(List.of(1L, 2L), null, TaskStatus.DONE);
+
+        when(taskService.updateTasksStatus(List.of(1L, 2L), null, TaskStatus.DONE)).thenReturn(new TaskBulkResultDto(2));
+
+        mockMvc.perform(patch("/tasks/status")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(bulkDto)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.affected").value(2));
+
+        verify(taskService).updateTasksStatus(List.of(1L, 2L), null, TaskStatus.DONE);
+    }
+
+    @Test
+    void softDeleteTasks_returnsAffectedCount() throws Exception {
+        when(taskService.softDeleteTasks(null, TaskStatus.DONE)).thenReturn(new TaskBulkResultDto(3));
+
+        mockMvc.perform(delete("/tasks").param("status", "DONE"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.affected").value(3));
+
+        verify(taskService).softDeleteTasks(null, TaskStatus.DONE);
     }
 
     @Test
@@ -125,7 +476,7 @@ class TaskControllerTest {
         pageDto.setItems(List.of(responseDto));
         pageDto.setCount(1L);
 
-        when(taskService.getAllTasks(1, 10, TaskStatus.TODO)).thenReturn(pageDto);
+        when(taskService.getAllTasks(1, 10, TaskStatus.TODO, CountMode.EXACT, null)).thenReturn(pageDto);
 
         mockMvc.perform(get("/tasks")
                         .param("page", "1")
@@ -137,7 +488,7 @@ class TaskControllerTest {
                 .andExpect(jsonPath("$.items[0].status").value("TODO"))
                 .andExpect(jsonPath("$.items[0].id").value(1));
 
-        verify(taskService, times(1)).getAllTasks(1, 10, TaskStatus.TODO);
+        verify(taskService, times(1)).getAllTasks(1, 10, TaskStatus.TODO, CountMode.EXACT, null);
     }
 
     @Test
@@ -147,7 +498,7 @@ class TaskControllerTest {
         pageDto.setItems(List.of(responseDto));
         pageDto.setCount(1L);
 
-        when(taskService.getAllTasks(2, 5, null)).thenReturn(pageDto);
+        when(taskService.getAllTasks(2, 5, null, CountMode.EXACT, null)).thenReturn(pageDto);
 
         mockMvc.perform(get("/tasks")
                         .param("page", "2")
@@ -158,6 +509,176 @@ class TaskControllerTest {
                 .andExpect(jsonPath("$.items[0].status").value("TODO"))
                 .andExpect(jsonPath("$.items[0].id").value(1));
 
-        verify(taskService, times(1)).getAllTasks(2, 5, null);
+        verify(taskService, times(1)).getAllTasks(2, 5, null, CountMode.EXACT, null);
+    }
+
+    @Test
+    void getAllTasks_countNone_returnsSliceWithoutCount() throws Exception {
+
+        PageDto<TaskResponseDto> pageDto = new PageDto<>();
+        pageDto.setItems(List.of(responseDto));
+        pageDto.setHasNext(true);
+
+        when(taskService.getAllTasks(1, 1, null, CountMode.NONE, null)).thenReturn(pageDto);
+
+        mockMvc.perform(get("/tasks")
+                        .param("page", "1")
+                        .param("offset", "1")
+                        .param("count", "none")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.count").doesNotExist())
+                .andExpect(jsonPath("$.hasNext").value(true))
+                .andExpect(jsonPath("$.items[0].id").value(1));
+
+        verify(taskService, times(1)).getAllTasks(1, 1, null, CountMode.NONE, null);
+    }
+
+    @Test
+    void getAllTasks_matchingIfNoneMatch_returnsNotModifiedWithoutQuery() throws Exception {
+        mockMvc.perform(get("/tasks")
+                        .param("page", "1")
+                        .param("offset", "10")
+                        .header(HttpHeaders.IF_NONE_MATCH, TaskETags.of(stamp(UPDATED_AT, 20))))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.VARY, "Accept, Accept-Encoding"))
+                .andExpect(content().string(""));
+
+        verify(taskService, never()).getAllTasks(any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void getAllTasks_afterWrite_returnsPage() throws Exception {
+        PageDto<TaskResponseDto> pageDto = new PageDto<>(List.of(responseDto), 21L, null);
+
+        when(taskService.getTasksStamp()).thenReturn(stamp(UPDATED_AT.plusSeconds(1), 21));
+        when(taskService.getAllTasks(1, 10, null, CountMode.EXACT, null)).thenReturn(pageDto);
+
+        mockMvc.perform(get("/tasks")
+                        .param("page", "1")
+                        .param("offset", "10")
+                        .header(HttpHeaders.IF_NONE_MATCH, TaskETags.of(stamp(UPDATED_AT, 20))))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, TaskETags.of(stamp(UPDATED_AT.plusSeconds(1), 21))))
+                .andExpect(jsonPath("$.count").value(21));
+    }
+
+    @Test
+    void getAllTasks_pageOlderThanCheckedStamp_returnsThePageStamp() throws Exception {
+        PageDto<TaskResponseDto> pageDto = new PageDto<>(List.of(responseDto), 20L, null);
+
+        // a write commits between the If-None-Match check and the page read, whose stamp is the ETag
+        when(taskService.getTasksStamp()).thenReturn(stamp(UPDATED_AT.plusSeconds(1), 21), stamp(UPDATED_AT, 20));
+        when(taskService.getAllTasks(1, 10, null, CountMode.EXACT, null)).thenReturn(pageDto);
+
+        mockMvc.perform(get("/tasks")
+                        .param("page", "1")
+                        .param("offset", "10"))
+                .andExpect(status().isOk())
+                .andExpect(header().stringValues(HttpHeaders.ETAG, TaskETags.of(stamp(UPDATED_AT, 20))))
+                .andExpect(jsonPath("$.count").value(20));
+    }
+
+    @Test
+    void getAllTasks_invalidCount_returnsBadRequest() throws Exception {
+        mockMvc.perform(get("/tasks")
+                        .param("page", "1")
+                        .param("offset", "1")
+                        .param("count", "approximate"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(taskService);
+    }
+
+    @Test
+    void getAllTasks_withFields_returnsOnlyRequestedFields() throws Exception {
+        TaskResponseDto summary = new TaskResponseDto();
+        summary.setId(1L);
+        summary.setTitle("Task 1");
+        summary.setStatus(TaskStatus.TODO);
+        PageDto<TaskResponseDto> pageDto = new PageDto<>(List.of(new TaskFieldsetDto(summary)), 1L, null);
+        EnumSet<TaskField> fields = EnumSet.of(TaskField.ID, TaskField.TITLE, TaskField.STATUS, TaskField.UPDATED_AT);
+
+        when(taskService.getAllTasks(1, 10, null, CountMode.EXACT, fields)).thenReturn(pageDto);
+
+        mockMvc.perform(get("/tasks")
+                        .param("page", "1")
+                        .param("offset", "10")
+                        .param("fields", "id,title,STATUS,updatedAt")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].title").value("Task 1"))
+                .andExpect(content().string(not(containsString("description"))))
+                .andExpect(content().string(not(containsString("version"))));
+
+        verify(taskService, times(1)).getAllTasks(1, 10, null, CountMode.EXACT, fields);
+    }
+
+    @Test
+    void getAllTasks_acceptCbor_returnsCborPage() throws Exception {
+        PageDto<TaskResponseDto> pageDto = new PageDto<>(List.of(responseDto), 1L, null);
+
+        when(taskService.getAllTasks(1, 10, null, CountMode.EXACT, null)).thenReturn(pageDto);
+
+        byte[] body = mockMvc.perform(get("/tasks")
+                        .param("page", "1")
+                        .param("offset", "10")
+                        .accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andExpect(header().string(HttpHeaders.VARY, "Accept, Accept-Encoding"))
+                .andExpect(header().string(HttpHeaders.ETAG, startsWith("W/")))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        PageDto<TaskResponseDto> page = objectMapper.copyWith(new CBORFactory()).readValue(body, new TypeReference<>() { });
+        assertEquals(pageDto, page);
+        assertTrue(body.length < objectMapper.writeValueAsBytes(pageDto).length);
+    }
+
+    @Test
+    void getAllTasks_unknownField_returnsBadRequest() throws Exception {
+        mockMvc.perform(get("/tasks")
+                        .param("page", "1")
+                        .param("offset", "10")
+                        .param("fields", "id,owner"))
+                .andExpect(status().isBadRequest());
+
+        verify(taskService, never()).getAllTasks(any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void getTasksByCursor_returnsCursorPageDto() throws Exception {
+
+        CursorPageDto<TaskResponseDto> pageDto = new CursorPageDto<>(List.of(responseDto), "next-token");
+
+        when(taskService.getTasksAfter(10, "token", TaskStatus.TODO)).thenReturn(pageDto);
+
+        mockMvc.perform(get("/tasks/cursor")
+                        .param("limit", "10")
+                        .param("after", "token")
+                        .param("status", "TODO")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.nextCursor").value("next-token"))
+                .andExpect(jsonPath("$.items[0].id").value(1));
+
+        verify(taskService, times(1)).getTasksAfter(10, "token", TaskStatus.TODO);
+    }
+
+    @Test
+    void getTaskChanges_returnsChangesAndCursor() throws Exception {
+        LocalDateTime since = LocalDateTime.of(2025, 7, 1, 8, 30);
+        TaskChangesDto changesDto = new TaskChangesDto(
+                List.of(new TaskChangeDto(1L, UPDATED_AT, false, responseDto), new TaskChangeDto(2L, UPDATED_AT, true, null)),
+                "next-token", true);
+
+        when(taskService.getTaskChanges(since, null, 100)).thenReturn(changesDto);
+
+        mockMvc.perform(get("/tasks/changes").param("since", "2025-07-01T08:30:00"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.changes[0].task.id").value(1))
+                .andExpect(jsonPath("$.changes[1].deleted").value(true))
+                .andExpect(jsonPath("$.cursor").value("next-token"))
+                .andExpect(jsonPath("$.hasMore").value(true));
     }
 }
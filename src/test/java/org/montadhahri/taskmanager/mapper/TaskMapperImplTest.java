@@ -0,0 +1,67 @@
+package org.montadhahri.taskmanager.mapper;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+import org.montadhahri.taskmanager.dto.request.TaskRequestDto;
+import org.montadhahri.taskmanager.dto.response.TaskResponseDto;
+import org.montadhahri.taskmanager.entity.Task;
+import org.montadhahri.taskmanager.enumeration.TaskStatus;
+import org.montadhahri.taskmanager.repository.TaskSummaryView;
+
+import java.time.LocalDateTime;
+
+class TaskMapperImplTest {
+
+    private final TaskMapper taskMapper = new TaskMapperImpl();
+
+    @Test
+    void toEntity_copiesRequestFields() {
+        Task task = taskMapper.toEntity(new TaskRequestDto("Task 1", "description"));
+
+        assertNull(task.getId());
+        assertEquals("Task 1", task.getTitle());
+        assertEquals("description", task.getDescription());
+        assertTrue(task.isEnabled());
+    }
+
+    @Test
+    void toEntity_skipsNullDescription() {
+        Task task = taskMapper.toEntity(new TaskRequestDto("Task 1", null));
+
+        assertEquals("Task 1", task.getTitle());
+        assertNull(task.getDescription());
+    }
+
+    @Test
+    void toResponseDto_copiesEntityFields() {
+        Task task = new Task();
+        task.setId(1L);
+        task.setTitle("Task 1");
+        task.setDescription("description");
+        task.setStatus(TaskStatus.IN_PROGRESS);
+        task.setUpdatedAt(LocalDateTime.of(2025, 1, 1, 10, 0));
+
+        TaskResponseDto dto = taskMapper.toResponseDto(task);
+
+        assertEquals(1L, dto.getId());
+        assertEquals("Task 1", dto.getTitle());
+        assertEquals("description", dto.getDescription());
+        assertEquals(TaskStatus.IN_PROGRESS, dto.getStatus());
+        assertEquals(LocalDateTime.of(2025, 1, 1, 10, 0), dto.getUpdatedAt());
+    }
+
+    @Test
+    void toResponseDto_copiesSummaryFields() {
+        TaskSummaryView summary = new TaskSummaryView(1L, "Task 1", TaskStatus.DONE, LocalDateTime.of(2025, 1, 1, 10, 0), 2L);
+
+        TaskResponseDto dto = taskMapper.toResponseDto(summary);
+
+        assertEquals(1L, dto.getId());
+        assertEquals("Task 1", dto.getTitle());
+        assertNull(dto.getDescription());
+        assertEquals(TaskStatus.DONE, dto.getStatus());
+        assertEquals(LocalDateTime.of(2025, 1, 1, 10, 0), dto.getUpdatedAt());
+        assertEquals(2L, dto.getVersion());
+    }
+}
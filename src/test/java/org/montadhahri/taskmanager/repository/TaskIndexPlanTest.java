@@ -0,0 +1,106 @@
+package org.montadhahri.taskmanager.repository;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Checks that the list and lookup queries of {@link TaskRepository} are served by the
+ * indexes of the migrations instead of a full table scan.
+ */
+@DataJpaTest
+class TaskIndexPlanTest {
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    private String explain(String sql) {
+        return entityManager.createNativeQuery("EXPLAIN " + sql).getSingleResult().toString();
+    }
+
+    @Test
+    void findByIsEnabledTrue_usesEnabledCreatedIndex() {
+        String plan = explain("SELECT t.id FROM tasks t WHERE t.is_enabled = TRUE ORDER BY t.created_at LIMIT 20 OFFSET 40");
+
+        assertTrue(plan.contains("IDX_TASKS_ENABLED_CREATED"), plan);
+    }
+
+    @Test
+    void countEnabled_usesEnabledCreatedIndex() {
+        String plan = explain("SELECT COUNT(t.id) FROM tasks t WHERE t.is_enabled = TRUE");
+
+        assertTrue(plan.contains("IDX_TASKS_ENABLED_CREATED"), plan);
+    }
+
+    @Test
+    void findByStatusAndIsEnabledTrue_usesStatusEnabledCreatedIndex() {
+        String plan = explain("SELECT t.id FROM tasks t WHERE t.status = 'TODO' AND t.is_enabled = TRUE ORDER BY t.created_at LIMIT 20");
+
+        assertTrue(plan.contains("IDX_TASKS_STATUS_ENABLED_CREATED"), plan);
+    }
+
+    @Test
+    void findByTitleAndIsEnabledTrue_usesTitleIndex() {
+        String plan = explain("SELECT t.id FROM tasks t WHERE t.title = 'Plan weekend trip' AND t.is_enabled = TRUE");
+
+        assertTrue(plan.contains("IDX_TASKS_TITLE_ENABLED"), plan);
+    }
+
+    @Test
+    void findEnabledAfter_usesCreatedAtRange() {
+        String plan = explain("SELECT t.id FROM tasks t WHERE t.is_enabled = TRUE "
+                + "AND t.created_at >= TIMESTAMP '2025-01-01 00:00:00' "
+                + "AND (t.created_at > TIMESTAMP '2025-01-01 00:00:00' OR t.id > 2) "
+                + "ORDER BY t.created_at, t.id LIMIT 20");
+
+        assertTrue(plan.contains("IDX_TASKS_ENABLED_CREATED"), plan);
+        assertTrue(plan.contains("CREATED_AT >="), plan);
+    }
+
+    @Test
+    void findStamp_readsUpdatedAtVersionIndexOnly() {
+        String plan = explain("SELECT MAX(t.updated_at), COUNT(t.id), COALESCE(SUM(t.version), 0) FROM tasks t");
+
+        assertTrue(plan.contains("IDX_TASKS_UPDATED_AT_VERSION"), plan);
+        assertFalse(plan.contains("tableScan"), plan);
+    }
+
+    @Test
+    void findChangedAfter_usesUpdatedAtIdRange() {
+        String plan = explain("SELECT t.id FROM tasks t "
+                + "WHERE t.updated_at >= TIMESTAMP '2025-01-01 00:00:00' "
+                + "AND (t.updated_at > TIMESTAMP '2025-01-01 00:00:00' OR t.id > 2) "
+                + "AND t.updated_at < TIMESTAMP '2025-01-02 00:00:00' "
+                + "ORDER BY t.updated_at, t.id LIMIT 101");
+
+        assertTrue(plan.contains("IDX_TASKS_UPDATED_AT_ID"), plan);
+        assertTrue(plan.contains("UPDATED_AT >="), plan);
+        assertTrue(plan.contains("index sorted"), plan);
+    }
+
+    @Test
+    void countCompletedPerDaySince_usesCompletedAtIndex() {
+        String plan = explain("SELECT CAST(t.completed_at AS DATE), COUNT(t.id) FROM tasks t "
+                + "WHERE t.completed_at >= TIMESTAMP '2025-01-01 00:00:00' GROUP BY CAST(t.completed_at AS DATE)");
+
+        assertTrue(plan.contains("IDX_TASKS_COMPLETED_AT"), plan);
+    }
+
+    @Test
+    void countCreatedPerDaySince_groupsByDay() {
+        List<TaskDayCount> dayCounts = taskRepository.countCreatedPerDaySince(LocalDateTime.now().minusYears(100));
+
+        long total = dayCounts.stream().mapToLong(TaskDayCount::getTotal).sum();
+        assertEquals(taskRepository.count(), total);
+        assertEquals(dayCounts.size(), dayCounts.stream().map(TaskDayCount::getDay).distinct().count());
+    }
+}
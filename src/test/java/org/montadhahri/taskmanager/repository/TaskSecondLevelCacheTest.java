@@ -0,0 +1,94 @@
+package org.montadhahri.taskmanager.repository;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.montadhahri.taskmanager.entity.Task;
+import org.montadhahri.taskmanager.enumeration.TaskStatus;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+
+/**
+ * Checks with the l2cache profile that repeated reads are served without statements,
+ * and that single-row and bulk writes invalidate them.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:l2cache;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+        "spring.jpa.properties.hibernate.generate_statistics=true"})
+@ActiveProfiles("l2cache")
+class TaskSecondLevelCacheTest {
+
+    private static final PageRequest FIRST_PAGE = PageRequest.of(0, 5, Sort.by("createdAt").ascending());
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Statistics statistics;
+
+    private Task task;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        task = taskRepository.findByIsEnabledTrue(FIRST_PAGE).getContent().getFirst();
+    }
+
+    @Test
+    void repeatedReads_executeNoStatement() {
+        taskRepository.findByIdAndIsEnabledTrue(task.getId());
+        taskRepository.findByStatusAndIsEnabledTrue(TaskStatus.TODO, FIRST_PAGE);
+
+        long statements = statistics.getPrepareStatementCount();
+        assertEquals(task.getTitle(), taskRepository.findByIdAndIsEnabledTrue(task.getId()).orElseThrow().getTitle());
+        assertEquals(task.getId(), taskRepository.findByIsEnabledTrue(FIRST_PAGE).getContent().getFirst().getId());
+        taskRepository.findByStatusAndIsEnabledTrue(TaskStatus.TODO, FIRST_PAGE);
+
+        assertEquals(statements, statistics.getPrepareStatementCount());
+        assertTrue(statistics.getQueryCacheHitCount() > 0);
+    }
+
+    @Test
+    void singleRowWrite_invalidatesCachedReads() {
+        taskRepository.findByIdAndIsEnabledTrue(task.getId());
+        Task loaded = taskRepository.findById(task.getId()).orElseThrow();
+        loaded.setDescription("Edited at " + LocalDateTime.now());
+        Task saved = taskRepository.saveAndFlush(loaded);
+
+        long statements = statistics.getPrepareStatementCount();
+        Task reloaded = taskRepository.findByIdAndIsEnabledTrue(task.getId()).orElseThrow();
+
+        assertEquals(saved.getDescription(), reloaded.getDescription());
+        assertEquals(saved.getVersion(), reloaded.getVersion());
+        assertTrue(statistics.getPrepareStatementCount() > statements);
+    }
+
+    @Test
+    void bulkWrite_invalidatesCachedReads() {
+        Task loaded = taskRepository.findByIdAndIsEnabledTrue(task.getId()).orElseThrow();
+        TaskStatus status = loaded.getStatus() == TaskStatus.DONE ? TaskStatus.TODO : TaskStatus.DONE;
+        Integer updated = transactionTemplate.execute(transaction -> taskRepository.updateStatusByIdAndVersion(
+                loaded.getId(), loaded.getVersion(), status, null, LocalDateTime.now()));
+        assertEquals(1, updated);
+
+        Task reloaded = taskRepository.findByIdAndIsEnabledTrue(task.getId()).orElseThrow();
+
+        assertEquals(status, reloaded.getStatus());
+        assertEquals(loaded.getVersion() + 1, reloaded.getVersion());
+    }
+}
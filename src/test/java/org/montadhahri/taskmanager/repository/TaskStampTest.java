@@ -0,0 +1,75 @@
+package org.montadhahri.taskmanager.repository;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.montadhahri.taskmanager.enumeration.TaskStatus;
+import org.montadhahri.taskmanager.util.TaskETags;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+
+/**
+ * Checks the collection stamp against writes committing out of the order of their updatedAt.
+ * Not transactional: the writes must really commit, one while the other is still open.
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class TaskStampTest {
+
+    private static final long FIRST_ID = 900_001L;
+    private static final long SECOND_ID = 900_002L;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate newTransaction;
+
+    @BeforeEach
+    void setUp() {
+        newTransaction = new TransactionTemplate(transactionManager);
+        newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        for (long id : new long[]{FIRST_ID, SECOND_ID}) {
+            jdbcTemplate.update("INSERT INTO tasks (id, title, status, is_enabled, created_at, updated_at, version) " +
+                    "VALUES (?, ?, 'TODO', TRUE, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP, 0)", id, "Stamp " + id);
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM tasks WHERE id IN (?, ?)", FIRST_ID, SECOND_ID);
+    }
+
+    @Test
+    void findStamp_writeStampedEarlierCommittedLast_changesTheETag() {
+        LocalDateTime now = LocalDateTime.now().plusDays(1);
+        TaskStamp[] read = new TaskStamp[1];
+
+        newTransaction.executeWithoutResult(first -> {
+            taskRepository.updateStatusByIdAndVersion(FIRST_ID, 0L, TaskStatus.IN_PROGRESS, null, now);
+            newTransaction.executeWithoutResult(second ->
+                    taskRepository.updateStatusByIdAndVersion(SECOND_ID, 0L, TaskStatus.IN_PROGRESS, null, now.plusSeconds(1)));
+            read[0] = newTransaction.execute(reader -> taskRepository.findStamp());
+        });
+        TaskStamp afterBoth = taskRepository.findStamp();
+
+        assertEquals(read[0].getTotal(), afterBoth.getTotal());
+        assertEquals(read[0].getLastModified(), afterBoth.getLastModified());
+        assertNotEquals(TaskETags.of(read[0]), TaskETags.of(afterBoth));
+    }
+}
@@ -0,0 +1,74 @@
+package org.montadhahri.taskmanager.repository;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.montadhahri.taskmanager.enumeration.TaskStatus;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Checks that the {@link TaskSummaryView} queries neither select the description column nor load entities.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "org.montadhahri.taskmanager.repository.TaskSummaryViewTest$RecordingInspector")
+class TaskSummaryViewTest {
+
+    private static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @BeforeEach
+    void setUp() {
+        entityManager.clear();
+        STATEMENTS.clear();
+    }
+
+    @Test
+    void findSummaryByIsEnabledTrue_selectsNoDescription() {
+        Page<TaskSummaryView> page = taskRepository.findSummaryByIsEnabledTrue(PageRequest.of(0, 2, Sort.by("createdAt")));
+
+        TaskSummaryView first = page.getContent().getFirst();
+        assertNotNull(first.id());
+        assertNotNull(first.title());
+        assertNotNull(first.status());
+        assertTrue(page.getTotalElements() > 2);
+        assertFalse(STATEMENTS.isEmpty());
+        STATEMENTS.forEach(sql -> assertFalse(sql.contains("description"), sql));
+        assertEquals(0, entityManager.unwrap(Session.class).getStatistics().getEntityCount());
+    }
+
+    @Test
+    void findSummarySliceByStatusAndIsEnabledTrue_selectsNoDescription() {
+        Slice<TaskSummaryView> slice = taskRepository.findSummarySliceByStatusAndIsEnabledTrue(
+                TaskStatus.TODO, PageRequest.of(0, 1, Sort.by("createdAt")));
+
+        assertEquals(TaskStatus.TODO, slice.getContent().getFirst().status());
+        assertEquals(1, STATEMENTS.size());
+        assertFalse(STATEMENTS.getFirst().contains("description"), STATEMENTS.getFirst());
+    }
+
+    public static class RecordingInspector implements StatementInspector {
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+}
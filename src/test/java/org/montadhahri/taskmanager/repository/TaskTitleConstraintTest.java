@@ -0,0 +1,58 @@
+package org.montadhahri.taskmanager.repository;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.montadhahri.taskmanager.entity.Task;
+import org.montadhahri.taskmanager.enumeration.TaskStatus;
+import org.montadhahri.taskmanager.exception.DuplicateResourceException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Checks the unique index on enabled task titles of the V1.0.9 migration.
+ */
+@DataJpaTest
+class TaskTitleConstraintTest {
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    private Task existing;
+
+    @BeforeEach
+    void setUp() {
+        existing = taskRepository.findByIsEnabledTrue(PageRequest.ofSize(1)).getContent().getFirst();
+    }
+
+    @Test
+    void saveAndFlush_enabledDuplicateTitle_isRejected() {
+        DataIntegrityViolationException ex = assertThrows(DataIntegrityViolationException.class,
+                () -> taskRepository.saveAndFlush(newTask(existing.getTitle())));
+
+        assertTrue(DuplicateResourceException.isDuplicateTitle(ex), ex.getMessage());
+    }
+
+    @Test
+    void saveAndFlush_titleOfDeletedTask_isAccepted() {
+        taskRepository.softDeleteEnabledByIdIn(List.of(existing.getId()), null, LocalDateTime.now());
+
+        Task saved = taskRepository.saveAndFlush(newTask(existing.getTitle()));
+
+        assertNotNull(saved.getId());
+    }
+
+    private static Task newTask(String title) {
+        Task task = new Task();
+        task.setTitle(title);
+        task.setStatus(TaskStatus.TODO);
+        task.setEnabled(true);
+        return task;
+    }
+}
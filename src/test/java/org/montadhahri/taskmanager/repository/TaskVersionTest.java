@@ -0,0 +1,51 @@
+package org.montadhahri.taskmanager.repository;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.montadhahri.taskmanager.entity.Task;
+import org.montadhahri.taskmanager.enumeration.TaskStatus;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import java.time.LocalDateTime;
+
+/**
+ * Checks the optimistic locking of tasks against the V1.0.7 version column.
+ */
+@DataJpaTest
+class TaskVersionTest {
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    private Task task;
+
+    @BeforeEach
+    void setUp() {
+        task = taskRepository.findByIsEnabledTrue(PageRequest.ofSize(1)).getContent().getFirst();
+    }
+
+    @Test
+    void updateStatusByIdAndVersion_appliesOnlyOnTheReadVersion() {
+        Long version = task.getVersion();
+
+        assertEquals(1, taskRepository.updateStatusByIdAndVersion(task.getId(), version, TaskStatus.IN_PROGRESS, null, LocalDateTime.now()));
+        assertEquals(0, taskRepository.updateStatusByIdAndVersion(task.getId(), version, TaskStatus.DONE, null, LocalDateTime.now()));
+
+        Task reloaded = taskRepository.findById(task.getId()).orElseThrow();
+        assertEquals(TaskStatus.IN_PROGRESS, reloaded.getStatus());
+        assertEquals(version + 1, reloaded.getVersion());
+    }
+
+    @Test
+    void saveAndFlush_outdatedTask_throwsOptimisticLockingFailure() {
+        taskRepository.updateStatusByIdAndVersion(task.getId(), task.getVersion(), TaskStatus.DONE, LocalDateTime.now(), LocalDateTime.now());
+        task.setTitle("Edited from an outdated copy");
+
+        assertThrows(ObjectOptimisticLockingFailureException.class, () -> taskRepository.saveAndFlush(task));
+    }
+}
@@ -0,0 +1,151 @@
+package org.montadhahri.taskmanager.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.montadhahri.taskmanager.config.CacheConfig;
+import org.montadhahri.taskmanager.dto.response.TaskResponseDto;
+import org.montadhahri.taskmanager.entity.Task;
+import org.montadhahri.taskmanager.enumeration.TaskEventType;
+import org.montadhahri.taskmanager.enumeration.TaskStatus;
+import org.montadhahri.taskmanager.event.TaskBulkEvent;
+import org.montadhahri.taskmanager.event.TaskEvent;
+import org.montadhahri.taskmanager.mapper.TaskMapper;
+import org.montadhahri.taskmanager.repository.TaskRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@SpringBootTest
+class TaskCacheTest {
+
+    @MockBean
+    private TaskRepository taskRepository;
+
+    @MockBean
+    private TaskMapper taskMapper;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    // committed changes fence their task for a while, every test uses a task of its own
+    private static final AtomicLong TASK_IDS = new AtomicLong();
+
+    private final Task task = new Task();
+
+    private final TaskResponseDto dto = new TaskResponseDto();
+
+    @BeforeEach
+    void setUp() {
+        cacheManager.getCache(CacheConfig.TASKS_CACHE).clear();
+        task.setId(TASK_IDS.incrementAndGet());
+        dto.setId(task.getId());
+        dto.setVersion(1L);
+        when(taskRepository.findByIdAndIsEnabledTrue(task.getId())).thenReturn(Optional.of(task));
+        when(taskMapper.toResponseDto(task)).thenReturn(dto);
+    }
+
+    @Test
+    void getTaskById_readsThroughCache() {
+        double hits = meterRegistry.get("cache.gets").tag("cache", CacheConfig.TASKS_CACHE)
+                .tag("result", "hit").functionCounter().count();
+
+        TaskResponseDto first = taskService.getTaskById(task.getId());
+        TaskResponseDto second = taskService.getTaskById(task.getId());
+
+        assertSame(first, second);
+        verify(taskRepository, times(1)).findByIdAndIsEnabledTrue(task.getId());
+        assertEquals(hits + 1, meterRegistry.get("cache.gets").tag("cache", CacheConfig.TASKS_CACHE)
+                .tag("result", "hit").functionCounter().count());
+    }
+
+    @Test
+    void committedTaskEvent_evictsCachedTask() {
+        taskService.getTaskById(task.getId());
+
+        transactionTemplate.executeWithoutResult(status -> eventPublisher.publishEvent(
+                new TaskEvent(TaskEventType.STATUS_CHANGED, task.getId(), TaskStatus.TODO, TaskStatus.DONE, null)));
+        taskService.getTaskById(task.getId());
+
+        verify(taskRepository, times(2)).findByIdAndIsEnabledTrue(task.getId());
+    }
+
+    @Test
+    void rolledBackTaskEvent_keepsCachedTask() {
+        taskService.getTaskById(task.getId());
+
+        transactionTemplate.executeWithoutResult(status -> {
+            eventPublisher.publishEvent(new TaskEvent(TaskEventType.DELETED, task.getId(), TaskStatus.TODO, null, null));
+            status.setRollbackOnly();
+        });
+        taskService.getTaskById(task.getId());
+
+        verify(taskRepository, times(1)).findByIdAndIsEnabledTrue(task.getId());
+    }
+
+    @Test
+    void taskLoadedBeforeCommittedChange_isNotCached() {
+        TaskResponseDto changed = new TaskResponseDto();
+        changed.setId(task.getId());
+        changed.setVersion(2L);
+        TransactionTemplate writer = new TransactionTemplate(transactionManager);
+        writer.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        // the change commits and evicts while the read still holds version 1, before its cache put
+        when(taskRepository.findByIdAndIsEnabledTrue(task.getId())).thenAnswer(invocation -> {
+            writer.executeWithoutResult(status -> eventPublisher.publishEvent(
+                    new TaskEvent(TaskEventType.UPDATED, task.getId(), TaskStatus.TODO, TaskStatus.TODO, changed)));
+            return Optional.of(task);
+        });
+
+        taskService.getTaskById(task.getId());
+
+        assertNull(cacheManager.getCache(CacheConfig.TASKS_CACHE).get(task.getId()));
+    }
+
+    @Test
+    void taskLoadedBeforeCommittedBulkChange_isNotCached() {
+        TaskResponseDto other = taskService.getTaskById(task.getId());
+        Task loaded = new Task();
+        loaded.setId(TASK_IDS.incrementAndGet());
+        TransactionTemplate writer = new TransactionTemplate(transactionManager);
+        writer.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        when(taskMapper.toResponseDto(loaded)).thenReturn(new TaskResponseDto());
+        // the bulk change commits while the read still holds the previous state, before its cache put
+        when(taskRepository.findByIdAndIsEnabledTrue(loaded.getId())).thenAnswer(invocation -> {
+            writer.executeWithoutResult(status -> eventPublisher.publishEvent(
+                    new TaskBulkEvent(TaskEventType.STATUS_CHANGED, 2)));
+            return Optional.of(loaded);
+        });
+
+        taskService.getTaskById(loaded.getId());
+
+        assertNotNull(other);
+        assertNull(cacheManager.getCache(CacheConfig.TASKS_CACHE).get(task.getId()));
+        assertNull(cacheManager.getCache(CacheConfig.TASKS_CACHE).get(loaded.getId()));
+    }
+}
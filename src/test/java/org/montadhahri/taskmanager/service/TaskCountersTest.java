@@ -0,0 +1,120 @@
+package org.montadhahri.taskmanager.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.montadhahri.taskmanager.config.TaskStatsProperties;
+import org.montadhahri.taskmanager.dto.response.TaskStatsDto;
+import org.montadhahri.taskmanager.enumeration.TaskEventType;
+import org.montadhahri.taskmanager.enumeration.TaskStatus;
+import org.montadhahri.taskmanager.event.TaskEvent;
+import org.montadhahri.taskmanager.repository.TaskDayCount;
+import org.montadhahri.taskmanager.repository.TaskRepository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@ExtendWith(MockitoExtension.class)
+class TaskCountersTest {
+
+    private static final LocalDate TODAY = LocalDate.now();
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Spy
+    private TaskStatsProperties statsProperties = new TaskStatsProperties();
+
+    @InjectMocks
+    private TaskCounters taskCounters;
+
+    @BeforeEach
+    void setUp() {
+        when(taskRepository.countByStatusAndIsEnabledTrue(TaskStatus.TODO)).thenReturn(3L);
+        when(taskRepository.countByStatusAndIsEnabledTrue(TaskStatus.IN_PROGRESS)).thenReturn(2L);
+        when(taskRepository.countByStatusAndIsEnabledTrue(TaskStatus.DONE)).thenReturn(1L);
+        when(taskRepository.countCreatedPerDaySince(any()))
+                .thenReturn(List.of(dayCount(TODAY.minusDays(1), 4), dayCount(TODAY, 2)));
+        when(taskRepository.countCompletedPerDaySince(any())).thenReturn(List.of(dayCount(TODAY, 1)));
+        taskCounters.reload();
+    }
+
+    @Test
+    void reload_loadsCountsPerStatus() {
+        assertEquals(3, taskCounters.count(TaskStatus.TODO));
+        assertEquals(2, taskCounters.count(TaskStatus.IN_PROGRESS));
+        assertEquals(1, taskCounters.count(TaskStatus.DONE));
+        assertEquals(6, taskCounters.count(null));
+    }
+
+    @Test
+    void onTaskEvent_appliesStatusTransitions() {
+        taskCounters.onTaskEvent(new TaskEvent(TaskEventType.CREATED, 7L, null, TaskStatus.TODO, null));
+        taskCounters.onTaskEvent(new TaskEvent(TaskEventType.STATUS_CHANGED, 1L, TaskStatus.TODO, TaskStatus.DONE, null));
+        taskCounters.onTaskEvent(new TaskEvent(TaskEventType.DELETED, 2L, TaskStatus.IN_PROGRESS, null, null));
+        taskCounters.onTaskEvent(new TaskEvent(TaskEventType.UPDATED, 3L, TaskStatus.DONE, TaskStatus.DONE, null));
+
+        assertEquals(3, taskCounters.count(TaskStatus.TODO));
+        assertEquals(1, taskCounters.count(TaskStatus.IN_PROGRESS));
+        assertEquals(2, taskCounters.count(TaskStatus.DONE));
+        assertEquals(6, taskCounters.count(null));
+    }
+
+    @Test
+    void onTaskEvent_countsCreatedAndCompletedToday() {
+        taskCounters.onTaskEvent(new TaskEvent(TaskEventType.CREATED, 7L, null, TaskStatus.TODO, null));
+        taskCounters.onTaskEvent(new TaskEvent(TaskEventType.STATUS_CHANGED, 1L, TaskStatus.TODO, TaskStatus.DONE, null));
+        taskCounters.onTaskEvent(new TaskEvent(TaskEventType.UPDATED, 3L, TaskStatus.DONE, TaskStatus.DONE, null));
+
+        TaskStatsDto stats = taskCounters.stats();
+
+        assertEquals(3, stats.getCreatedPerDay().get(TODAY));
+        assertEquals(4, stats.getCreatedPerDay().get(TODAY.minusDays(1)));
+        assertEquals(2, stats.getCompletedPerDay().get(TODAY));
+    }
+
+    @Test
+    void stats_returnsCountsAndZeroFilledHistograms() {
+        TaskStatsDto stats = taskCounters.stats();
+
+        assertEquals(6, stats.getTotal());
+        assertEquals(List.of(TaskStatus.values()), List.copyOf(stats.getCounts().keySet()));
+        assertEquals(3, stats.getCounts().get(TaskStatus.TODO));
+        assertEquals(30, stats.getCreatedPerDay().size());
+        assertEquals(TODAY.minusDays(29), stats.getCreatedPerDay().keySet().iterator().next());
+        assertEquals(0, stats.getCreatedPerDay().get(TODAY.minusDays(2)));
+        assertEquals(0, stats.getCompletedPerDay().get(TODAY.minusDays(1)));
+    }
+
+    @Test
+    void reconcile_correctsDrift() {
+        taskCounters.onTaskEvent(new TaskEvent(TaskEventType.CREATED, 7L, null, TaskStatus.TODO, null));
+
+        taskCounters.reconcile();
+
+        assertEquals(3, taskCounters.count(TaskStatus.TODO));
+        assertEquals(2, taskCounters.stats().getCreatedPerDay().get(TODAY));
+        verify(taskRepository, times(2)).countCreatedPerDaySince(TODAY.minusDays(29).atStartOfDay());
+    }
+
+    private static TaskDayCount dayCount(LocalDate day, long total) {
+        return new TaskDayCount() {
+            @Override
+            public LocalDate getDay() {
+                return day;
+            }
+
+            @Override
+            public long getTotal() {
+                return total;
+            }
+        };
+    }
+}
@@ -0,0 +1,120 @@
+package org.montadhahri.taskmanager.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.montadhahri.taskmanager.config.TaskEventsProperties;
+import org.montadhahri.taskmanager.enumeration.TaskEventType;
+import org.montadhahri.taskmanager.enumeration.TaskStatus;
+import org.montadhahri.taskmanager.event.TaskBulkEvent;
+import org.montadhahri.taskmanager.event.TaskEvent;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+class TaskEventBroadcasterTest {
+
+    private static final Pattern EVENT_ID = Pattern.compile("id:(\\S+)\\nevent:CREATED\\ndata:\\{[^\\n]*\"taskId\":1,");
+
+    private final TaskEventBroadcaster broadcaster = new TaskEventBroadcaster(new TaskEventsProperties());
+
+    private final MockMvc mockMvc = MockMvcBuilders.standaloneSetup(new EventsController(broadcaster)).build();
+
+    @AfterEach
+    void tearDown() {
+        broadcaster.close();
+    }
+
+    @Test
+    void onTaskEvent_isSentToEverySubscriber() throws Exception {
+        MockHttpServletResponse first = subscribe(null);
+        MockHttpServletResponse second = subscribe(null);
+
+        broadcaster.onTaskEvent(created(1L));
+
+        awaitContent(first, "\"taskId\":1,");
+        awaitContent(second, "\"taskId\":1,");
+        assertEquals(2, broadcaster.subscriberCount());
+    }
+
+    @Test
+    void subscribe_withLastEventId_replaysMissedEvents() throws Exception {
+        MockHttpServletResponse first = subscribe(null);
+        broadcaster.onTaskEvent(created(1L));
+        broadcaster.onTaskEvent(created(2L));
+        Matcher matcher = EVENT_ID.matcher(awaitContent(first, "\"taskId\":2,"));
+        assertTrue(matcher.find());
+
+        MockHttpServletResponse resumed = subscribe(matcher.group(1));
+
+        String content = awaitContent(resumed, "\"taskId\":2,");
+        assertFalse(content.contains("\"taskId\":1,"), content);
+    }
+
+    @Test
+    void onTaskBulkEvent_sendsOneResetLiveAndOnReplay() throws Exception {
+        MockHttpServletResponse first = subscribe(null);
+        broadcaster.onTaskEvent(created(1L));
+        Matcher matcher = EVENT_ID.matcher(awaitContent(first, "\"taskId\":1,"));
+        assertTrue(matcher.find());
+
+        broadcaster.onTaskBulkEvent(new TaskBulkEvent(TaskEventType.DELETED, 2));
+
+        awaitContent(first, "event:" + TaskEventBroadcaster.RESET_EVENT);
+        MockHttpServletResponse resumed = subscribe(matcher.group(1));
+        awaitContent(resumed, "event:" + TaskEventBroadcaster.RESET_EVENT);
+    }
+
+    @Test
+    void subscribe_withUnknownLastEventId_sendsReset() throws Exception {
+        MockHttpServletResponse resumed = subscribe("previous-run-42");
+
+        awaitContent(resumed, "event:" + TaskEventBroadcaster.RESET_EVENT);
+    }
+
+    private MockHttpServletResponse subscribe(String lastEventId) throws Exception {
+        var request = get("/events");
+        if (lastEventId != null) {
+            request.header("Last-Event-ID", lastEventId);
+        }
+        return mockMvc.perform(request)
+                .andExpect(request().asyncStarted())
+                .andReturn()
+                .getResponse();
+    }
+
+    private static String awaitContent(MockHttpServletResponse response, String expected) throws Exception {
+        String content = "";
+        for (int attempt = 0; attempt < 100; attempt++) {
+            content = response.getContentAsString();
+            if (content.contains(expected)) {
+                return content;
+            }
+            Thread.sleep(20);
+        }
+        return fail("'" + expected + "' not streamed, got: " + content);
+    }
+
+    private static TaskEvent created(Long id) {
+        return new TaskEvent(TaskEventType.CREATED, id, null, TaskStatus.TODO, null);
+    }
+
+    @RestController
+    private record EventsController(TaskEventBroadcaster broadcaster) {
+
+        @GetMapping("/events")
+        public SseEmitter events(@RequestHeader(name = "Last-Event-ID", required = false) String lastEventId) {
+            return broadcaster.subscribe(lastEventId);
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package org.montadhahri.taskmanager.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+import org.montadhahri.taskmanager.dto.response.TaskResponseDto;
+import org.montadhahri.taskmanager.enumeration.TaskEventType;
+import org.montadhahri.taskmanager.enumeration.TaskStatus;
+import org.montadhahri.taskmanager.event.TaskEvent;
+
+import java.util.List;
+
+class TaskEventQueueTest {
+
+    private final TaskEventQueue queue = new TaskEventQueue(2);
+
+    @Test
+    void offer_coalescesEventsOfTheSameTaskInSequenceOrder() {
+        assertTrue(queue.offer(entry(1, new TaskEvent(TaskEventType.CREATED, 7L, null, TaskStatus.TODO, null))));
+        assertFalse(queue.offer(entry(2, new TaskEvent(TaskEventType.UPDATED, 8L, TaskStatus.TODO, TaskStatus.TODO, null))));
+        assertFalse(queue.offer(entry(3, new TaskEvent(TaskEventType.STATUS_CHANGED, 7L, TaskStatus.TODO, TaskStatus.DONE, null))));
+
+        TaskEventQueue.Batch batch = queue.poll();
+
+        assertEquals(-1, batch.resetSequence());
+        assertEquals(List.of(2L, 3L), batch.entries().stream().map(TaskEventQueue.Entry::sequence).toList());
+        assertEquals(new TaskEvent(TaskEventType.CREATED, 7L, null, TaskStatus.DONE, null), batch.entries().get(1).event());
+        assertNull(queue.poll());
+    }
+
+    @Test
+    void offer_bulkStatusChangeAfterCreation_keepsTheCreatedTask() {
+        TaskResponseDto created = task(TaskStatus.TODO);
+        created.setVersion(0L);
+        queue.offer(entry(1, new TaskEvent(TaskEventType.CREATED, 7L, null, TaskStatus.TODO, created)));
+        queue.offer(entry(2, new TaskEvent(TaskEventType.STATUS_CHANGED, 7L, TaskStatus.TODO, TaskStatus.DONE, null)));
+
+        TaskEvent event = queue.poll().entries().get(0).event();
+
+        assertEquals(TaskEventType.CREATED, event.type());
+        assertEquals(task(TaskStatus.DONE), event.task());
+        assertEquals(TaskStatus.TODO, created.getStatus());
+    }
+
+    @Test
+    void offer_deletionAfterUpdate_dropsTheTask() {
+        queue.offer(entry(1, new TaskEvent(TaskEventType.UPDATED, 7L, TaskStatus.TODO, TaskStatus.TODO, task(TaskStatus.TODO))));
+        queue.offer(entry(2, new TaskEvent(TaskEventType.DELETED, 7L, TaskStatus.TODO, null, null)));
+
+        TaskEvent event = queue.poll().entries().get(0).event();
+
+        assertEquals(new TaskEvent(TaskEventType.DELETED, 7L, TaskStatus.TODO, null, null), event);
+    }
+
+    @Test
+    void offer_overCapacity_dropsPendingEventsForAReset() {
+        queue.offer(entry(1, new TaskEvent(TaskEventType.DELETED, 1L, TaskStatus.TODO, null, null)));
+        queue.offer(entry(2, new TaskEvent(TaskEventType.DELETED, 2L, TaskStatus.TODO, null, null)));
+        queue.offer(entry(3, new TaskEvent(TaskEventType.DELETED, 3L, TaskStatus.TODO, null, null)));
+        queue.offer(entry(4, new TaskEvent(TaskEventType.DELETED, 4L, TaskStatus.TODO, null, null)));
+
+        TaskEventQueue.Batch batch = queue.poll();
+
+        assertEquals(4, batch.resetSequence());
+        assertTrue(batch.entries().isEmpty());
+        assertNull(queue.poll());
+    }
+
+    @Test
+    void poll_afterDrainerStopped_requiresANewDrainer() {
+        assertTrue(queue.heartbeat());
+        assertTrue(queue.poll().heartbeat());
+        assertNull(queue.poll());
+
+        assertTrue(queue.offer(entry(1, new TaskEvent(TaskEventType.DELETED, 1L, TaskStatus.TODO, null, null))));
+    }
+
+    private static TaskResponseDto task(TaskStatus status) {
+        TaskResponseDto task = new TaskResponseDto();
+        task.setId(7L);
+        task.setTitle("Task");
+        task.setStatus(status);
+        return task;
+    }
+
+    private static TaskEventQueue.Entry entry(long sequence, TaskEvent event) {
+        return new TaskEventQueue.Entry(sequence, event);
+    }
+}
@@ -0,0 +1,199 @@
+package org.montadhahri.taskmanager.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.montadhahri.taskmanager.dto.PageDto;
+import org.montadhahri.taskmanager.dto.response.TaskResponseDto;
+import org.montadhahri.taskmanager.enumeration.CountMode;
+import org.montadhahri.taskmanager.enumeration.TaskEventType;
+import org.montadhahri.taskmanager.enumeration.TaskStatus;
+import org.montadhahri.taskmanager.event.TaskEvent;
+import org.montadhahri.taskmanager.repository.TaskStamp;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * GET /tasks through {@link TaskPageCache}; every test uses its own page size so cached pages do not leak between tests.
+ * Coalescing keeps its pages for the whole test, a cached page must never be one of them.
+ */
+@SpringBootTest(properties = {"application.coalescing.window=1m", "application.page-cache.maximum-weight=1MB"})
+@AutoConfigureMockMvc
+class TaskPageCacheTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TaskPageCache taskPageCache;
+
+    @MockBean
+    private TaskService taskService;
+
+    @BeforeEach
+    void setUp() {
+        when(taskService.getTasksStamp()).thenReturn(stamp(0));
+    }
+
+    private static TaskStamp stamp(long versionSum) {
+        return new TaskStamp() {
+            public LocalDateTime getLastModified() { return LocalDateTime.of(2025, 1, 1, 10, 0); }
+            public long getTotal() { return 20; }
+            public long getVersionSum() { return versionSum; }
+        };
+    }
+
+    private static PageDto<TaskResponseDto> page(int size, String title) {
+        TaskResponseDto task = new TaskResponseDto();
+        task.setId(1L);
+        task.setTitle(title);
+        task.setStatus(TaskStatus.TODO);
+        return new PageDto<>(Collections.nCopies(size, task), (long) size, null);
+    }
+
+    private String getJson(int offset, TaskStatus status) throws Exception {
+        return mockMvc.perform(get("/tasks").param("page", "1").param("offset", String.valueOf(offset))
+                        .param("status", status == null ? "" : status.name()))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andReturn().getResponse().getContentAsString();
+    }
+
+    @Test
+    void getAllTasks_repeated_servesCachedBytes() throws Exception {
+        when(taskService.getAllTasks(1, 11, null, CountMode.EXACT, null)).thenReturn(page(1, "Cached"));
+
+        String first = getJson(11, null);
+        String second = getJson(11, null);
+
+        assertEquals(first, second);
+        assertTrue(second.contains("Cached"));
+        verify(taskService, times(1)).getAllTasks(1, 11, null, CountMode.EXACT, null);
+    }
+
+    @Test
+    void getAllTasks_afterChange_invalidatesOnlyAffectedPages() throws Exception {
+        when(taskService.getAllTasks(1, 12, null, CountMode.EXACT, null)).thenReturn(page(1, "All"));
+        when(taskService.getAllTasks(1, 12, TaskStatus.TODO, CountMode.EXACT, null)).thenReturn(page(1, "Todo"));
+        when(taskService.getAllTasks(1, 12, TaskStatus.DONE, CountMode.EXACT, null)).thenReturn(page(1, "Done"));
+        getJson(12, null);
+        getJson(12, TaskStatus.TODO);
+        getJson(12, TaskStatus.DONE);
+
+        taskPageCache.onTaskEvent(new TaskEvent(TaskEventType.STATUS_CHANGED, 1L, TaskStatus.TODO, TaskStatus.IN_PROGRESS, null));
+        getJson(12, null);
+        getJson(12, TaskStatus.TODO);
+        getJson(12, TaskStatus.DONE);
+
+        verify(taskService, times(2)).getAllTasks(1, 12, null, CountMode.EXACT, null);
+        verify(taskService, times(2)).getAllTasks(1, 12, TaskStatus.TODO, CountMode.EXACT, null);
+        verify(taskService, times(1)).getAllTasks(1, 12, TaskStatus.DONE, CountMode.EXACT, null);
+    }
+
+    @Test
+    void getAllTasks_acceptGzip_servesPreGzippedBytes() throws Exception {
+        when(taskService.getAllTasks(1, 100, null, CountMode.EXACT, null)).thenReturn(page(100, "Large page"));
+
+        byte[] body = mockMvc.perform(get("/tasks").param("page", "1").param("offset", "100")
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andExpect(header().string(HttpHeaders.VARY, "Accept, Accept-Encoding"))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        assertEquals(getJson(100, null), gunzip(body));
+        verify(taskService, times(1)).getAllTasks(1, 100, null, CountMode.EXACT, null);
+    }
+
+    @Test
+    void getAllTasks_pageHeavierThanTheCache_isNotKept() throws Exception {
+        when(taskService.getAllTasks(1, 40_000, null, CountMode.EXACT, null)).thenReturn(page(40_000, "Huge"));
+
+        getJson(40_000, null);
+        getJson(40_000, null);
+
+        verify(taskService, times(2)).getAllTasks(1, 40_000, null, CountMode.EXACT, null);
+    }
+
+    @Test
+    void getAllTasks_deepPageOrCbor_isCoalescedNotCached() throws Exception {
+        when(taskService.getAllTasks(4, 13, null, CountMode.EXACT, null)).thenReturn(page(1, "Deep"));
+        when(taskService.getAllTasks(1, 13, null, CountMode.EXACT, null)).thenReturn(page(1, "Cbor"));
+
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(get("/tasks").param("page", "4").param("offset", "13"))
+                    .andExpect(status().isOk());
+            mockMvc.perform(get("/tasks").param("page", "1").param("offset", "13").accept(MediaType.APPLICATION_CBOR))
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentType(MediaType.APPLICATION_CBOR));
+        }
+        // the JSON page is not taken from the coalesced CBOR one
+        assertTrue(getJson(13, null).contains("Cbor"));
+
+        verify(taskService, times(1)).getAllTasks(4, 13, null, CountMode.EXACT, null);
+        verify(taskService, times(2)).getAllTasks(1, 13, null, CountMode.EXACT, null);
+    }
+
+    @Test
+    void getAllTasks_afterChange_doesNotCacheAPageCoalescedBeforeIt() throws Exception {
+        when(taskService.getAllTasks(1, 14, null, CountMode.EXACT, null)).thenReturn(page(1, "Before"));
+        mockMvc.perform(get("/tasks").param("page", "1").param("offset", "14").accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk());
+
+        when(taskService.getAllTasks(1, 14, null, CountMode.EXACT, null)).thenReturn(page(1, "After"));
+        taskPageCache.onTaskEvent(new TaskEvent(TaskEventType.UPDATED, 1L, TaskStatus.TODO, TaskStatus.TODO, null));
+
+        assertTrue(getJson(14, null).contains("After"));
+    }
+
+    @Test
+    void getAllTasks_changeDuringLoad_pageIsNotKept() throws Exception {
+        when(taskService.getAllTasks(1, 15, null, CountMode.EXACT, null)).thenAnswer(invocation -> {
+            taskPageCache.onTaskEvent(new TaskEvent(TaskEventType.UPDATED, 1L, TaskStatus.TODO, TaskStatus.TODO, null));
+            return page(1, "Loading");
+        }).thenReturn(page(1, "Loaded"));
+
+        getJson(15, null);
+        assertTrue(getJson(15, null).contains("Loaded"));
+        assertTrue(getJson(15, null).contains("Loaded"));
+
+        verify(taskService, times(2)).getAllTasks(1, 15, null, CountMode.EXACT, null);
+    }
+
+    @Test
+    void getAllTasks_stampChangedWithoutEvent_reloadsThePage() throws Exception {
+        when(taskService.getAllTasks(1, 16, null, CountMode.EXACT, null))
+                .thenReturn(page(1, "Before"))
+                .thenReturn(page(1, "Changed elsewhere"));
+        getJson(16, null);
+
+        // committed by another instance: no event, only the stamp moves
+        when(taskService.getTasksStamp()).thenReturn(stamp(1));
+        assertTrue(getJson(16, null).contains("Changed elsewhere"));
+        assertTrue(getJson(16, null).contains("Changed elsewhere"));
+
+        verify(taskService, times(2)).getAllTasks(1, 16, null, CountMode.EXACT, null);
+    }
+
+    private static String gunzip(byte[] body) throws IOException {
+        try (GZIPInputStream inputStream = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            return new String(inputStream.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
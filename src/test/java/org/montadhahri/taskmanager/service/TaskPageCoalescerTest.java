@@ -0,0 +1,153 @@
+package org.montadhahri.taskmanager.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.montadhahri.taskmanager.config.ReadWriteRoutingDataSource;
+import org.montadhahri.taskmanager.config.TaskCoalescingProperties;
+import org.montadhahri.taskmanager.dto.PageDto;
+import org.montadhahri.taskmanager.dto.response.TaskResponseDto;
+import org.montadhahri.taskmanager.enumeration.CountMode;
+import org.montadhahri.taskmanager.enumeration.TaskStatus;
+import org.montadhahri.taskmanager.exception.BadRequestException;
+import org.montadhahri.taskmanager.repository.TaskStamp;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+@ExtendWith(MockitoExtension.class)
+class TaskPageCoalescerTest {
+
+    @Mock
+    private TaskService taskService;
+
+    private TaskPageCoalescer coalescer(Duration window) {
+        TaskCoalescingProperties properties = new TaskCoalescingProperties();
+        properties.setWindow(window);
+        return new TaskPageCoalescer(reader(), properties);
+    }
+
+    private TaskPageReader reader() {
+        return new TaskPageReader(taskService, mock(PlatformTransactionManager.class));
+    }
+
+    @Test
+    void getAllTasks_concurrentIdenticalCalls_shareOneComputation() throws Exception {
+        PageDto<TaskResponseDto> page = new PageDto<>(List.of(), 0L, null);
+        CountDownLatch computing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(taskService.getAllTasks(1, 50, TaskStatus.TODO, CountMode.EXACT, null)).thenAnswer(invocation -> {
+            computing.countDown();
+            release.await();
+            return page;
+        });
+        TaskPageCoalescer coalescer = coalescer(Duration.ZERO);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<TaskPageReader.StampedPage>> results = new ArrayList<>();
+            results.add(executor.submit(() -> coalescer.getAllTasks(1, 50, TaskStatus.TODO, CountMode.EXACT, null)));
+            assertTrue(computing.await(5, TimeUnit.SECONDS));
+            for (int i = 0; i < 10; i++) {
+                results.add(executor.submit(() -> coalescer.getAllTasks(1, 50, TaskStatus.TODO, CountMode.EXACT, null)));
+            }
+            Thread.sleep(100);
+            release.countDown();
+
+            for (Future<TaskPageReader.StampedPage> result : results) {
+                assertSame(page, result.get(5, TimeUnit.SECONDS).page());
+            }
+        }
+        verify(taskService, times(1)).getAllTasks(1, 50, TaskStatus.TODO, CountMode.EXACT, null);
+    }
+
+    @Test
+    void getAllTasks_withinWindow_reusesPage() {
+        PageDto<TaskResponseDto> page = new PageDto<>(List.of(), 0L, null);
+        when(taskService.getAllTasks(1, 50, null, CountMode.EXACT, null)).thenReturn(page);
+        TaskPageCoalescer coalescer = coalescer(Duration.ofMinutes(1));
+
+        assertSame(page, coalescer.getAllTasks(1, 50, null, CountMode.EXACT, null).page());
+        assertSame(page, coalescer.getAllTasks(1, 50, null, CountMode.EXACT, null).page());
+
+        verify(taskService, times(1)).getAllTasks(1, 50, null, CountMode.EXACT, null);
+    }
+
+    @Test
+    void getAllTasks_inPrimaryScope_doesNotShareAReplicaPage() {
+        TaskPageCoalescer coalescer = coalescer(Duration.ofMinutes(1));
+
+        coalescer.getAllTasks(1, 50, null, CountMode.EXACT, null);
+        try (ReadWriteRoutingDataSource.PrimaryScope ignored = ReadWriteRoutingDataSource.primaryScope()) {
+            coalescer.getAllTasks(1, 50, null, CountMode.EXACT, null);
+            coalescer.getAllTasks(1, 50, null, CountMode.EXACT, null);
+        }
+
+        verify(taskService, times(2)).getAllTasks(1, 50, null, CountMode.EXACT, null);
+    }
+
+    @Test
+    void getAllTasks_sharesTheStampReadBeforeThePage() {
+        PageDto<TaskResponseDto> page = new PageDto<>(List.of(), 0L, null);
+        TaskStamp stamp = mock(TaskStamp.class);
+        when(taskService.getTasksStamp()).thenReturn(stamp);
+        when(taskService.getAllTasks(1, 50, null, CountMode.EXACT, null)).thenReturn(page);
+        TaskPageCoalescer coalescer = coalescer(Duration.ofMinutes(1));
+
+        coalescer.getAllTasks(1, 50, null, CountMode.EXACT, null);
+        TaskPageReader.StampedPage shared = coalescer.getAllTasks(1, 50, null, CountMode.EXACT, null);
+
+        assertSame(stamp, shared.stamp());
+        InOrder inOrder = inOrder(taskService);
+        inOrder.verify(taskService).getTasksStamp();
+        inOrder.verify(taskService).getAllTasks(1, 50, null, CountMode.EXACT, null);
+        verifyNoMoreInteractions(taskService);
+    }
+
+    @Test
+    void getAllTasks_zeroWindowOrOtherKey_computesAgain() {
+        TaskPageCoalescer coalescer = coalescer(Duration.ZERO);
+
+        coalescer.getAllTasks(1, 50, null, CountMode.EXACT, null);
+        coalescer.getAllTasks(1, 50, null, CountMode.EXACT, null);
+        coalescer.getAllTasks(1, 50, TaskStatus.DONE, CountMode.EXACT, null);
+
+        verify(taskService, times(2)).getAllTasks(1, 50, null, CountMode.EXACT, null);
+        verify(taskService, times(1)).getAllTasks(1, 50, TaskStatus.DONE, CountMode.EXACT, null);
+    }
+
+    @Test
+    void getAllTasks_failure_isNotReused() {
+        when(taskService.getAllTasks(0, 50, null, CountMode.EXACT, null))
+                .thenThrow(new BadRequestException("pageIndex must be greater than or equal to 1"));
+        TaskPageCoalescer coalescer = coalescer(Duration.ofMinutes(1));
+
+        assertThrows(BadRequestException.class, () -> coalescer.getAllTasks(0, 50, null, CountMode.EXACT, null));
+        assertThrows(BadRequestException.class, () -> coalescer.getAllTasks(0, 50, null, CountMode.EXACT, null));
+
+        verify(taskService, times(2)).getAllTasks(0, 50, null, CountMode.EXACT, null);
+    }
+
+    @Test
+    void getAllTasks_disabled_alwaysDelegates() {
+        TaskCoalescingProperties properties = new TaskCoalescingProperties();
+        properties.setEnabled(false);
+        TaskPageCoalescer coalescer = new TaskPageCoalescer(reader(), properties);
+
+        coalescer.getAllTasks(1, 50, null, CountMode.NONE, null);
+        coalescer.getAllTasks(1, 50, null, CountMode.NONE, null);
+
+        verify(taskService, times(2)).getAllTasks(1, 50, null, CountMode.NONE, null);
+    }
+}
@@ -0,0 +1,155 @@
+package org.montadhahri.taskmanager.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.montadhahri.taskmanager.dto.response.TaskResponseDto;
+import org.montadhahri.taskmanager.enumeration.TaskEventType;
+import org.montadhahri.taskmanager.enumeration.TaskStatus;
+import org.montadhahri.taskmanager.event.TaskBulkEvent;
+import org.montadhahri.taskmanager.event.TaskEvent;
+import org.montadhahri.taskmanager.repository.TaskRepository;
+import org.montadhahri.taskmanager.repository.TaskTextView;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+@ExtendWith(MockitoExtension.class)
+class TaskSearchIndexTest {
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private TaskSearchIndex taskSearchIndex;
+
+    @BeforeEach
+    void setUp() {
+        when(taskRepository.streamTextByIsEnabledTrue()).thenReturn(Stream.of(
+                text(1L, "Plan weekend trip", "Book the hotel and the train"),
+                text(2L, "Pay bills", "Electricity, water and the hotel invoice"),
+                text(3L, "Réviser l'examen", "Chapitres 1 à 3"),
+                text(4L, "Clean kitchen", null)));
+        taskSearchIndex.rebuild();
+    }
+
+    private static TaskTextView text(Long id, String title, String description) {
+        return new TaskTextView() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public String getTitle() {
+                return title;
+            }
+
+            @Override
+            public String getDescription() {
+                return description;
+            }
+        };
+    }
+
+    @Test
+    void rebuild_indexesActiveTasks() {
+        assertEquals(4, taskSearchIndex.size());
+    }
+
+    @Test
+    void rebuild_keepsServingAndReplaysChangesMadeMeanwhile() {
+        when(taskRepository.streamTextByIsEnabledTrue()).thenReturn(Stream.of(
+                text(1L, "Plan weekend trip", "Book the hotel and the train"),
+                text(2L, "Pay bills", "Electricity, water and the hotel invoice")).peek(task -> {
+            if (task.getId() == 2L) {
+                // from another thread: the rebuild holds no lock while loading
+                assertEquals(2, CompletableFuture.supplyAsync(() -> taskSearchIndex.search("hotel", 0, 10).total())
+                        .orTimeout(1, TimeUnit.SECONDS).join());
+                taskSearchIndex.index(5L, "Water plants", null);
+                taskSearchIndex.remove(1L);
+            }
+        }));
+
+        taskSearchIndex.rebuild();
+
+        assertEquals(2, taskSearchIndex.size());
+        assertEquals(List.of(2L), taskSearchIndex.search("hotel", 0, 10).ids());
+        assertEquals(List.of(5L), taskSearchIndex.search("plants", 0, 10).ids());
+    }
+
+    @Test
+    void onTaskBulkEvent_reloadsAfterBulkDeletion() {
+        when(taskRepository.streamTextByIsEnabledTrue()).thenReturn(Stream.of(
+                text(1L, "Plan weekend trip", "Book the hotel and the train")));
+
+        taskSearchIndex.onTaskBulkEvent(new TaskBulkEvent(TaskEventType.DELETED, 3));
+
+        verify(taskRepository, timeout(1000).times(2)).streamTextByIsEnabledTrue();
+        assertEquals(1, taskSearchIndex.size());
+        assertEquals(List.of(1L), taskSearchIndex.search("hotel", 0, 10).ids());
+    }
+
+    @Test
+    void onTaskBulkEvent_ignoresBulkStatusChanges() {
+        taskSearchIndex.onTaskBulkEvent(new TaskBulkEvent(TaskEventType.STATUS_CHANGED, 3));
+
+        verify(taskRepository, after(100).times(1)).streamTextByIsEnabledTrue();
+    }
+
+    @Test
+    void search_requiresEveryTermIgnoringCaseAndAccents() {
+        assertEquals(List.of(3L), taskSearchIndex.search("REVISER examen", 0, 10).ids());
+        assertEquals(List.of(1L), taskSearchIndex.search("hotel train", 0, 10).ids());
+        assertEquals(0, taskSearchIndex.search("hotel kitchen", 0, 10).total());
+        assertEquals(0, taskSearchIndex.search("unknown", 0, 10).total());
+        assertEquals(0, taskSearchIndex.search(" ,; ", 0, 10).total());
+    }
+
+    @Test
+    void search_ranksTitleMatchesFirstAndPaginates() {
+        taskSearchIndex.index(5L, "Hotel booking", "Compare prices");
+
+        TaskSearchIndex.Hits firstPage = taskSearchIndex.search("hotel", 0, 2);
+        TaskSearchIndex.Hits secondPage = taskSearchIndex.search("hotel", 2, 2);
+
+        assertEquals(3, firstPage.total());
+        assertEquals(5L, firstPage.ids().getFirst());
+        assertEquals(2, firstPage.ids().size());
+        assertEquals(1, secondPage.ids().size());
+    }
+
+    @Test
+    void index_replacesPreviousText() {
+        taskSearchIndex.index(4L, "Clean garage", "Sort the tools");
+
+        assertEquals(0, taskSearchIndex.search("kitchen", 0, 10).total());
+        assertEquals(List.of(4L), taskSearchIndex.search("garage tools", 0, 10).ids());
+        assertEquals(4, taskSearchIndex.size());
+    }
+
+    @Test
+    void onTaskEvent_createsAndDeletes() {
+        TaskResponseDto created = new TaskResponseDto();
+        created.setId(6L);
+        created.setTitle("Water plants");
+
+        taskSearchIndex.onTaskEvent(new TaskEvent(TaskEventType.CREATED, 6L, null, TaskStatus.TODO, created));
+        taskSearchIndex.onTaskEvent(new TaskEvent(TaskEventType.DELETED, 2L, TaskStatus.TODO, null, null));
+
+        assertEquals(List.of(6L), taskSearchIndex.search("water", 0, 10).ids());
+        assertEquals(4, taskSearchIndex.size());
+    }
+}
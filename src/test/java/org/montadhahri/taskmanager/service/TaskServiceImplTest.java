@@ -3,26 +3,58 @@ package org.montadhahri.taskmanager.service;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.modelmapper.ModelMapper;
+import org.hibernate.exception.ConstraintViolationException;
+import org.montadhahri.taskmanager.config.TaskChangesProperties;
+import org.montadhahri.taskmanager.dto.CursorPageDto;
 import org.montadhahri.taskmanager.dto.PageDto;
 import org.montadhahri.taskmanager.dto.request.TaskRequestDto;
+import org.montadhahri.taskmanager.dto.response.TaskBatchResultDto;
+import org.montadhahri.taskmanager.dto.response.TaskBulkResultDto;
+import org.montadhahri.taskmanager.dto.response.TaskChangeDto;
+import org.montadhahri.taskmanager.dto.response.TaskChangesDto;
+import org.montadhahri.taskmanager.dto.response.TaskFieldsetDto;
 import org.montadhahri.taskmanager.dto.response.TaskResponseDto;
+import org.montadhahri.taskmanager.dto.response.TaskStatsDto;
+import org.montadhahri.taskmanager.enumeration.BatchItemStatus;
 import org.montadhahri.taskmanager.entity.Task;
+import org.montadhahri.taskmanager.enumeration.CountMode;
+import org.montadhahri.taskmanager.enumeration.TaskField;
+import org.montadhahri.taskmanager.enumeration.TaskEventType;
+import org.montadhahri.taskmanager.event.TaskBulkEvent;
+import org.montadhahri.taskmanager.event.TaskEvent;
 import org.montadhahri.taskmanager.enumeration.TaskStatus;
 import org.montadhahri.taskmanager.exception.BadRequestException;
+import org.montadhahri.taskmanager.exception.ConflictException;
 import org.montadhahri.taskmanager.exception.DuplicateResourceException;
 import org.montadhahri.taskmanager.exception.ResourceNotFoundException;
+import org.montadhahri.taskmanager.mapper.TaskMapper;
 import org.montadhahri.taskmanager.repository.TaskRepository;
+import org.montadhahri.taskmanager.repository.TaskSummaryView;
+import org.montadhahri.taskmanager.util.TaskCursor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.*;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
 
 @ExtendWith(MockitoExtension.class)
 class TaskServiceImplTest {
@@ -34,7 +66,22 @@ class TaskServiceImplTest {
     private TaskServiceImpl taskService;
 
     @Mock
-    private ModelMapper modelMapper;
+    private TaskMapper taskMapper;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private TaskCounters taskCounters;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private TaskSearchIndex taskSearchIndex;
+
+    @Spy
+    private TaskChangesProperties taskChangesProperties = new TaskChangesProperties();
 
     private Task taskEntity;
     private TaskRequestDto requestDto;
@@ -48,6 +95,7 @@ class TaskServiceImplTest {
         taskEntity.setDescription("description");
         taskEntity.setStatus(TaskStatus.TODO);
         taskEntity.setEnabled(true);
+        taskEntity.setVersion(3L);
 
         requestDto = new TaskRequestDto();
         requestDto.setTitle("Task 1");
@@ -62,30 +110,70 @@ class TaskServiceImplTest {
 
     @Test
     void createTask_success() {
-        when(taskRepository.findByTitleAndIsEnabledTrue(requestDto.getTitle()))
-                .thenReturn(Optional.empty());
-        when(modelMapper.map(requestDto, Task.class)).thenReturn(taskEntity);
-        when(taskRepository.save(taskEntity)).thenReturn(taskEntity);
-        when(modelMapper.map(taskEntity, TaskResponseDto.class)).thenReturn(responseDto);
+        when(taskMapper.toEntity(requestDto)).thenReturn(taskEntity);
+        when(taskRepository.saveAndFlush(taskEntity)).thenReturn(taskEntity);
+        when(taskMapper.toResponseDto(taskEntity)).thenReturn(responseDto);
 
         TaskResponseDto result = taskService.createTask(requestDto);
 
         assertNotNull(result);
         assertEquals(responseDto.getTitle(), result.getTitle());
-        verify(taskRepository).save(taskEntity);
+        verify(taskRepository).saveAndFlush(taskEntity);
+        verify(taskRepository, never()).findByTitleAndIsEnabledTrue(any());
+        verify(eventPublisher).publishEvent(new TaskEvent(TaskEventType.CREATED, 1L, null, TaskStatus.TODO, responseDto));
     }
 
     @Test
     void createTask_duplicateTitle_throwsException() {
-        when(taskRepository.findByTitleAndIsEnabledTrue(requestDto.getTitle()))
-                .thenReturn(Optional.of(taskEntity));
+        when(taskMapper.toEntity(requestDto)).thenReturn(taskEntity);
+        when(taskRepository.saveAndFlush(taskEntity)).thenThrow(duplicateTitleViolation());
 
         DuplicateResourceException exception = assertThrows(DuplicateResourceException.class, () -> {
             taskService.createTask(requestDto);
         });
 
-        assertTrue(exception.getMessage().contains("Task title already exists"));
-        verify(taskRepository, never()).save(any());
+        assertEquals("Task title already exists: Task 1", exception.getMessage());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void createTask_otherIntegrityViolation_isRethrown() {
+        DataIntegrityViolationException violation = new DataIntegrityViolationException("value too long");
+        when(taskMapper.toEntity(requestDto)).thenReturn(taskEntity);
+        when(taskRepository.saveAndFlush(taskEntity)).thenThrow(violation);
+
+        assertSame(violation, assertThrows(DataIntegrityViolationException.class, () -> taskService.createTask(requestDto)));
+    }
+
+    @Test
+    void createTasks_rejectsExistingAndRepeatedTitles() {
+        TaskRequestDto newDto = new TaskRequestDto("New task", null);
+        TaskRequestDto repeatedDto = new TaskRequestDto("New task", "again");
+
+        Task newTask = new Task();
+        newTask.setId(2L);
+        newTask.setTitle("New task");
+
+        TaskResponseDto newResponseDto = new TaskResponseDto();
+        newResponseDto.setId(2L);
+
+        when(taskRepository.findEnabledTitlesIn(List.of("Task 1", "New task"))).thenReturn(List.of("Task 1"));
+        when(taskMapper.toEntity(newDto)).thenReturn(newTask);
+        when(taskMapper.toResponseDto(newTask)).thenReturn(newResponseDto);
+
+        TaskBatchResultDto result = taskService.createTasks(List.of(requestDto, newDto, repeatedDto));
+
+        assertEquals(1, result.getCreated());
+        assertEquals(2, result.getFailed());
+        assertEquals(BatchItemStatus.DUPLICATE, result.getItems().get(0).getStatus());
+        assertEquals(BatchItemStatus.CREATED, result.getItems().get(1).getStatus());
+        assertEquals(newResponseDto, result.getItems().get(1).getTask());
+        assertEquals(BatchItemStatus.DUPLICATE, result.getItems().get(2).getStatus());
+        assertEquals(TaskStatus.TODO, newTask.getStatus());
+        verify(taskRepository, times(1)).saveAll(anyList());
+        verify(taskRepository).flush();
+        verify(entityManager).clear();
+        verify(eventPublisher).publishEvent(new TaskEvent(TaskEventType.CREATED, 2L, null, TaskStatus.TODO, newResponseDto));
     }
 
     @Test
@@ -109,15 +197,14 @@ class TaskServiceImplTest {
         updatedResponseDto.setStatus(TaskStatus.TODO);
 
         when(taskRepository.findByIdAndIsEnabledTrue(id)).thenReturn(Optional.of(taskEntity));
-        when(taskRepository.findByTitleAndIsEnabledTrue(updateDto.getTitle())).thenReturn(Optional.empty());
-        when(taskRepository.save(any(Task.class))).thenReturn(updatedTask);
-        when(modelMapper.map(updatedTask, TaskResponseDto.class)).thenReturn(updatedResponseDto);
+        when(taskRepository.saveAndFlush(any(Task.class))).thenReturn(updatedTask);
+        when(taskMapper.toResponseDto(updatedTask)).thenReturn(updatedResponseDto);
 
         TaskResponseDto result = taskService.updateTask(id, updateDto);
 
         assertNotNull(result);
         assertEquals("Updated Task", result.getTitle());
-        verify(taskRepository).save(any(Task.class));
+        verify(taskRepository).saveAndFlush(any(Task.class));
     }
 
     @Test
@@ -127,20 +214,15 @@ class TaskServiceImplTest {
         updateDto.setTitle("Duplicate Title");
         updateDto.setDescription("Desc");
 
-        Task otherTask = new Task();
-        otherTask.setId(2L);
-        otherTask.setTitle("Duplicate Title");
-        otherTask.setEnabled(true);
-
         when(taskRepository.findByIdAndIsEnabledTrue(id)).thenReturn(Optional.of(taskEntity));
-        when(taskRepository.findByTitleAndIsEnabledTrue(updateDto.getTitle())).thenReturn(Optional.of(otherTask));
+        when(taskRepository.saveAndFlush(taskEntity)).thenThrow(duplicateTitleViolation());
 
         DuplicateResourceException exception = assertThrows(DuplicateResourceException.class, () -> {
             taskService.updateTask(id, updateDto);
         });
 
         assertTrue(exception.getMessage().contains("Task title already exists"));
-        verify(taskRepository, never()).save(any());
+        verifyNoInteractions(eventPublisher);
     }
 
     @Test
@@ -160,28 +242,92 @@ class TaskServiceImplTest {
         Long id = 1L;
         TaskStatus newStatus = TaskStatus.IN_PROGRESS;
 
-        Task updatedTask = new Task();
-        updatedTask.setId(id);
-        updatedTask.setTitle(taskEntity.getTitle());
-        updatedTask.setDescription(taskEntity.getDescription());
-        updatedTask.setStatus(newStatus);
-        updatedTask.setEnabled(true);
-
         TaskResponseDto updatedResponseDto = new TaskResponseDto();
         updatedResponseDto.setId(id);
-        updatedResponseDto.setTitle(taskEntity.getTitle());
-        updatedResponseDto.setDescription(taskEntity.getDescription());
         updatedResponseDto.setStatus(newStatus);
 
         when(taskRepository.findByIdAndIsEnabledTrue(id)).thenReturn(Optional.of(taskEntity));
-        when(taskRepository.save(any(Task.class))).thenReturn(updatedTask);
-        when(modelMapper.map(updatedTask, TaskResponseDto.class)).thenReturn(updatedResponseDto);
+        when(taskRepository.updateStatusByIdAndVersion(eq(id), eq(3L), eq(newStatus), isNull(), any())).thenReturn(1);
+        when(taskMapper.toResponseDto(taskEntity)).thenReturn(updatedResponseDto);
 
         TaskResponseDto result = taskService.updateTaskStatus(id, newStatus);
 
         assertNotNull(result);
         assertEquals(newStatus, result.getStatus());
-        verify(taskRepository).save(any(Task.class));
+        assertEquals(4L, taskEntity.getVersion());
+        assertEquals(newStatus, taskEntity.getStatus());
+        verify(taskRepository, never()).saveAndFlush(any());
+        verify(eventPublisher).publishEvent(new TaskEvent(TaskEventType.STATUS_CHANGED, id, TaskStatus.TODO, newStatus, updatedResponseDto));
+    }
+
+    @Test
+    void updateTaskStatus_toDone_setsCompletedAt() {
+        when(taskRepository.findByIdAndIsEnabledTrue(1L)).thenReturn(Optional.of(taskEntity));
+        when(taskRepository.updateStatusByIdAndVersion(eq(1L), eq(3L), eq(TaskStatus.DONE), notNull(), any())).thenReturn(1);
+        when(taskMapper.toResponseDto(taskEntity)).thenReturn(responseDto);
+
+        taskService.updateTaskStatus(1L, TaskStatus.DONE, 3L, TaskStatus.TODO);
+
+        assertNotNull(taskEntity.getCompletedAt());
+    }
+
+    @Test
+    void updateTaskStatus_concurrentChange_retriesWithNewState() {
+        Task changed = new Task();
+        changed.setId(1L);
+        changed.setStatus(TaskStatus.IN_PROGRESS);
+        changed.setEnabled(true);
+        changed.setVersion(4L);
+
+        when(taskRepository.findByIdAndIsEnabledTrue(1L)).thenReturn(Optional.of(taskEntity), Optional.of(changed));
+        when(taskRepository.updateStatusByIdAndVersion(eq(1L), eq(3L), eq(TaskStatus.DONE), any(), any())).thenReturn(0);
+        when(taskRepository.updateStatusByIdAndVersion(eq(1L), eq(4L), eq(TaskStatus.DONE), any(), any())).thenReturn(1);
+        when(taskMapper.toResponseDto(changed)).thenReturn(responseDto);
+
+        taskService.updateTaskStatus(1L, TaskStatus.DONE);
+
+        verify(eventPublisher).publishEvent(new TaskEvent(TaskEventType.STATUS_CHANGED, 1L, TaskStatus.IN_PROGRESS, TaskStatus.DONE, responseDto));
+    }
+
+    @Test
+    void updateTaskStatus_concurrentChangeOfExpectedStatus_throwsConflict() {
+        Task changed = new Task();
+        changed.setId(1L);
+        changed.setStatus(TaskStatus.IN_PROGRESS);
+        changed.setEnabled(true);
+        changed.setVersion(4L);
+
+        when(taskRepository.findByIdAndIsEnabledTrue(1L)).thenReturn(Optional.of(taskEntity), Optional.of(changed));
+        when(taskRepository.updateStatusByIdAndVersion(eq(1L), eq(3L), eq(TaskStatus.IN_PROGRESS), any(), any())).thenReturn(0);
+
+        ConflictException exception = assertThrows(ConflictException.class, () -> {
+            taskService.updateTaskStatus(1L, TaskStatus.IN_PROGRESS, null, TaskStatus.TODO);
+        });
+
+        assertEquals("Task 1 is not TODO but IN_PROGRESS", exception.getMessage());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void updateTaskStatus_outdatedVersion_throwsConflict() {
+        when(taskRepository.findByIdAndIsEnabledTrue(1L)).thenReturn(Optional.of(taskEntity));
+
+        assertThrows(ConflictException.class, () -> taskService.updateTaskStatus(1L, TaskStatus.DONE, 2L, null));
+
+        verify(taskRepository, never()).updateStatusByIdAndVersion(any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void updateTask_outdatedVersion_throwsConflict() {
+        TaskRequestDto updateDto = new TaskRequestDto("Updated Task", null);
+        updateDto.setVersion(2L);
+
+        when(taskRepository.findByIdAndIsEnabledTrue(1L)).thenReturn(Optional.of(taskEntity));
+
+        ConflictException exception = assertThrows(ConflictException.class, () -> taskService.updateTask(1L, updateDto));
+
+        assertEquals("Task 1 was modified, current version: 3", exception.getMessage());
+        verify(taskRepository, never()).saveAndFlush(any());
     }
 
     @Test
@@ -194,6 +340,181 @@ class TaskServiceImplTest {
         assertDoesNotThrow(() -> taskService.softDeleteTask(id));
 
         verify(taskRepository).save(argThat(task -> !task.isEnabled()));
+        verify(eventPublisher).publishEvent(new TaskEvent(TaskEventType.DELETED, id, TaskStatus.TODO, null, null));
+    }
+
+    @Test
+    void updateTasksStatus_byIds_runsOneUpdateAndPublishesOneBulkEvent() {
+        List<Long> ids = List.of(1L, 2L, 2L, 3L);
+
+        when(taskRepository.updateEnabledStatusByIdIn(eq(List.of(1L, 2L, 3L)), isNull(), eq(TaskStatus.DONE), any(), notNull()))
+                .thenReturn(2);
+
+        TaskBulkResultDto result = taskService.updateTasksStatus(ids, null, TaskStatus.DONE);
+
+        assertEquals(2, result.getAffected());
+        verify(eventPublisher).publishEvent(new TaskBulkEvent(TaskEventType.STATUS_CHANGED, 2));
+        verify(eventPublisher, times(1)).publishEvent(any(Object.class));
+        verify(taskRepository, never()).save(any());
+    }
+
+    @Test
+    void updateTasksStatus_byStatus_publishesNothingWhenNoTaskChanged() {
+        when(taskRepository.updateEnabledStatusByStatus(eq(TaskStatus.TODO), eq(TaskStatus.IN_PROGRESS), any(), isNull()))
+                .thenReturn(0);
+
+        TaskBulkResultDto result = taskService.updateTasksStatus(null, TaskStatus.TODO, TaskStatus.IN_PROGRESS);
+
+        assertEquals(0, result.getAffected());
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
+    }
+
+    @Test
+    void updateTasksStatus_withoutFilter_throwsException() {
+        BadRequestException ex = assertThrows(BadRequestException.class, () -> {
+            taskService.updateTasksStatus(List.of(), null, TaskStatus.DONE);
+        });
+        assertEquals("ids or status must be provided", ex.getMessage());
+    }
+
+    @Test
+    void updateTaskStatuses_updatesOncePerNewStatus() {
+        Map<Long, TaskStatus> statuses = new LinkedHashMap<>();
+        statuses.put(1L, TaskStatus.DONE);
+        statuses.put(2L, TaskStatus.DONE);
+        statuses.put(3L, TaskStatus.DONE);
+        statuses.put(4L, TaskStatus.IN_PROGRESS);
+        statuses.put(5L, TaskStatus.DONE);
+        Task alreadyDone = task(2L, TaskStatus.DONE);
+        Task inProgress = task(3L, TaskStatus.IN_PROGRESS);
+        Task todo = task(4L, TaskStatus.TODO);
+
+        when(taskRepository.lockEnabledTasksByIdIn(List.of(1L, 2L, 3L, 4L, 5L)))
+                .thenReturn(List.of(taskEntity, alreadyDone, inProgress, todo));
+        when(taskMapper.toResponseDto(any(Task.class))).thenAnswer(invocation -> {
+            Task task = invocation.getArgument(0);
+            TaskResponseDto dto = new TaskResponseDto();
+            dto.setId(task.getId());
+            dto.setStatus(task.getStatus());
+            return dto;
+        });
+
+        Map<Long, TaskResponseDto> result = taskService.updateTaskStatuses(statuses);
+
+        assertEquals(Set.of(1L, 2L, 3L, 4L), result.keySet());
+        assertEquals(TaskStatus.DONE, result.get(1L).getStatus());
+        assertEquals(TaskStatus.IN_PROGRESS, result.get(4L).getStatus());
+        assertEquals(4L, taskEntity.getVersion());
+        assertNotNull(taskEntity.getCompletedAt());
+        assertEquals(0L, alreadyDone.getVersion());
+        verify(taskRepository).updateStatusByIdIn(eq(List.of(1L, 3L)), eq(TaskStatus.DONE), any(), notNull());
+        verify(taskRepository).updateStatusByIdIn(eq(List.of(4L)), eq(TaskStatus.IN_PROGRESS), any(), isNull());
+        verify(taskRepository, times(2)).updateStatusByIdIn(any(), any(), any(), any());
+        verify(eventPublisher).publishEvent(new TaskEvent(TaskEventType.STATUS_CHANGED, 1L, TaskStatus.TODO, TaskStatus.DONE, result.get(1L)));
+        verify(eventPublisher).publishEvent(new TaskEvent(TaskEventType.STATUS_CHANGED, 4L, TaskStatus.TODO, TaskStatus.IN_PROGRESS, result.get(4L)));
+        verify(eventPublisher, times(3)).publishEvent(any(Object.class));
+    }
+
+    private static Task task(Long id, TaskStatus status) {
+        Task task = new Task();
+        task.setId(id);
+        task.setTitle("Task " + id);
+        task.setStatus(status);
+        task.setEnabled(true);
+        task.setVersion(0L);
+        return task;
+    }
+
+    @Test
+    void softDeleteTasks_byStatus_runsOneUpdateAndPublishesOneBulkEvent() {
+        when(taskRepository.softDeleteEnabledByStatus(eq(TaskStatus.DONE), any())).thenReturn(2);
+
+        TaskBulkResultDto result = taskService.softDeleteTasks(null, TaskStatus.DONE);
+
+        assertEquals(2, result.getAffected());
+        verify(eventPublisher).publishEvent(new TaskBulkEvent(TaskEventType.DELETED, 2));
+        verify(eventPublisher, times(1)).publishEvent(any(Object.class));
+        verify(taskRepository, never()).softDeleteEnabledByIdIn(any(), any(), any());
+    }
+
+    @Test
+    void softDeleteTasks_byIdsAndStatus_filtersStatusInTheUpdate() {
+        List<Long> ids = List.of(4L, 5L);
+
+        when(taskRepository.softDeleteEnabledByIdIn(eq(ids), eq(TaskStatus.DONE), any())).thenReturn(1);
+
+        TaskBulkResultDto result = taskService.softDeleteTasks(ids, TaskStatus.DONE);
+
+        assertEquals(1, result.getAffected());
+        verify(eventPublisher).publishEvent(new TaskBulkEvent(TaskEventType.DELETED, 1));
+    }
+
+    @Test
+    void searchTasks_returnsTasksInRankOrderSkippingDeleted() {
+        Task otherTask = new Task();
+        otherTask.setId(2L);
+        otherTask.setEnabled(true);
+        Task deletedTask = new Task();
+        deletedTask.setId(3L);
+        deletedTask.setEnabled(false);
+        TaskResponseDto otherDto = new TaskResponseDto();
+        otherDto.setId(2L);
+
+        when(taskSearchIndex.search("hotel", 10, 10)).thenReturn(new TaskSearchIndex.Hits(13, List.of(2L, 3L, 1L)));
+        when(taskRepository.findAllById(List.of(2L, 3L, 1L))).thenReturn(List.of(taskEntity, deletedTask, otherTask));
+        when(taskMapper.toResponseDto(taskEntity)).thenReturn(responseDto);
+        when(taskMapper.toResponseDto(otherTask)).thenReturn(otherDto);
+
+        PageDto<TaskResponseDto> result = taskService.searchTasks("hotel", 2, 10);
+
+        assertEquals(List.of(otherDto, responseDto), result.getItems());
+        assertEquals(13L, result.getCount());
+    }
+
+    @Test
+    void getTaskStats_readsCountersOnly() {
+        TaskStatsDto stats = new TaskStatsDto();
+        when(taskCounters.stats()).thenReturn(stats);
+
+        assertSame(stats, taskService.getTaskStats());
+        verifyNoInteractions(taskRepository);
+    }
+
+    @Test
+    void searchTasks_blankQuery_throwsException() {
+        assertThrows(BadRequestException.class, () -> taskService.searchTasks(" ", 1, 10));
+        verifyNoInteractions(taskSearchIndex);
+    }
+
+    @Test
+    void exportTasks_streamsMappedTasksAndClosesStream() {
+        Task otherTask = new Task();
+        otherTask.setId(2L);
+        TaskResponseDto otherDto = new TaskResponseDto();
+        otherDto.setId(2L);
+        AtomicBoolean closed = new AtomicBoolean();
+        List<TaskResponseDto> exported = new ArrayList<>();
+
+        when(taskRepository.streamByIsEnabledTrueOrderByIdAsc())
+                .thenReturn(Stream.of(taskEntity, otherTask).onClose(() -> closed.set(true)));
+        when(taskMapper.toResponseDto(taskEntity)).thenReturn(responseDto);
+        when(taskMapper.toResponseDto(otherTask)).thenReturn(otherDto);
+
+        long count = taskService.exportTasks(null, exported::add);
+
+        assertEquals(2, count);
+        assertEquals(List.of(responseDto, otherDto), exported);
+        assertTrue(closed.get());
+    }
+
+    @Test
+    void exportTasks_withStatus_streamsStatusTasks() {
+        when(taskRepository.streamByStatusAndIsEnabledTrueOrderByIdAsc(TaskStatus.DONE)).thenReturn(Stream.empty());
+
+        long count = taskService.exportTasks(TaskStatus.DONE, dto -> fail("no task expected"));
+
+        assertEquals(0, count);
+        verify(taskRepository, never()).streamByIsEnabledTrueOrderByIdAsc();
     }
 
     @Test
@@ -214,7 +535,7 @@ class TaskServiceImplTest {
         Long id = 1L;
 
         when(taskRepository.findByIdAndIsEnabledTrue(id)).thenReturn(Optional.of(taskEntity));
-        when(modelMapper.map(taskEntity, TaskResponseDto.class)).thenReturn(responseDto);
+        when(taskMapper.toResponseDto(taskEntity)).thenReturn(responseDto);
 
         TaskResponseDto result = taskService.getTaskById(id);
 
@@ -260,8 +581,8 @@ class TaskServiceImplTest {
         Page<Task> mockPage = new PageImpl<>(List.of(task1, task2), pageable, 2);
 
         when(taskRepository.findByIsEnabledTrue(pageable)).thenReturn(mockPage);
-        when(modelMapper.map(task1, TaskResponseDto.class)).thenReturn(dto1);
-        when(modelMapper.map(task2, TaskResponseDto.class)).thenReturn(dto2);
+        when(taskMapper.toResponseDto(task1)).thenReturn(dto1);
+        when(taskMapper.toResponseDto(task2)).thenReturn(dto2);
 
         PageDto<TaskResponseDto> result = taskService.getAllTasks(pageIndex, offset, null);
 
@@ -294,7 +615,7 @@ class TaskServiceImplTest {
         Page<Task> mockPage = new PageImpl<>(List.of(task1), pageable, 1);
 
         when(taskRepository.findByStatusAndIsEnabledTrue(status, pageable)).thenReturn(mockPage);
-        when(modelMapper.map(task1, TaskResponseDto.class)).thenReturn(dto1);
+        when(taskMapper.toResponseDto(task1)).thenReturn(dto1);
 
         PageDto<TaskResponseDto> result = taskService.getAllTasks(pageIndex, offset, status);
 
@@ -307,6 +628,91 @@ class TaskServiceImplTest {
         verify(taskRepository, never()).findByIsEnabledTrue(any());
     }
 
+    @Test
+    void testGetAllTasksCountNone_returnsSliceWithoutCount() {
+        Task task1 = new Task();
+        task1.setId(1L);
+
+        TaskResponseDto dto1 = new TaskResponseDto();
+        dto1.setId(1L);
+
+        Pageable pageable = PageRequest.of(0, 1, Sort.by("createdAt").ascending());
+        Slice<Task> mockSlice = new SliceImpl<>(List.of(task1), pageable, true);
+
+        when(taskRepository.findSliceByIsEnabledTrue(pageable)).thenReturn(mockSlice);
+        when(taskMapper.toResponseDto(task1)).thenReturn(dto1);
+
+        PageDto<TaskResponseDto> result = taskService.getAllTasks(1, 1, null, CountMode.NONE);
+
+        assertEquals(List.of(dto1), result.getItems());
+        assertNull(result.getCount());
+        assertTrue(result.getHasNext());
+        verify(taskRepository, never()).findByIsEnabledTrue(any());
+        verifyNoInteractions(taskCounters);
+    }
+
+    @Test
+    void testGetAllTasksWithoutDescription_readsSummariesOnly() {
+        TaskSummaryView summary = new TaskSummaryView(1L, "Task 1", TaskStatus.TODO, LocalDateTime.of(2025, 1, 1, 10, 0), 3L);
+        TaskResponseDto dto1 = new TaskResponseDto();
+        dto1.setId(1L);
+        dto1.setTitle("Task 1");
+        dto1.setStatus(TaskStatus.TODO);
+        dto1.setUpdatedAt(LocalDateTime.of(2025, 1, 1, 10, 0));
+        dto1.setVersion(3L);
+
+        Pageable pageable = PageRequest.of(0, 10, Sort.by("createdAt").ascending());
+        when(taskRepository.findSummaryByIsEnabledTrue(pageable)).thenReturn(new PageImpl<>(List.of(summary), pageable, 1));
+        when(taskMapper.toResponseDto(summary)).thenReturn(dto1);
+
+        PageDto<TaskResponseDto> result = taskService.getAllTasks(1, 10, null, CountMode.EXACT,
+                EnumSet.of(TaskField.TITLE, TaskField.STATUS));
+
+        assertEquals(1, result.getCount());
+        TaskResponseDto item = result.getItems().getFirst();
+        assertInstanceOf(TaskFieldsetDto.class, item);
+        assertEquals(1L, item.getId());
+        assertEquals("Task 1", item.getTitle());
+        assertEquals(TaskStatus.TODO, item.getStatus());
+        assertNull(item.getUpdatedAt());
+        assertNull(item.getVersion());
+        verify(taskRepository, never()).findByIsEnabledTrue(any());
+    }
+
+    @Test
+    void testGetAllTasksWithDescription_readsEntities() {
+        Pageable pageable = PageRequest.of(0, 10, Sort.by("createdAt").ascending());
+        when(taskRepository.findSliceByStatusAndIsEnabledTrue(TaskStatus.TODO, pageable))
+                .thenReturn(new SliceImpl<>(List.of(taskEntity), pageable, false));
+        when(taskMapper.toResponseDto(taskEntity)).thenReturn(responseDto);
+
+        PageDto<TaskResponseDto> result = taskService.getAllTasks(1, 10, TaskStatus.TODO, CountMode.NONE,
+                EnumSet.of(TaskField.ID, TaskField.DESCRIPTION));
+
+        TaskResponseDto item = result.getItems().getFirst();
+        assertEquals("description", item.getDescription());
+        assertNull(item.getTitle());
+        assertNull(item.getStatus());
+        assertFalse(result.getHasNext());
+        verify(taskRepository, never()).findSummarySliceByStatusAndIsEnabledTrue(any(), any());
+    }
+
+    @Test
+    void testGetAllTasksCountEstimate_returnsCounterValue() {
+        TaskStatus status = TaskStatus.DONE;
+        Pageable pageable = PageRequest.of(1, 10, Sort.by("createdAt").ascending());
+        Slice<Task> mockSlice = new SliceImpl<>(List.of(), pageable, false);
+
+        when(taskRepository.findSliceByStatusAndIsEnabledTrue(status, pageable)).thenReturn(mockSlice);
+        when(taskCounters.count(status)).thenReturn(42L);
+
+        PageDto<TaskResponseDto> result = taskService.getAllTasks(2, 10, status, CountMode.ESTIMATE);
+
+        assertEquals(42, result.getCount());
+        assertFalse(result.getHasNext());
+        verify(taskRepository, never()).findByStatusAndIsEnabledTrue(any(), any());
+    }
+
     @Test
     void testGetAllTasks_invalidPageIndex_throwsException() {
         BadRequestException ex = assertThrows(BadRequestException.class, () -> {
@@ -322,4 +728,145 @@ class TaskServiceImplTest {
         });
         assertEquals("offset must be greater than 0", ex.getMessage());
     }
+
+    @Test
+    void getTasksAfter_firstPage_returnsNextCursor() {
+        LocalDateTime createdAt = LocalDateTime.of(2025, 1, 1, 10, 0);
+
+        Task task1 = new Task();
+        task1.setId(1L);
+        task1.setCreatedAt(createdAt);
+
+        Task task2 = new Task();
+        task2.setId(2L);
+        task2.setCreatedAt(createdAt);
+
+        Task task3 = new Task();
+        task3.setId(3L);
+        task3.setCreatedAt(createdAt.plusMinutes(1));
+
+        TaskResponseDto dto1 = new TaskResponseDto();
+        dto1.setId(1L);
+
+        TaskResponseDto dto2 = new TaskResponseDto();
+        dto2.setId(2L);
+
+        Pageable pageable = PageRequest.ofSize(3);
+        when(taskRepository.findByIsEnabledTrueOrderByCreatedAtAscIdAsc(pageable)).thenReturn(List.of(task1, task2, task3));
+        when(taskMapper.toResponseDto(task1)).thenReturn(dto1);
+        when(taskMapper.toResponseDto(task2)).thenReturn(dto2);
+
+        CursorPageDto<TaskResponseDto> result = taskService.getTasksAfter(2, null, null);
+
+        assertEquals(List.of(dto1, dto2), result.getItems());
+        assertEquals(new TaskCursor(createdAt, 2L), TaskCursor.decode(result.getNextCursor()));
+        verify(taskRepository, never()).findByIsEnabledTrue(any());
+    }
+
+    @Test
+    void getTasksAfter_withCursorAndStatus_lastPageHasNoCursor() {
+        TaskCursor cursor = new TaskCursor(LocalDateTime.of(2025, 1, 1, 10, 0), 2L);
+
+        Task task3 = new Task();
+        task3.setId(3L);
+        task3.setStatus(TaskStatus.TODO);
+
+        TaskResponseDto dto3 = new TaskResponseDto();
+        dto3.setId(3L);
+
+        Pageable pageable = PageRequest.ofSize(3);
+        when(taskRepository.findEnabledByStatusAfter(TaskStatus.TODO, cursor.timestamp(), cursor.id(), pageable))
+                .thenReturn(List.of(task3));
+        when(taskMapper.toResponseDto(task3)).thenReturn(dto3);
+
+        CursorPageDto<TaskResponseDto> result = taskService.getTasksAfter(2, cursor.encode(), TaskStatus.TODO);
+
+        assertEquals(List.of(dto3), result.getItems());
+        assertNull(result.getNextCursor());
+    }
+
+    @Test
+    void getTasksAfter_invalidCursor_throwsException() {
+        BadRequestException ex = assertThrows(BadRequestException.class, () -> {
+            taskService.getTasksAfter(10, "not-a-cursor", null);
+        });
+        assertTrue(ex.getMessage().startsWith("Invalid cursor"));
+    }
+
+    @Test
+    void getTasksAfter_invalidLimit_throwsException() {
+        BadRequestException ex = assertThrows(BadRequestException.class, () -> {
+            taskService.getTasksAfter(0, null, null);
+        });
+        assertEquals("limit must be greater than 0", ex.getMessage());
+    }
+
+    @Test
+    void getTaskChanges_sinceDate_returnsUpsertsAndTombstones() {
+        LocalDateTime since = LocalDateTime.of(2025, 1, 1, 10, 0);
+
+        Task updated = new Task();
+        updated.setId(4L);
+        updated.setEnabled(true);
+        updated.setUpdatedAt(since);
+
+        Task deleted = new Task();
+        deleted.setId(2L);
+        deleted.setEnabled(false);
+        deleted.setUpdatedAt(since.plusMinutes(1));
+
+        TaskResponseDto updatedDto = new TaskResponseDto();
+        updatedDto.setId(4L);
+
+        when(taskRepository.findChangedAfter(eq(since), eq(0L), any(), eq(PageRequest.ofSize(3)))).thenReturn(List.of(updated, deleted));
+        when(taskMapper.toResponseDto(updated)).thenReturn(updatedDto);
+
+        TaskChangesDto result = taskService.getTaskChanges(since, null, 2);
+
+        assertEquals(List.of(
+                new TaskChangeDto(4L, since, false, updatedDto),
+                new TaskChangeDto(2L, since.plusMinutes(1), true, null)), result.getChanges());
+        assertFalse(result.isHasMore());
+        assertEquals(new TaskCursor(since.plusMinutes(1), 2L), TaskCursor.decode(result.getCursor()));
+        verify(taskMapper, never()).toResponseDto(deleted);
+    }
+
+    @Test
+    void getTaskChanges_nothingChanged_keepsCursor() {
+        TaskCursor cursor = new TaskCursor(LocalDateTime.of(2025, 1, 1, 10, 0), 2L);
+
+        when(taskRepository.findChangedAfter(eq(cursor.timestamp()), eq(cursor.id()), any(), eq(PageRequest.ofSize(11)))).thenReturn(List.of());
+
+        TaskChangesDto result = taskService.getTaskChanges(null, cursor.encode(), 10);
+
+        assertTrue(result.getChanges().isEmpty());
+        assertEquals(cursor.encode(), result.getCursor());
+    }
+
+    @Test
+    void getTaskChanges_leavesChangesWithinTheSafetyLagForLater() {
+        taskChangesProperties.setSafetyLag(Duration.ofSeconds(5));
+        LocalDateTime before = LocalDateTime.now();
+
+        taskService.getTaskChanges(null, null, 10);
+
+        ArgumentCaptor<LocalDateTime> until = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(taskRepository).findByUpdatedAtBeforeOrderByUpdatedAtAscIdAsc(until.capture(), eq(PageRequest.ofSize(11)));
+        assertFalse(until.getValue().isBefore(before.minusSeconds(5)));
+        assertFalse(until.getValue().isAfter(LocalDateTime.now().minusSeconds(5)));
+    }
+
+    @Test
+    void getTaskChanges_sinceAndCursor_throwsException() {
+        BadRequestException ex = assertThrows(BadRequestException.class, () -> {
+            taskService.getTaskChanges(LocalDateTime.now(), "token", 10);
+        });
+        assertEquals("since and cursor cannot be used together", ex.getMessage());
+        verifyNoInteractions(taskRepository);
+    }
+
+    private static DataIntegrityViolationException duplicateTitleViolation() {
+        return new DataIntegrityViolationException("could not execute statement",
+                new ConstraintViolationException("Unique index or primary key violation", null, "PUBLIC.UK_TASKS_ENABLED_TITLE"));
+    }
 }
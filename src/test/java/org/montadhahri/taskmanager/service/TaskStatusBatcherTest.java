@@ -0,0 +1,187 @@
+package org.montadhahri.taskmanager.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.montadhahri.taskmanager.config.TaskGroupCommitProperties;
+import org.montadhahri.taskmanager.dto.response.TaskResponseDto;
+import org.montadhahri.taskmanager.enumeration.TaskStatus;
+import org.montadhahri.taskmanager.exception.ConflictException;
+import org.montadhahri.taskmanager.exception.ResourceNotFoundException;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+@ExtendWith(MockitoExtension.class)
+class TaskStatusBatcherTest {
+
+    @Mock
+    private TaskService taskService;
+
+    private TaskStatusBatcher batcher;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        batcher.close();
+    }
+
+    private TaskStatusBatcher batcher(boolean enabled, Duration maxDelay, int maxBatchSize) {
+        return batcher(enabled, maxDelay, maxBatchSize, 10000);
+    }
+
+    private TaskStatusBatcher batcher(boolean enabled, Duration maxDelay, int maxBatchSize, int queueCapacity) {
+        TaskGroupCommitProperties properties = new TaskGroupCommitProperties();
+        properties.setEnabled(enabled);
+        properties.setMaxDelay(maxDelay);
+        properties.setMaxBatchSize(maxBatchSize);
+        properties.setQueueCapacity(queueCapacity);
+        properties.setOfferTimeout(Duration.ofMillis(10));
+        batcher = new TaskStatusBatcher(taskService, properties);
+        return batcher;
+    }
+
+    private static TaskResponseDto task(Long id, TaskStatus status) {
+        TaskResponseDto task = new TaskResponseDto();
+        task.setId(id);
+        task.setStatus(status);
+        return task;
+    }
+
+    @Test
+    void fullBatch_isCommittedAtOnce_lastChangeWins() {
+        // a long delay: only the batch size closes the batch
+        batcher(true, Duration.ofMinutes(1), 3);
+        Map<Long, TaskStatus> statuses = new LinkedHashMap<>();
+        statuses.put(1L, TaskStatus.DONE);
+        statuses.put(2L, TaskStatus.IN_PROGRESS);
+        when(taskService.updateTaskStatuses(statuses))
+                .thenReturn(Map.of(1L, task(1L, TaskStatus.DONE), 2L, task(2L, TaskStatus.IN_PROGRESS)));
+
+        CompletableFuture<TaskResponseDto> first = batcher.submit(1L, TaskStatus.IN_PROGRESS);
+        CompletableFuture<TaskResponseDto> second = batcher.submit(2L, TaskStatus.IN_PROGRESS);
+        CompletableFuture<TaskResponseDto> last = batcher.submit(1L, TaskStatus.DONE);
+
+        assertEquals(TaskStatus.DONE, first.join().getStatus());
+        assertEquals(TaskStatus.IN_PROGRESS, second.join().getStatus());
+        assertEquals(TaskStatus.DONE, last.join().getStatus());
+        verify(taskService, times(1)).updateTaskStatuses(any());
+    }
+
+    @Test
+    void partialBatch_isCommittedAfterMaxDelay() {
+        batcher(true, Duration.ofMillis(20), 100);
+        when(taskService.updateTaskStatuses(Map.of(1L, TaskStatus.DONE))).thenReturn(Map.of(1L, task(1L, TaskStatus.DONE)));
+
+        TaskResponseDto result = batcher.updateTaskStatus(1L, TaskStatus.DONE);
+
+        assertEquals(TaskStatus.DONE, result.getStatus());
+    }
+
+    @Test
+    void missingTask_failsItsCallerOnly() {
+        batcher(true, Duration.ofMinutes(1), 2);
+        when(taskService.updateTaskStatuses(Map.of(1L, TaskStatus.DONE, 9L, TaskStatus.DONE)))
+                .thenReturn(Map.of(1L, task(1L, TaskStatus.DONE)));
+
+        CompletableFuture<TaskResponseDto> found = batcher.submit(1L, TaskStatus.DONE);
+        CompletableFuture<TaskResponseDto> missing = batcher.submit(9L, TaskStatus.DONE);
+
+        assertEquals(1L, found.join().getId());
+        CompletionException exception = assertThrows(CompletionException.class, missing::join);
+        assertInstanceOf(ResourceNotFoundException.class, exception.getCause());
+    }
+
+    @Test
+    void failedBatch_isRetriedOneChangeAtATime() {
+        batcher(true, Duration.ofMinutes(1), 2);
+        when(taskService.updateTaskStatuses(any())).thenThrow(new IllegalStateException("lock timeout"));
+        when(taskService.updateTaskStatus(1L, TaskStatus.DONE, null, null)).thenReturn(task(1L, TaskStatus.DONE));
+        when(taskService.updateTaskStatus(2L, TaskStatus.DONE, null, null)).thenThrow(new ConflictException("modified concurrently"));
+
+        CompletableFuture<TaskResponseDto> committed = batcher.submit(1L, TaskStatus.DONE);
+        CompletableFuture<TaskResponseDto> conflicting = batcher.submit(2L, TaskStatus.DONE);
+
+        assertEquals(TaskStatus.DONE, committed.join().getStatus());
+        assertThrows(ConflictException.class, () -> {
+            try {
+                conflicting.join();
+            } catch (CompletionException e) {
+                throw e.getCause();
+            }
+        });
+    }
+
+    @Test
+    void fullQueue_updatesDirectlyAfterOfferTimeout() throws InterruptedException {
+        batcher(true, Duration.ofMinutes(1), 1, 1);
+        CountDownLatch committing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(taskService.updateTaskStatuses(any())).thenAnswer(invocation -> {
+            committing.countDown();
+            release.await();
+            Map<Long, TaskStatus> statuses = invocation.getArgument(0);
+            Long id = statuses.keySet().iterator().next();
+            return Map.of(id, task(id, statuses.get(id)));
+        });
+        when(taskService.updateTaskStatus(3L, TaskStatus.DONE, null, null)).thenReturn(task(3L, TaskStatus.DONE));
+
+        CompletableFuture<TaskResponseDto> committed = batcher.submit(1L, TaskStatus.DONE);
+        assertTrue(committing.await(1, TimeUnit.SECONDS));
+        CompletableFuture<TaskResponseDto> queued = batcher.submit(2L, TaskStatus.DONE);
+        CompletableFuture<TaskResponseDto> direct = batcher.submit(3L, TaskStatus.DONE);
+
+        assertEquals(3L, direct.getNow(null).getId());
+        release.countDown();
+        assertEquals(1L, committed.join().getId());
+        assertEquals(2L, queued.join().getId());
+    }
+
+    @Test
+    void close_racingSubmits_completesEveryChange() throws Exception {
+        batcher(true, Duration.ofMillis(1), 10);
+        lenient().when(taskService.updateTaskStatuses(any())).thenAnswer(invocation -> {
+            Map<Long, TaskStatus> statuses = invocation.getArgument(0);
+            Map<Long, TaskResponseDto> updated = new HashMap<>();
+            statuses.forEach((id, status) -> updated.put(id, task(id, status)));
+            return updated;
+        });
+        lenient().when(taskService.updateTaskStatus(anyLong(), any(), isNull(), isNull()))
+                .thenAnswer(invocation -> task(invocation.getArgument(0), invocation.getArgument(1)));
+        List<CompletableFuture<TaskResponseDto>> results = new CopyOnWriteArrayList<>();
+
+        try (ExecutorService submitters = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (long id = 1; id <= 500; id++) {
+                long taskId = id;
+                submitters.execute(() -> results.add(batcher.submit(taskId, TaskStatus.DONE)));
+            }
+            batcher.close();
+        }
+
+        assertEquals(500, results.size());
+        CompletableFuture.allOf(results.toArray(CompletableFuture[]::new)).get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void disabled_updatesDirectly() {
+        batcher(false, Duration.ofMillis(5), 100);
+        when(taskService.updateTaskStatus(1L, TaskStatus.DONE, null, null)).thenReturn(task(1L, TaskStatus.DONE));
+
+        assertEquals(TaskStatus.DONE, batcher.updateTaskStatus(1L, TaskStatus.DONE).getStatus());
+        verify(taskService, never()).updateTaskStatuses(any());
+    }
+}